@@ -0,0 +1,139 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.model.dto.UserRequestDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of creating users against a running application: the same number of new users is sent once as
+ * single POST /users requests and once as POST /users/batch requests, by the same number of concurrent clients.
+ * Each path is warmed up with a tenth of the users first. Prints users per second of both and the ratio.
+ * The created users are deleted again with DELETE /users/batch, so runs can be repeated on the same database.
+ * Arguments: base url, users, users per batch, concurrent clients.
+ */
+public class BatchInsertComparison {
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
+    private final ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final int clients;
+    // Emails and phone numbers are unique across runs.
+    private final long run = System.currentTimeMillis() % 1_000_000;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private BatchInsertComparison(String baseUrl, int clients) {
+        this.baseUrl = baseUrl;
+        this.clients = clients;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        BatchInsertComparison comparison = new BatchInsertComparison(baseUrl, clients);
+        comparison.createUsers(users / 10, 1);
+        comparison.createUsers(users / 10, batchSize);
+        double single = comparison.createUsers(users, 1);
+        double batch = comparison.createUsers(users, batchSize);
+
+        System.out.printf("%d users, %d clients, %d CPUs%n", users, clients, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-22s%14.1f users/s%n", "POST /users", single);
+        System.out.printf("%-22s%14.1f users/s%n", "POST /users/batch " + batchSize, batch);
+        System.out.printf("%-22s%14.1fx%n", "batch / single", batch / single);
+    }
+
+    /**
+     * Creates the users with requests of batchSize users (batchSize 1 for single POST /users requests),
+     * then deletes them.
+     *
+     * @return The number of users created per second.
+     */
+    private double createUsers(int users, int batchSize) throws Exception {
+        int requests = (users + batchSize - 1) / batchSize;
+        AtomicInteger nextRequest = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        List<Future<List<Long>>> futures = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                int request;
+                while ((request = nextRequest.getAndIncrement()) < requests) {
+                    int size = Math.min(batchSize, users - request * batchSize);
+                    ids.addAll(batchSize == 1 ? createUser() : createUsers(size));
+                }
+                return ids;
+            }));
+        }
+        List<Long> ids = new ArrayList<>(users);
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        if (ids.size() != users) {
+            throw new IllegalStateException(ids.size() + " of " + users + " users were created");
+        }
+        deleteUsers(ids);
+        return users / (elapsed / 1e9);
+    }
+
+    private List<Long> createUser() throws Exception {
+        JsonNode response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(nextUser()))));
+        return List.of(response.at("/data/id").asLong());
+    }
+
+    private List<Long> createUsers(int size) throws Exception {
+        List<UserRequestDto> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(nextUser());
+        }
+        JsonNode response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/users/batch"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(users))));
+        List<Long> ids = new ArrayList<>(size);
+        for (JsonNode item : response.get("data")) {
+            if (item.get("status").asInt() == 200) {
+                ids.add(item.at("/data/id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private void deleteUsers(List<Long> ids) throws Exception {
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/users/batch"))
+                    .method("DELETE", HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(chunk))));
+        }
+    }
+
+    private UserRequestDto nextUser() {
+        int i = sequence.incrementAndGet();
+        return BenchmarkFixtures.requestDto("batch" + run + "-" + i + "@gmail.com", String.format("+%06d%07d", run, i));
+    }
+
+    private JsonNode send(HttpRequest.Builder request) throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(request.header("Content-Type", "application/json").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.statusCode() + " " + new String(response.body()));
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
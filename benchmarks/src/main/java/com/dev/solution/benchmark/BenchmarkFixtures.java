@@ -0,0 +1,81 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.utils.validation.DateValidator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDate;
+
+/**
+ * Objects shared by the benchmarks, configured the same way as in the application but without a Spring context.
+ */
+final class BenchmarkFixtures {
+    static final int AGE = 18;
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        return new User(id, "First" + id, "Last" + id, "user" + id + "@gmail.com",
+                LocalDate.of(1970, 1, 1).plusDays(id % 10_000), "Street " + id, String.format("%010d", id), 0L);
+    }
+
+    static UserRequestDto requestDto(String email, String phone) {
+        UserRequestDto userDto = new UserRequestDto();
+        userDto.setFirstName("First");
+        userDto.setLastName("Last");
+        userDto.setEmail(email);
+        userDto.setBirthDate(LocalDate.of(1995, 1, 1));
+        userDto.setAddress("Street 1");
+        userDto.setPhoneNumber(phone);
+        return userDto;
+    }
+
+    /**
+     * Hibernate Validator as used by Spring for @Valid, with the age threshold that Spring injects from the properties.
+     */
+    static LocalValidatorFactoryBean validator() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.setConstraintValidatorFactory(new ConstraintValidatorFactory() {
+            @Override
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                T instance = BeanUtils.instantiateClass(key);
+                if (instance instanceof DateValidator dateValidator) {
+                    dateValidator.setAge(AGE);
+                }
+                return instance;
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+            }
+        });
+        validator.afterPropertiesSet();
+        return validator;
+    }
+
+    /**
+     * The object mapper Spring Boot creates by default (Java time module, ISO dates).
+     */
+    static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    /**
+     * The object mapper of {@link #objectMapper()} for another Jackson dataformat, e.g. CBOR or Smile.
+     */
+    static ObjectMapper objectMapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
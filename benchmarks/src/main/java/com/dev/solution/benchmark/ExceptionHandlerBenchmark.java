@@ -0,0 +1,49 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotFoundException;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.exception.handler.CustomExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the error response body of CustomExceptionHandler (timestamp, url and messages) for a single message
+ * and for a list of validation messages. The private buildExceptionBody is reached through handleHttpException.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+    private final CustomExceptionHandler exceptionHandler = new CustomExceptionHandler(new SimpleMeterRegistry());
+    private final NotFoundException notFound = new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + 1);
+    private final NotValidFieldsException notValid = new NotValidFieldsException(List.of(
+            "email: Invalid email format.", "birthDate: User must be older.", "firstName: First name can not be null."));
+
+    private WebRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/users/1"));
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> notFound() {
+        return exceptionHandler.handleHttpException(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> notValidFields() {
+        return exceptionHandler.handleHttpException(notValid, request);
+    }
+}
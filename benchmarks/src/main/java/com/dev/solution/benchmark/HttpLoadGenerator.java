@@ -0,0 +1,119 @@
+package com.dev.solution.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load against a running application, used to compare the default platform-thread mode with the
+ * virtual-threads profile: every client sends the next request as soon as the previous one is answered.
+ * Prints throughput, the latency percentiles and the count of non 2xx responses (e.g. 503 when the connection
+ * pool is exhausted).
+ * Arguments: url, concurrent clients, duration in seconds.
+ */
+public class HttpLoadGenerator {
+    static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/users/1");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        Result result = run(uri, clients, duration);
+
+        System.out.printf("%s, %d clients, %ds%n", uri, clients, duration.toSeconds());
+        System.out.printf("requests: %d, errors: %d, throughput: %.1f req/s%n",
+                result.requests(), result.errors(), result.throughput());
+        for (double percentile : PERCENTILES) {
+            System.out.printf("p%s: %.2f ms%n", percentile * 100, result.percentile(percentile) / 1e6);
+        }
+        System.out.printf("max: %.2f ms%n", result.percentile(1) / 1e6);
+    }
+
+    static Result run(URI uri, int clients, Duration duration) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(httpExecutor)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long end = System.nanoTime() + duration.toNanos();
+        List<Future<Client>> futures = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            futures.add(executor.submit(() -> new Client().run(httpClient, request, end)));
+        }
+
+        long[] latencies = new long[0];
+        long errors = 0;
+        for (Future<Client> future : futures) {
+            Client client = future.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + client.count);
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            errors += client.errors;
+        }
+        executor.shutdown();
+        httpExecutor.shutdown();
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, duration);
+    }
+
+    /**
+     * The sorted latencies in nanoseconds of all requests and the count of those that failed.
+     */
+    record Result(long[] latencies, long errors, Duration duration) {
+        long requests() {
+            return latencies.length;
+        }
+
+        double throughput() {
+            return latencies.length / (double) duration.toSeconds();
+        }
+
+        long percentile(double percentile) {
+            return HttpLoadGenerator.percentile(latencies, percentile);
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static class Client {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Client run(HttpClient httpClient, HttpRequest request, long end) {
+            while (System.nanoTime() < end) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 != 2) {
+                        errors++;
+                    }
+                } catch (Exception e) {
+                    errors++;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.UserRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * UserRepository backed by hash maps, so service benchmarks measure the service and not the database.
+ * Only the methods used by UserServiceImpl on the benchmarked paths are implemented, the rest throw.
+ */
+final class InMemoryUserRepository implements InvocationHandler {
+    private final Map<Long, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByPhone = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private InMemoryUserRepository() {
+    }
+
+    static UserRepository create(int users) {
+        InMemoryUserRepository handler = new InMemoryUserRepository();
+        for (long id = 1; id <= users; id++) {
+            handler.save(BenchmarkFixtures.user(id));
+        }
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, handler);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(usersById.get(((Number) args[0]).longValue()));
+            case "findResponseById" -> Optional.ofNullable(usersById.get(((Number) args[0]).longValue())).map(InMemoryUserRepository::toResponseDto);
+            case "findVersionById" -> Optional.ofNullable(usersById.get(((Number) args[0]).longValue())).map(User::getVersion);
+            case "findByEmail" -> Optional.ofNullable(usersByEmail.get((String) args[0]));
+            case "findByPhoneNumber" -> Optional.ofNullable(usersByPhone.get((String) args[0]));
+            case "findByEmailInOrPhoneNumberIn" -> findByEmailInOrPhoneNumberIn(
+                    (Collection<String>) args[0], (Collection<String>) args[1]);
+            case "findResponsesByBirthDateBetween" -> findResponsesByBirthDateBetween((LocalDate) args[0], (LocalDate) args[1], (Pageable) args[2]);
+            case "countByBirthDateBetween" -> betweenDates((LocalDate) args[0], (LocalDate) args[1]).count();
+            case "save", "saveAndFlush" -> save((User) args[0]);
+            case "flush" -> null;
+            case "saveAll" -> saveAll((Iterable<User>) args[0]);
+            case "insertSkippingConflicts" -> insertSkippingConflicts((List<User>) args[0]);
+            case "deleteById" -> delete(((Number) args[0]).longValue(), (email, phone) -> {
+            });
+            case "deleteUserById" -> delete(((Number) args[0]).longValue(), (BiConsumer<String, String>) args[1]);
+            case "streamAllEmails" -> usersById.values().stream().map(User::getEmail);
+            case "streamAllPhoneNumbers" -> usersById.values().stream().map(User::getPhoneNumber).filter(Objects::nonNull);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryUserRepository";
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+
+    private User save(User user) {
+        if (user.getId() == null) {
+            user.setId(sequence.incrementAndGet());
+        } else {
+            sequence.accumulateAndGet(user.getId(), Math::max);
+        }
+        user.setVersion(user.getVersion() == null ? 0L : user.getVersion() + 1);
+        User previous = usersById.put(user.getId(), user);
+        if (previous != null) {
+            usersByEmail.remove(previous.getEmail());
+            if (previous.getPhoneNumber() != null) {
+                usersByPhone.remove(previous.getPhoneNumber());
+            }
+        }
+        usersByEmail.put(user.getEmail(), user);
+        if (user.getPhoneNumber() != null) {
+            usersByPhone.put(user.getPhoneNumber(), user);
+        }
+        return user;
+    }
+
+    private List<User> saveAll(Iterable<User> users) {
+        List<User> saved = new ArrayList<>();
+        users.forEach(user -> saved.add(save(user)));
+        return saved;
+    }
+
+    private List<User> insertSkippingConflicts(List<User> users) {
+        List<User> inserted = new ArrayList<>();
+        for (User user : users) {
+            if (!usersByEmail.containsKey(user.getEmail())
+                    && (user.getPhoneNumber() == null || !usersByPhone.containsKey(user.getPhoneNumber()))) {
+                inserted.add(save(user));
+            }
+        }
+        return inserted;
+    }
+
+    private int delete(long id, BiConsumer<String, String> onDeleted) {
+        User user = usersById.remove(id);
+        if (user == null) {
+            return 0;
+        }
+        onDeleted.accept(user.getEmail(), user.getPhoneNumber());
+        usersByEmail.remove(user.getEmail());
+        if (user.getPhoneNumber() != null) {
+            usersByPhone.remove(user.getPhoneNumber());
+        }
+        return 1;
+    }
+
+    private List<User> findByEmailInOrPhoneNumberIn(Collection<String> emails, Collection<String> phones) {
+        Set<User> users = new LinkedHashSet<>();
+        emails.stream().map(usersByEmail::get).filter(Objects::nonNull).forEach(users::add);
+        phones.stream().map(usersByPhone::get).filter(Objects::nonNull).forEach(users::add);
+        return new ArrayList<>(users);
+    }
+
+    private List<UserResponseDto> findResponsesByBirthDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        return betweenDates(startDate, endDate)
+                .sorted(Comparator.comparing(User::getBirthDate).thenComparing(User::getId))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(InMemoryUserRepository::toResponseDto)
+                .toList();
+    }
+
+    // What the constructor expression of the projection queries creates from a row.
+    private static UserResponseDto toResponseDto(User user) {
+        return new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getBirthDate(), user.getAddress(), user.getPhoneNumber(), user.getVersion());
+    }
+
+    private Stream<User> betweenDates(LocalDate startDate, LocalDate endDate) {
+        return usersById.values().stream()
+                .filter(u -> !u.getBirthDate().isBefore(startDate) && !u.getBirthDate().isAfter(endDate));
+    }
+}
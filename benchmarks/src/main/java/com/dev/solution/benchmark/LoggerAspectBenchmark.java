@@ -0,0 +1,122 @@
+package com.dev.solution.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.dev.solution.aspect.LoggerAspect;
+import com.dev.solution.config.ServiceLoggingProperties;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.service.UserService;
+import com.dev.solution.utils.logging.RingBufferAsyncAppender;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost LoggerAspect adds to a service call: the same call on the plain service and through the advised proxy.
+ * The page result shows the cost of rendering a large result.
+ * The advised calls run with every logging configuration:
+ * full (every call, complete values, the former behaviour), bounded (every call, values cut to 512 chars)
+ * and sampled (1% of the calls, values cut), each with the file appender written synchronously or through
+ * the ring buffer. With the ring buffer, events that do not fit are dropped, so it shows the cost for the caller.
+ * Log lines are written to benchmarks/target/benchmark.log with the file appender of the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggerAspectBenchmark {
+    private static final Long USER_ID = 1L;
+    private static final LocalDate FROM = LocalDate.of(1970, 1, 1);
+    private static final LocalDate TO = LocalDate.of(1970, 3, 1);
+    private static final PageRequest PAGE = PageRequest.of(0, 50);
+
+    private UserService plainService;
+
+    @State(Scope.Benchmark)
+    public static class Advised {
+        @Param({"full", "bounded", "sampled"})
+        public String logging;
+
+        @Param({"sync", "async"})
+        public String appender;
+
+        private UserService service;
+        private Appender<ILoggingEvent> fileAppender;
+        private RingBufferAsyncAppender asyncAppender;
+
+        @Setup
+        public void setUp(LoggerAspectBenchmark benchmark) {
+            ServiceLoggingProperties properties = switch (logging) {
+                case "full" -> new ServiceLoggingProperties(ServiceLoggingProperties.Mode.FULL, 1, Map.of(), 512);
+                case "bounded" -> new ServiceLoggingProperties(ServiceLoggingProperties.Mode.SAMPLED, 1, Map.of(), 512);
+                default -> new ServiceLoggingProperties(ServiceLoggingProperties.Mode.SAMPLED, 0.01, Map.of(), 512);
+            };
+            AspectJProxyFactory proxyFactory = new AspectJProxyFactory(benchmark.plainService);
+            proxyFactory.addAspect(new LoggerAspect(properties));
+            service = proxyFactory.getProxy();
+
+            if (appender.equals("async")) {
+                Logger root = rootLogger();
+                fileAppender = root.getAppender("FILE");
+                asyncAppender = new RingBufferAsyncAppender();
+                asyncAppender.setContext(root.getLoggerContext());
+                asyncAppender.setName("ASYNC");
+                asyncAppender.addAppender(fileAppender);
+                asyncAppender.start();
+                root.detachAppender(fileAppender);
+                root.addAppender(asyncAppender);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (asyncAppender != null) {
+                Logger root = rootLogger();
+                root.detachAppender(asyncAppender);
+                // Stopping drains the buffer and stops the file appender, which is started again for the next run.
+                asyncAppender.stop();
+                fileAppender.start();
+                root.addAppender(fileAppender);
+            }
+        }
+
+        private static Logger rootLogger() {
+            return ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        plainService = UserServiceBenchmark.userService(InMemoryUserRepository.create(1_000));
+    }
+
+    @Benchmark
+    public UserResponseDto findById_plain() {
+        return plainService.findById(USER_ID);
+    }
+
+    @Benchmark
+    public UserResponseDto findById_advised(Advised advised) {
+        return advised.service.findById(USER_ID);
+    }
+
+    @Benchmark
+    public Page<UserResponseDto> findByDateBetween_plain() {
+        return plainService.findByDateBetween(FROM, TO, PAGE);
+    }
+
+    @Benchmark
+    public Page<UserResponseDto> findByDateBetween_advised(Advised advised) {
+        return advised.service.findByDateBetween(FROM, TO, PAGE);
+    }
+}
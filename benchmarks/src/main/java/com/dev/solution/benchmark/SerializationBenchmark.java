@@ -0,0 +1,94 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.model.dto.DataResponse;
+import com.dev.solution.model.dto.DataResponsePage;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.utils.http.UserProtobufHttpMessageConverter;
+import com.dev.solution.utils.mapper.UserMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialization of the response wrappers by the message converter of every negotiated format: JSON, CBOR and Smile
+ * with the object mapper Spring Boot configures, and Protobuf. The score is the time of a serialization,
+ * the payload size of every format is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    private static final Type USER_RESPONSE = new ParameterizedTypeReference<DataResponse<UserResponseDto>>() {
+    }.getType();
+    private static final Type USER_PAGE = new ParameterizedTypeReference<DataResponsePage<UserResponseDto>>() {
+    }.getType();
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private final UserMapper userMapper = new UserMapper();
+    private final DataResponse<UserResponseDto> user = new DataResponse<>(userMapper.toResponseDto(BenchmarkFixtures.user(1)));
+    private GenericHttpMessageConverter<Object> converter;
+
+    @State(Scope.Benchmark)
+    public static class Pages {
+        @Param({"10", "100"})
+        public int pageSize;
+
+        private DataResponsePage<UserResponseDto> page;
+
+        @Setup
+        public void setUp(SerializationBenchmark benchmark) throws IOException {
+            UserMapper userMapper = new UserMapper();
+            List<UserResponseDto> users = LongStream.rangeClosed(1, pageSize)
+                    .mapToObj(id -> userMapper.toResponseDto(BenchmarkFixtures.user(id)))
+                    .toList();
+            page = new DataResponsePage<>(users, 10, 10L * pageSize);
+            System.out.printf("%s DataResponsePage of %d users: %d bytes%n",
+                    benchmark.format, pageSize, benchmark.write(page, USER_PAGE).length);
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        converter = switch (format) {
+            case "json" -> new MappingJackson2HttpMessageConverter(BenchmarkFixtures.objectMapper());
+            case "cbor" -> new MappingJackson2CborHttpMessageConverter(BenchmarkFixtures.objectMapper(new CBORFactory()));
+            case "smile" -> new MappingJackson2SmileHttpMessageConverter(BenchmarkFixtures.objectMapper(new SmileFactory()));
+            case "protobuf" -> new UserProtobufHttpMessageConverter();
+            default -> throw new IllegalArgumentException(format);
+        };
+        System.out.printf("%s DataResponse: %d bytes%n", format, write(user, USER_RESPONSE).length);
+    }
+
+    @Benchmark
+    public byte[] dataResponse() throws IOException {
+        return write(user, USER_RESPONSE);
+    }
+
+    @Benchmark
+    public byte[] dataResponsePage(Pages pages) throws IOException {
+        return write(pages.page, USER_PAGE);
+    }
+
+    private byte[] write(Object body, Type type) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(body, type, converter.getSupportedMediaTypes().get(0), output);
+        return output.getBodyAsBytes();
+    }
+}
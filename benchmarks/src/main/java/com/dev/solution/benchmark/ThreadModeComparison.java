@@ -0,0 +1,111 @@
+package com.dev.solution.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default platform-thread mode with the virtual-threads profile under the same closed-loop load
+ * (see {@link HttpLoadGenerator}). The application is started from the classpath of the benchmarks once per mode,
+ * one after the other, warmed up, loaded and stopped again, and the results are printed side by side.
+ * The database settings are taken from the environment, as for any other start of the application.
+ * The virtual-threads run needs a java of JDK 21 or newer; on an older JDK the application does not start
+ * and the mode is reported as failed.
+ * Arguments: java executable, path, concurrent clients, duration in seconds.
+ */
+public class ThreadModeComparison {
+    private static final String APPLICATION = "com.dev.solution.SolutionApplication";
+    private static final int PORT = 18080;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration MAX_WARM_UP = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        String java = args.length > 0 ? args[0] : "java";
+        String path = args.length > 1 ? args[1] : "/users/1";
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 30);
+        URI uri = URI.create("http://localhost:" + PORT + path);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("platform", List.of());
+        modes.put("virtual", List.of("--spring.profiles.active=virtual-threads"));
+        Map<String, HttpLoadGenerator.Result> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            System.out.printf("%s threads: starting %s with %s%n", mode.getKey(), APPLICATION, java);
+            results.put(mode.getKey(), run(java, mode.getValue(), uri, clients, duration));
+        }
+
+        System.out.printf("%n%s, %d clients, %ds, %d CPUs%n", uri, clients, duration.toSeconds(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s%14s%14s%14s", "mode", "requests", "errors", "req/s");
+        for (double percentile : HttpLoadGenerator.PERCENTILES) {
+            System.out.printf("%11s ms", "p" + percentile * 100);
+        }
+        System.out.println();
+        for (Map.Entry<String, HttpLoadGenerator.Result> result : results.entrySet()) {
+            System.out.printf("%-12s", result.getKey());
+            if (result.getValue() == null) {
+                System.out.println("  did not start, see the application log (target/benchmark.log)");
+                continue;
+            }
+            System.out.printf("%14d%14d%14.1f", result.getValue().requests(), result.getValue().errors(),
+                    result.getValue().throughput());
+            for (double percentile : HttpLoadGenerator.PERCENTILES) {
+                System.out.printf("%14.2f", result.getValue().percentile(percentile) / 1e6);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * @return The result of the load, null if the application did not start.
+     */
+    private static HttpLoadGenerator.Result run(String java, List<String> arguments, URI uri, int clients,
+                                                Duration duration) throws Exception {
+        List<String> command = new ArrayList<>(List.of(java, "-classpath", System.getProperty("java.class.path"),
+                APPLICATION, "--server.port=" + PORT));
+        command.addAll(arguments);
+        Process application = new ProcessBuilder(command).inheritIO().start();
+        try {
+            if (!awaitStartup(application)) {
+                return null;
+            }
+            Duration warmUp = duration.compareTo(MAX_WARM_UP) < 0 ? duration : MAX_WARM_UP;
+            HttpLoadGenerator.run(uri, clients, warmUp);
+            return HttpLoadGenerator.run(uri, clients, duration);
+        } finally {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Waits until the health endpoint answers, false if the application exits or does not answer in time.
+    private static boolean awaitStartup(Process application) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                return false;
+            }
+            try {
+                httpClient.send(health, HttpResponse.BodyHandlers.discarding());
+                return true;
+            } catch (Exception e) {
+                Thread.sleep(500);
+            }
+        }
+        return false;
+    }
+}
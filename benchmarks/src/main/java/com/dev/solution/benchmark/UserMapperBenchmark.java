@@ -0,0 +1,76 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.utils.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link UserMapper} with the ModelMapper configuration it replaced, on the mappings done per request.
+ * Run with: mvn -f benchmarks/pom.xml compile exec:exec -Dbenchmark=UserMapperBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+    private final UserMapper userMapper = new UserMapper();
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final Map<String, Object> fieldsToUpdate = Map.of("firstName", "Updated", "phoneNumber", "0000000000");
+    private final UserPatch patch = new UserPatch().setFirstName("Updated").setPhoneNumber("0000000000");
+
+    private User user;
+    private UserRequestDto userDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        user = new User(1L, "First", "Last", "user@gmail.com", LocalDate.of(1995, 1, 1), "Street 1", "1111111111", 0L);
+        userDto = userMapper.toRequestDto(user);
+    }
+
+    @Benchmark
+    public UserResponseDto toResponseDto_userMapper() {
+        return userMapper.toResponseDto(user);
+    }
+
+    @Benchmark
+    public UserResponseDto toResponseDto_modelMapper() {
+        return modelMapper.map(user, UserResponseDto.class);
+    }
+
+    @Benchmark
+    public User toEntity_userMapper() {
+        return userMapper.toEntity(userDto);
+    }
+
+    @Benchmark
+    public User toEntity_modelMapper() {
+        return modelMapper.map(userDto, User.class);
+    }
+
+    // A partial update applies the patch to the loaded entity, the present fields only.
+    @Benchmark
+    public User partialUpdate_userMapper() {
+        userMapper.applyPatch(patch, user);
+        return user;
+    }
+
+    // The three mappings the former partial update did: entity to DTO, the map on top of it and the DTO back to an entity.
+    @Benchmark
+    public User partialUpdate_modelMapper() {
+        UserRequestDto updated = modelMapper.map(user, UserRequestDto.class);
+        modelMapper.map(fieldsToUpdate, updated);
+        return modelMapper.map(updated, User.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.SolutionApplication;
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.UserRepository;
+import com.dev.solution.utils.mapper.UserMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of the users by birth date range read from PostgreSQL. The same JPQL page is read as managed User entities
+ * mapped by UserMapper, in a read-write and in a read-only transaction, and as DTOs with a constructor expression,
+ * which isolates the cost per row. The repository benchmarks measure the whole repository calls of the page, slice
+ * and cursor endpoints, which all read DTOs the same way. Run with -prof gc, the difference of gc.alloc.rate.norm between the page sizes
+ * divided by 90 is the allocation per row.
+ * The application context is started without the web server, the database is taken from the spring.datasource
+ * properties passed to the forked JVM, e.g.
+ * -Djmh.args="-prof gc -jvmArgsAppend '-Dspring.datasource.url=jdbc:postgresql://localhost:5432/postgres
+ * -Dspring.datasource.username=postgres -Dspring.datasource.password=postgres'".
+ * The users of the benchmark are inserted into a date range of their own in setup and deleted in teardown.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserQueryBenchmark {
+    private static final int USERS = 10_000;
+    private static final LocalDate FROM_DATE = LocalDate.of(1800, 1, 1);
+    private static final LocalDate TO_DATE = FROM_DATE.plusDays(USERS);
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserMapper userMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private JdbcTemplate jdbcTemplate;
+    private PageRequest pageRequest;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SolutionApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("users.uniqueness-filter.enabled=false", "logging.level.root=warn")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        pageRequest = PageRequest.of(1, pageSize);
+
+        deleteUsers();
+        // Negative ids stay clear of the ids Hibernate takes from users_seq.
+        jdbcTemplate.update("insert into users (id, first_name, last_name, email, birth_date, address, phone_number) " +
+                "select -i, 'First' || i, 'Last' || i, 'benchmark' || i || '@example.com', ? + i, 'Street ' || i, " +
+                "'+1' || lpad(i::text, 9, '0') from generate_series(1, ?) i", FROM_DATE, USERS);
+        jdbcTemplate.execute("analyze users");
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteUsers();
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> entities() {
+        return readWrite.execute(status -> findUsers().stream().map(userMapper::toResponseDto).toList());
+    }
+
+    @Benchmark
+    public List<UserResponseDto> entitiesReadOnly() {
+        return readOnly.execute(status -> findUsers().stream().map(userMapper::toResponseDto).toList());
+    }
+
+    @Benchmark
+    public List<UserResponseDto> projection() {
+        return readOnly.execute(status -> page(entityManager.createQuery("select new com.dev.solution.model.dto.UserResponseDto(" +
+                "u.id, u.firstName, u.lastName, u.email, u.birthDate, u.address, u.phoneNumber, u.version) " +
+                "from User u where u.birthDate between :startDate and :endDate", UserResponseDto.class)));
+    }
+
+    @Benchmark
+    public List<UserResponseDto> repositoryProjection() {
+        return userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, pageRequest);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> repositorySlice() {
+        return userRepository.findResponseSliceByBirthDateBetween(FROM_DATE, TO_DATE, pageRequest).getContent();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> repositoryCursor() {
+        return userRepository.findFirstResponsesByBirthDateBetween(FROM_DATE, TO_DATE, pageSize + 1);
+    }
+
+    private List<User> findUsers() {
+        return page(entityManager.createQuery("select u from User u where u.birthDate between :startDate and :endDate", User.class));
+    }
+
+    private <T> List<T> page(TypedQuery<T> query) {
+        return query.setParameter("startDate", FROM_DATE)
+                .setParameter("endDate", TO_DATE)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+    }
+
+    private void deleteUsers() {
+        jdbcTemplate.update("delete from users where birth_date between ? and ?", FROM_DATE, TO_DATE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.config.CacheConfig;
+import com.dev.solution.model.dto.UserBatchItemDto;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.UserRepository;
+import com.dev.solution.service.UserService;
+import com.dev.solution.service.impl.UserCsvImporter;
+import com.dev.solution.service.impl.UserPageCounter;
+import com.dev.solution.service.impl.UserServiceImpl;
+import com.dev.solution.service.impl.UserUniquenessFilter;
+import com.dev.solution.utils.export.UserExportWriter;
+import com.dev.solution.utils.mapper.UserMapper;
+import com.dev.solution.utils.validation.FieldsValidation;
+import com.dev.solution.utils.validation.UserRequestDtoValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserServiceImpl end to end (validation, uniqueness checks, mapping) against an in-memory repository,
+ * so the numbers show the cost of the service itself without the database round trips.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    private static final int USERS = 10_000;
+    private static final int BATCH_SIZE = 100;
+
+    private final UserPatch patch = new UserPatch().setFirstName("Updated").setAddress("Street 2");
+
+    private UserService userService;
+    private long sequence;
+
+    /**
+     * The service wired the way Spring wires it, with the import validated and the pages counted on the calling thread.
+     * Writes are not optimistic, the in-memory repository has no unique constraints to rely on.
+     */
+    static UserService userService(UserRepository userRepository) {
+        UserUniquenessFilter uniquenessFilter = new UserUniquenessFilter(userRepository, true, USERS * 2L, 0.01);
+        uniquenessFilter.build();
+        FieldsValidation fieldsValidation = new FieldsValidation(new UserRequestDtoValidator(BenchmarkFixtures.AGE));
+        SyncTaskExecutor executor = new SyncTaskExecutor();
+        return new UserServiceImpl(userRepository, new UserMapper(), fieldsValidation,
+                new UserExportWriter(BenchmarkFixtures.objectMapper()), uniquenessFilter,
+                new UserCsvImporter(userRepository, fieldsValidation, executor, uniquenessFilter, 1000, 4, 1000),
+                new UserPageCounter(userRepository, new TaskExecutorAdapter(executor), Duration.ofSeconds(1)),
+                new ConcurrentMapCacheManager(CacheConfig.USERS_CACHE), false);
+    }
+
+    @Setup
+    public void setUp() {
+        userService = userService(InMemoryUserRepository.create(USERS));
+    }
+
+    @Benchmark
+    public UserResponseDto findById() {
+        return userService.findById(1L + sequence++ % USERS);
+    }
+
+    // Deletes the created user again, so the repository does not grow during the run.
+    @Benchmark
+    public UserResponseDto saveAndDelete() {
+        long i = sequence++;
+        UserResponseDto user = userService.save(BenchmarkFixtures.requestDto("new" + i + "@gmail.com", "+" + i));
+        userService.deleteById(user.getId());
+        return user;
+    }
+
+    @Benchmark
+    public List<UserBatchItemDto> saveAllAndDelete() {
+        List<UserRequestDto> users = new ArrayList<>(BATCH_SIZE);
+        for (int j = 0; j < BATCH_SIZE; j++) {
+            long i = sequence++;
+            users.add(BenchmarkFixtures.requestDto("batch" + i + "@gmail.com", "+" + i));
+        }
+        List<UserBatchItemDto> results = userService.saveAll(users);
+        for (UserBatchItemDto result : results) {
+            userService.deleteById(result.getData().getId());
+        }
+        return results;
+    }
+
+    @Benchmark
+    public UserResponseDto updatePartUser() {
+        return userService.updatePartUser(1L + sequence++ % USERS, patch, null);
+    }
+}
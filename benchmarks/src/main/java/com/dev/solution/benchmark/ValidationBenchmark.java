@@ -0,0 +1,110 @@
+package com.dev.solution.benchmark;
+
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.utils.validation.DateValidator;
+import com.dev.solution.utils.validation.EmailValidator;
+import com.dev.solution.utils.validation.FieldsValidation;
+import com.dev.solution.utils.validation.UserRequestDtoValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The custom constraint validators on their own and the whole validation of a request, for a valid request
+ * and for a request that fails on every constraint. Each is compared with what it replaced: the email regex,
+ * the age threshold computed per call and Hibernate Validator.
+ * Run with: mvn -f benchmarks/pom.xml compile exec:exec -Dbenchmark=ValidationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+    private static final Pattern EMAIL_REGEX = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private final DateValidator dateValidator = new DateValidator();
+    private final LocalDate birthDate = LocalDate.of(1995, 1, 1);
+
+    private LocalValidatorFactoryBean hibernateValidator;
+    private UserRequestDtoValidator precompiledValidator;
+    private FieldsValidation fieldsValidation;
+    private UserRequestDto validUser;
+    private UserRequestDto notValidUser;
+
+    @Setup
+    public void setUp() {
+        dateValidator.setAge(BenchmarkFixtures.AGE);
+        hibernateValidator = BenchmarkFixtures.validator();
+        precompiledValidator = new UserRequestDtoValidator(BenchmarkFixtures.AGE);
+        fieldsValidation = new FieldsValidation(precompiledValidator);
+        validUser = BenchmarkFixtures.requestDto("user@gmail.com", "1111111111");
+        notValidUser = new UserRequestDto();
+        notValidUser.setEmail("not-an-email");
+        notValidUser.setBirthDate(LocalDate.now());
+        notValidUser.setAddress(" ");
+        notValidUser.setPhoneNumber("");
+    }
+
+    @State(Scope.Benchmark)
+    public static class Emails {
+        @Param({"user@gmail.com", "first.last+tag@sub.example-domain.com", "not-an-email"})
+        public String email;
+    }
+
+    @Benchmark
+    public boolean email_scanner(Emails emails) {
+        return EmailValidator.isValidEmail(emails.email);
+    }
+
+    @Benchmark
+    public boolean email_regex(Emails emails) {
+        return EMAIL_REGEX.matcher(emails.email).matches();
+    }
+
+    @Benchmark
+    public boolean dateValidator_cachedThreshold() {
+        return dateValidator.isValid(birthDate, null);
+    }
+
+    @Benchmark
+    public boolean dateValidator_thresholdPerCall() {
+        LocalDate threshold = LocalDate.now().minusYears(BenchmarkFixtures.AGE);
+        return birthDate.isBefore(threshold) || birthDate.isEqual(threshold);
+    }
+
+    @Benchmark
+    public Object validate_valid_precompiled() {
+        return precompiledValidator.findViolations(validUser);
+    }
+
+    @Benchmark
+    public Object validate_valid_hibernate() {
+        return hibernateValidator.validate(validUser);
+    }
+
+    @Benchmark
+    public Object validate_notValid_precompiled() {
+        return precompiledValidator.findViolations(notValidUser);
+    }
+
+    @Benchmark
+    public Object validate_notValid_hibernate() {
+        return hibernateValidator.validate(notValidUser);
+    }
+
+    @Benchmark
+    public Object validateFields_notValid() {
+        try {
+            fieldsValidation.validateFields(notValidUser);
+            return null;
+        } catch (NotValidFieldsException e) {
+            return e.getMessages();
+        }
+    }
+}
@@ -1,57 +1,82 @@
 package com.dev.solution.aspect;
 
+import com.dev.solution.config.ServiceLoggingProperties;
 import com.dev.solution.exception.HttpErrorException;
+import com.dev.solution.utils.logging.BoundedLogValue;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Aspect that logs method entry, exit, and exceptions for classes in the com.dev.solution.service package or its sub-packages.
  * Logging strategy is project-specific; this logging setup is for demonstration purposes only as part of a test task.
+ * In SAMPLED mode (see {@link ServiceLoggingProperties}) only a share of the calls is logged and arguments and results
+ * are rendered lazily and cut to a maximum length. Exceptions are always logged with the complete arguments.
  */
 @Aspect
 @Component
 public class LoggerAspect {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private final ServiceLoggingProperties properties;
 
-    /**
-     * Advice applied before the execution of any method in the com.dev.solution.service package or its sub-packages.
-     * Logs method entry with arguments and class name.
-     * @param joinPoint The JoinPoint object encapsulating information about the intercepted method call.
-     */
-    @Before("execution(* com.dev.solution.service.*.* (..))")
-    public void logBefore(JoinPoint joinPoint) {
-        logger.info("Entering method: {} with arguments: {} ,Class Name:{}", joinPoint.getSignature().getName(), joinPoint.getArgs(), joinPoint.getSignature().getDeclaringTypeName());
+    public LoggerAspect(ServiceLoggingProperties properties) {
+        this.properties = properties;
     }
 
     /**
-     * Advice applied after the successful execution of any method in the com.dev.solution.service package or its sub-packages.
-     * Logs method exit with result and class name.
-     * @param joinPoint The JoinPoint object encapsulating information about the intercepted method call.
-     * @param result The result returned by the intercepted method.
+     * Advice applied around the execution of any method in the com.dev.solution.service package or its sub-packages.
+     * Logs method entry with arguments and class name and method exit with result and class name.
+     * The same sampling decision is used for both, so a logged entry always has its exit.
+     * @param joinPoint The ProceedingJoinPoint object encapsulating information about the intercepted method call.
+     * @return The result returned by the intercepted method.
      */
-    @AfterReturning(pointcut = "execution(* com.dev.solution.service.*.* (..))", returning = "result")
-    public void logAfter(JoinPoint joinPoint, Object result) {
-        logger.info("Exiting method: {} with result: {} ,Class Name:{}", joinPoint.getSignature().getName(), result, joinPoint.getSignature().getDeclaringTypeName());
+    @Around("execution(* com.dev.solution.service.*.* (..))")
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        String methodName = joinPoint.getSignature().getName();
+        if (!logger.isInfoEnabled() || !isSampled(methodName)) {
+            return joinPoint.proceed();
+        }
+        logger.info("Entering method: {} with arguments: {} ,Class Name:{}", methodName, render(joinPoint.getArgs()), joinPoint.getSignature().getDeclaringTypeName());
+        Object result = joinPoint.proceed();
+        logger.info("Exiting method: {} with result: {} ,Class Name:{}", methodName, render(result), joinPoint.getSignature().getDeclaringTypeName());
+        return result;
     }
 
     /**
      * Advice applied after an exception is thrown from any method in the com.dev.solution.service package or its sub-packages.
-     * Logs the error message and stack trace.
+     * Logs the error message, the arguments and, for unexpected errors, the stack trace. Errors are never sampled or cut.
      * @param joinPoint The JoinPoint object encapsulating information about the intercepted method call.
      * @param exception The exception thrown by the intercepted method.
      */
     @AfterThrowing(pointcut = "execution(* com.dev.solution.service.*.*(..))", throwing = "exception")
     public void logError(JoinPoint joinPoint, Throwable exception) {
         if (exception instanceof HttpErrorException) {
-            logger.error("Error occurred in method {}: {}", joinPoint.getSignature().toShortString(), exception.getMessage());
+            logger.error("Error occurred in method {} with arguments {}: {}", joinPoint.getSignature().toShortString(), Arrays.toString(joinPoint.getArgs()), exception.getMessage());
         } else {
-            logger.error("Unexpected error occurred in method {}: {}", joinPoint.getSignature().toShortString(), exception.getMessage(), exception);
+            logger.error("Unexpected error occurred in method {} with arguments {}: {}", joinPoint.getSignature().toShortString(), Arrays.toString(joinPoint.getArgs()), exception.getMessage(), exception);
+        }
+    }
+
+    private boolean isSampled(String methodName) {
+        if (properties.mode() == ServiceLoggingProperties.Mode.FULL) {
+            return true;
+        }
+        double rate = properties.samplingRates().getOrDefault(methodName, properties.defaultSamplingRate());
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private Object render(Object value) {
+        if (properties.mode() == ServiceLoggingProperties.Mode.FULL) {
+            return value;
         }
+        return new BoundedLogValue(value, properties.maxLength());
     }
 }
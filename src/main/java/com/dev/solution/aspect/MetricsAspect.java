@@ -0,0 +1,92 @@
+package com.dev.solution.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect that records the latency of every method in the com.dev.solution.service package or its sub-packages
+ * as the user.service timer and counts the exceptions they throw as user.service.errors, both tagged by method.
+ * Meters are created once per method and cached, so a call only costs two nanoTime reads and a lock-free record.
+ * Methods returning a Mono are measured until the Mono terminates.
+ * Percentiles are configured in application.yaml (management.metrics.distribution).
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+    public static final String SERVICE_TIMER = "user.service";
+    public static final String SERVICE_ERRORS = "user.service.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<ErrorKey, Counter> errors = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Advice applied around the execution of any method in the com.dev.solution.service package or its sub-packages.
+     * @param joinPoint The ProceedingJoinPoint object encapsulating information about the intercepted method call.
+     * @return The result returned by the intercepted method.
+     */
+    @Around("execution(* com.dev.solution.service.*.* (..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable exception) {
+            countError(method, exception);
+            recordTime(method, start);
+            throw exception;
+        }
+        if (result instanceof Mono<?> mono) {
+            // A reactive method returns before any work is done, so it is measured until the Mono terminates.
+            return mono.doOnError(exception -> countError(method, exception))
+                    .doFinally(signal -> recordTime(method, start));
+        }
+        recordTime(method, start);
+        return result;
+    }
+
+    private void countError(Method method, Throwable exception) {
+        errors.computeIfAbsent(new ErrorKey(method, exception.getClass()), this::errorCounter).increment();
+    }
+
+    private void recordTime(Method method, long start) {
+        timers.computeIfAbsent(method, this::timer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(Method method) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Latency of UserService methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .register(meterRegistry);
+    }
+
+    private Counter errorCounter(ErrorKey key) {
+        return Counter.builder(SERVICE_ERRORS)
+                .description("Exceptions thrown by UserService methods")
+                .tag("class", key.method().getDeclaringClass().getSimpleName())
+                .tag("method", key.method().getName())
+                .tag("exception", key.exception().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private record ErrorKey(Method method, Class<?> exception) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.dev.solution.aspect;
+
+import com.dev.solution.datasource.ReplicaRouting;
+import com.dev.solution.utils.annotation.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspect that coalesces concurrent identical calls of {@link SingleFlight} methods. The first call for a method and
+ * arguments runs, the calls arriving while it runs park on its future and get the same result or exception,
+ * so a spike of identical reads costs one database execution. The call is forgotten as soon as it completes,
+ * the next call runs again; a waiting caller gets a result at most one execution older than its arrival.
+ * Runs before the transaction and cache interceptors and the other service aspects, so waiting callers take no
+ * database connection and the service metrics record every execution once.
+ * Calls pinned to the primary (read-your-writes) are not coalesced, a running call may predate the write of the caller.
+ * Coalesced calls are counted as user.service.coalesced, tagged by method.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class SingleFlightAspect {
+    public static final String COALESCED_CALLS = "user.service.coalesced";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Call, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final Map<Method, Counter> coalesced = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Advice applied around the execution of any method annotated with {@link SingleFlight}.
+     * @param joinPoint The ProceedingJoinPoint object encapsulating information about the intercepted method call.
+     * @return The result returned by the intercepted method, or by the identical call that was running.
+     */
+    @Around("@annotation(com.dev.solution.utils.annotation.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReplicaRouting.isPrimaryRequired()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Call call = new Call(method, Arrays.asList(joinPoint.getArgs()));
+        CompletableFuture<Object> execution = new CompletableFuture<>();
+        CompletableFuture<Object> running = calls.putIfAbsent(call, execution);
+        if (running != null) {
+            coalesced.computeIfAbsent(method, this::counter).increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            Object result = joinPoint.proceed();
+            execution.complete(result);
+            return result;
+        } catch (Throwable e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(call, execution);
+        }
+    }
+
+    private Counter counter(Method method) {
+        return Counter.builder(COALESCED_CALLS)
+                .description("Calls of UserService methods served by an identical running call")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .register(meterRegistry);
+    }
+
+    private record Call(Method method, List<Object> arguments) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.dev.solution.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Direct memory of the off-heap cache tier, allocated in pages of a fixed size and cut into chunks. Every page serves
+ * one chunk size; the sizes grow by a factor of 1.25, so a value wastes at most a fifth of its chunk.
+ * A stored value is addressed by a {@link Slot} of page, offset and length, so the heap keeps no buffer, cleaner
+ * or other object per value, and direct memory is allocated once per page instead of once per value.
+ * Freed chunks are reused by values of the same size; pages are taken on demand and never given back.
+ * <p>
+ * Every chunk starts with the id of its allocation. A read copies the value and checks the id, so a slot whose chunk
+ * was freed and reused in the meantime reads as missing instead of as another value. Writes hold the lock of their
+ * page, reads are optimistic and retry under the read lock only if a write to the page overlapped them.
+ * The size classes are guarded by {@link ReentrantLock}s rather than monitors, and a new page is allocated outside
+ * of them, so a virtual thread that waits for a chunk or allocates a page does not pin its carrier on JDK 21.
+ */
+public class OffHeapSlabs {
+    public static final int PAGE_SIZE = 1 << 20;
+    private static final int HEADER_SIZE = Long.BYTES;
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private final ByteBuffer[] pages;
+    private final StampedLock[] locks;
+    private final AtomicInteger nextPage = new AtomicInteger();
+    private final AtomicLong nextId = new AtomicLong();
+    private final int[] chunkSizes;
+    private final SizeClass[] sizeClasses;
+
+    /**
+     * @param capacity The direct memory to use at most, rounded down to whole pages but at least one page.
+     */
+    public OffHeapSlabs(long capacity) {
+        int pageCount = (int) Math.max(1, Math.min(Integer.MAX_VALUE, capacity / PAGE_SIZE));
+        this.pages = new ByteBuffer[pageCount];
+        this.locks = new StampedLock[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            locks[i] = new StampedLock();
+        }
+        this.chunkSizes = chunkSizes();
+        this.sizeClasses = new SizeClass[chunkSizes.length];
+        for (int i = 0; i < chunkSizes.length; i++) {
+            sizeClasses[i] = new SizeClass(chunkSizes[i]);
+        }
+    }
+
+    public long capacity() {
+        return (long) pages.length * PAGE_SIZE;
+    }
+
+    /**
+     * @return The size of the chunk a value of the given length is stored in, 0 if the value is larger than a page.
+     */
+    public int chunkSize(int length) {
+        int sizeClass = sizeClass(length);
+        return sizeClass < 0 ? 0 : chunkSizes[sizeClass];
+    }
+
+    /**
+     * Copies a value into a free chunk of its size.
+     *
+     * @return The slot of the value, null if no chunk of its size is free and all pages are taken.
+     */
+    public Slot write(byte[] value) {
+        int sizeClass = sizeClass(value.length);
+        if (sizeClass < 0) {
+            return null;
+        }
+        long address = sizeClasses[sizeClass].allocate();
+        if (address < 0) {
+            return null;
+        }
+        Slot slot = new Slot(nextId.incrementAndGet(), (int) (address >>> 32), (int) address, value.length);
+        StampedLock lock = locks[slot.page()];
+        long stamp = lock.writeLock();
+        try {
+            ByteBuffer page = pages[slot.page()];
+            page.putLong(slot.offset(), slot.id());
+            page.put(slot.offset() + HEADER_SIZE, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return slot;
+    }
+
+    /**
+     * @return A copy of the value, null if its chunk has been reused.
+     */
+    public byte[] read(Slot slot) {
+        StampedLock lock = locks[slot.page()];
+        byte[] value = new byte[slot.length()];
+        long stamp = lock.tryOptimisticRead();
+        long id = copy(slot, value);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = copy(slot, value);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id == slot.id() ? value : null;
+    }
+
+    /**
+     * Returns the chunk of a removed value for reuse. Must be called once per slot.
+     */
+    public void free(Slot slot) {
+        sizeClasses[sizeClass(slot.length())].free(((long) slot.page() << 32) | slot.offset());
+    }
+
+    private long copy(Slot slot, byte[] value) {
+        ByteBuffer page = pages[slot.page()];
+        long id = page.getLong(slot.offset());
+        page.get(slot.offset() + HEADER_SIZE, value);
+        return id;
+    }
+
+    private int sizeClass(int length) {
+        int index = Arrays.binarySearch(chunkSizes, length + HEADER_SIZE);
+        index = index >= 0 ? index : -index - 1;
+        return index < chunkSizes.length ? index : -1;
+    }
+
+    // Takes the next page that no size class owns yet, -1 if there is none.
+    private int claimPage() {
+        int page;
+        do {
+            page = nextPage.get();
+            if (page == pages.length) {
+                return -1;
+            }
+        } while (!nextPage.compareAndSet(page, page + 1));
+        pages[page] = ByteBuffer.allocateDirect(PAGE_SIZE);
+        return page;
+    }
+
+    private static int[] chunkSizes() {
+        int[] sizes = new int[64];
+        int count = 0;
+        for (int size = MIN_CHUNK_SIZE; size < PAGE_SIZE; size = (size + size / 4 + 7) & ~7) {
+            sizes[count++] = size;
+        }
+        sizes[count++] = PAGE_SIZE;
+        return Arrays.copyOf(sizes, count);
+    }
+
+    /**
+     * Address of a stored value. The id tells the value apart from later values in the same chunk.
+     */
+    public record Slot(long id, int page, int offset, int length) {
+    }
+
+    // The chunks of one size: freed chunks first, then the rest of the current page, then a new page.
+    private class SizeClass {
+        private final int chunkSize;
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] freeChunks = new long[16];
+        private int freeCount;
+        private int page = -1;
+        private int nextOffset;
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        long allocate() {
+            lock.lock();
+            try {
+                long address = take();
+                if (address >= 0) {
+                    return address;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // The page is claimed and its direct memory allocated without the lock, other writes of this size
+            // go on with freed chunks in the meantime.
+            int claimed = claimPage();
+            lock.lock();
+            try {
+                if (claimed < 0) {
+                    // A chunk may have been freed or a page claimed by another write in the meantime.
+                    return take();
+                }
+                // Another write may have claimed a page in the meantime, the rest of it is kept as free chunks.
+                while (page >= 0 && nextOffset + chunkSize <= PAGE_SIZE) {
+                    push(((long) page << 32) | nextOffset);
+                    nextOffset += chunkSize;
+                }
+                page = claimed;
+                nextOffset = chunkSize;
+                return (long) claimed << 32;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void free(long address) {
+            lock.lock();
+            try {
+                push(address);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // A freed chunk or the next chunk of the current page, -1 if there is neither. Called under the lock.
+        private long take() {
+            if (freeCount > 0) {
+                return freeChunks[--freeCount];
+            }
+            if (page < 0 || nextOffset + chunkSize > PAGE_SIZE) {
+                return -1;
+            }
+            long address = ((long) page << 32) | nextOffset;
+            nextOffset += chunkSize;
+            return address;
+        }
+
+        private void push(long address) {
+            if (freeCount == freeChunks.length) {
+                freeChunks = Arrays.copyOf(freeChunks, freeCount * 2);
+            }
+            freeChunks[freeCount++] = address;
+        }
+    }
+}
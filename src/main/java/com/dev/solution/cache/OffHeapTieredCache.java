@@ -0,0 +1,162 @@
+package com.dev.solution.cache;
+
+import com.dev.solution.model.dto.UserResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Two tier cache of users. The heap tier keeps the hottest users as objects, the off-heap tier keeps a much larger
+ * working set serialized into {@link OffHeapSlabs}, which the garbage collector does not scan.
+ * Both tiers are Caffeine caches, so both use W-TinyLFU admission and eviction; the off-heap tier maps keys to slots
+ * and is bounded by the bytes of their chunks. A value found only in the off-heap tier is decoded and promoted
+ * to the heap tier. Missing values are loaded with a {@link SingleFlightLoader}.
+ */
+public class OffHeapTieredCache extends AbstractValueAdaptingCache {
+    // Coldest values looked at for one of the same chunk size when its size class is full.
+    private static final int EVICTION_SCAN = 64;
+
+    private final String name;
+    private final Cache<Object, Object> heapCache;
+    private final Cache<Object, OffHeapSlabs.Slot> offHeapCache;
+    private final OffHeapSlabs slabs;
+    private final UserResponseDtoCodec codec;
+    private final SingleFlightLoader loader = new SingleFlightLoader();
+
+    /**
+     * @param offHeapCache The off-heap tier, built from {@link #offHeapCacheBuilder(OffHeapSlabs)} with the same slabs.
+     */
+    public OffHeapTieredCache(String name,
+                              Cache<Object, Object> heapCache,
+                              Cache<Object, OffHeapSlabs.Slot> offHeapCache,
+                              OffHeapSlabs slabs,
+                              UserResponseDtoCodec codec) {
+        super(false);
+        this.name = name;
+        this.heapCache = heapCache;
+        this.offHeapCache = offHeapCache;
+        this.slabs = slabs;
+        this.codec = codec;
+    }
+
+    /**
+     * The off-heap tier bounded by the capacity of the slabs. Removed values free their chunks on the removing thread,
+     * so a chunk can be reused as soon as its value is gone.
+     */
+    public static Caffeine<Object, OffHeapSlabs.Slot> offHeapCacheBuilder(OffHeapSlabs slabs) {
+        return Caffeine.newBuilder()
+                .maximumWeight(slabs.capacity())
+                .<Object, OffHeapSlabs.Slot>weigher((key, slot) -> slabs.chunkSize(slot.length()))
+                .executor(Runnable::run)
+                .removalListener((Object key, OffHeapSlabs.Slot slot, RemovalCause cause) -> slabs.free(slot));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return heapCache;
+    }
+
+    public Cache<Object, Object> getHeapCache() {
+        return heapCache;
+    }
+
+    public Cache<Object, OffHeapSlabs.Slot> getOffHeapCache() {
+        return offHeapCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = heapCache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        OffHeapSlabs.Slot slot = offHeapCache.getIfPresent(key);
+        if (slot == null) {
+            return null;
+        }
+        byte[] bytes = slabs.read(slot);
+        if (bytes == null) {
+            return null;
+        }
+        UserResponseDto user = codec.decode(new DataInputStream(new ByteArrayInputStream(bytes)));
+        heapCache.put(key, user);
+        // An eviction since the off-heap lookup may have missed the promoted user, which is then taken back.
+        if (offHeapCache.policy().getIfPresentQuietly(key) != slot) {
+            heapCache.asMap().remove(key, user);
+        }
+        return user;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        return loader.load(key, valueLoader, k -> toValueWrapper(heapCache.getIfPresent(k)), this::put, this::remove);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        heapCache.put(key, value);
+        OffHeapSlabs.Slot slot = write(codec.encode((UserResponseDto) value));
+        if (slot != null) {
+            offHeapCache.put(key, slot);
+        } else {
+            offHeapCache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        loader.invalidate(key);
+        remove(key);
+    }
+
+    @Override
+    public void clear() {
+        loader.invalidateAll();
+        heapCache.invalidateAll();
+        offHeapCache.invalidateAll();
+    }
+
+    private void remove(Object key) {
+        heapCache.invalidate(key);
+        offHeapCache.invalidate(key);
+    }
+
+    // When all pages are taken and no chunk of the size is free, the coldest value of the same size makes room.
+    // A size with no page of its own by then stays in the heap tier only.
+    private OffHeapSlabs.Slot write(byte[] bytes) {
+        OffHeapSlabs.Slot slot = slabs.write(bytes);
+        int chunkSize = slabs.chunkSize(bytes.length);
+        if (slot != null || chunkSize == 0) {
+            return slot;
+        }
+        offHeapCache.policy().eviction().ifPresent(eviction -> {
+            for (Map.Entry<Object, OffHeapSlabs.Slot> entry : eviction.coldest(EVICTION_SCAN).entrySet()) {
+                if (slabs.chunkSize(entry.getValue().length()) == chunkSize
+                        && offHeapCache.asMap().remove(entry.getKey(), entry.getValue())) {
+                    return;
+                }
+            }
+        });
+        return slabs.write(bytes);
+    }
+}
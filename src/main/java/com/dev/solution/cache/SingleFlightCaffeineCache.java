@@ -0,0 +1,56 @@
+package com.dev.solution.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine cache that loads missing values with a {@link SingleFlightLoader} instead of inside Caffeine's compute,
+ * so a load never holds a monitor. It stays a CaffeineCache, so the actuator cache metrics keep working.
+ * Evictions are passed to the loader, so a load that overlaps an eviction does not cache a stale value.
+ */
+public class SingleFlightCaffeineCache extends CaffeineCache {
+    private final SingleFlightLoader loader = new SingleFlightLoader();
+
+    public SingleFlightCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        // The second lookup is quiet, so a miss is counted once in the statistics.
+        return loader.load(key, valueLoader,
+                k -> toValueWrapper(getNativeCache().policy().getIfPresentQuietly(k)),
+                this::put, k -> getNativeCache().invalidate(k));
+    }
+
+    @Override
+    public void evict(Object key) {
+        loader.invalidate(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        loader.invalidate(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        loader.invalidateAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        loader.invalidateAll();
+        return super.invalidate();
+    }
+}
@@ -0,0 +1,109 @@
+package com.dev.solution.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Loads missing cache values with at most one running load per key; concurrent callers for the same key wait
+ * for the running load and get its result (the contract of Cache.get(key, valueLoader), i.e. @Cacheable(sync = true)).
+ * <p>
+ * Caffeine runs such loads inside a compute of its ConcurrentHashMap, which holds the monitor of the hash bin
+ * for the whole load. On JDK 21 a virtual thread that blocks on the database inside a monitor pins its carrier,
+ * so a few concurrent misses can stall all carriers. Here the loader runs without any monitor and waiting callers
+ * park on a CompletableFuture, which releases the carrier.
+ * <p>
+ * A load may read the database before a change commits and finish after the eviction of the changed key.
+ * Evictions therefore advance an invalidation generation of the key (kept per stripe of keys, so the loader holds
+ * no state per key), and a load that sees a generation other than the one it started with does not keep its result.
+ * An evicted key is also detached from its running load, so callers arriving after the eviction load it again.
+ */
+public class SingleFlightLoader {
+    private static final int STRIPES = 1024;
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loads = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final AtomicLong clears = new AtomicLong();
+
+    /**
+     * @param key         The key of the missing value.
+     * @param valueLoader The loader of the value.
+     * @param lookup      Looks the key up again once the load is owned, a load may have finished since the first lookup.
+     * @param store       Stores the loaded value.
+     * @param evict       Removes a stored value again if the key was invalidated during the load.
+     * @return The loaded value.
+     * @throws Cache.ValueRetrievalException if the loader throws, for the owner and for all waiting callers.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object key, Callable<T> valueLoader, Function<Object, Cache.ValueWrapper> lookup,
+                      BiConsumer<Object, Object> store, Consumer<Object> evict) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw new Cache.ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            long generation = generation(key);
+            Cache.ValueWrapper cached = lookup.apply(key);
+            T value;
+            if (cached != null) {
+                value = (T) cached.get();
+            } else {
+                value = valueLoader.call();
+                if (generation == generation(key)) {
+                    store.accept(key, value);
+                    // An eviction between the check and the store has advanced the generation before removing
+                    // the key, so either it removed the stored value or it is seen here.
+                    if (generation != generation(key)) {
+                        evict.accept(key);
+                    }
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw new Cache.ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Invalidates the loads of a key, must be called before the key is removed from the cache.
+     */
+    public void invalidate(Object key) {
+        generations.incrementAndGet(stripe(key));
+        loads.remove(key);
+    }
+
+    /**
+     * Invalidates the loads of all keys, must be called before the cache is cleared.
+     */
+    public void invalidateAll() {
+        clears.incrementAndGet();
+        loads.clear();
+    }
+
+    // Both counters only grow, so their sum changes whenever either of them does.
+    private long generation(Object key) {
+        return generations.get(stripe(key)) + clears.get();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
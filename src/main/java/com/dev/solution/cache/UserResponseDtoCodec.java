@@ -0,0 +1,70 @@
+package com.dev.solution.cache;
+
+import com.dev.solution.model.dto.UserResponseDto;
+
+import java.io.*;
+import java.time.LocalDate;
+
+/**
+ * Compact binary form of {@link UserResponseDto} used by the off-heap cache tier.
+ * Every field is prefixed with a presence flag, strings are modified UTF-8, the birth date is an epoch day.
+ */
+public class UserResponseDtoCodec {
+
+    public byte[] encode(UserResponseDto user) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeLong(out, user.getId());
+            writeString(out, user.getFirstName());
+            writeString(out, user.getLastName());
+            writeString(out, user.getEmail());
+            writeLong(out, user.getBirthDate() == null ? null : user.getBirthDate().toEpochDay());
+            writeString(out, user.getAddress());
+            writeString(out, user.getPhoneNumber());
+            writeLong(out, user.getVersion());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public UserResponseDto decode(DataInput in) {
+        try {
+            UserResponseDto user = new UserResponseDto();
+            user.setId(readLong(in));
+            user.setFirstName(readString(in));
+            user.setLastName(readString(in));
+            user.setEmail(readString(in));
+            Long birthDate = readLong(in);
+            user.setBirthDate(birthDate == null ? null : LocalDate.ofEpochDay(birthDate));
+            user.setAddress(readString(in));
+            user.setPhoneNumber(readString(in));
+            user.setVersion(readLong(in));
+            return user;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,87 @@
+package com.dev.solution.config;
+
+import com.dev.solution.cache.OffHeapSlabs;
+import com.dev.solution.cache.OffHeapTieredCache;
+import com.dev.solution.cache.SingleFlightCaffeineCache;
+import com.dev.solution.cache.UserResponseDtoCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-through cache of users by id. Caffeine uses W-TinyLFU, so users that are requested often are kept
+ * even when a scan of rarely requested users passes through the cache.
+ * Evictions are applied after the commit of the surrounding transaction, so a read that starts after the eviction
+ * sees the change. A miss that read the old state before the commit and finishes after the eviction does not store it,
+ * see {@link com.dev.solution.cache.SingleFlightLoader}, so the old state of a user is not cached for the whole TTL.
+ * Hit and miss rates are available as cache.gets metrics of the actuator.
+ * Misses are loaded by a {@link com.dev.solution.cache.SingleFlightLoader}, which does not pin virtual threads.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS_CACHE = "users";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${users.cache.max-size}") long maxSize,
+                                     @Value("${users.cache.ttl}") Duration ttl,
+                                     @Value("${users.cache.off-heap.enabled}") boolean offHeapEnabled,
+                                     @Value("${users.cache.off-heap.max-size}") DataSize offHeapMaxSize) {
+        if (!offHeapEnabled) {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS_CACHE) {
+                @Override
+                protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                    return new SingleFlightCaffeineCache(name, cache, isAllowNullValues());
+                }
+            };
+            cacheManager.setCaffeine(Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats());
+            return new TransactionAwareCacheManagerProxy(cacheManager);
+        }
+
+        Cache<Object, Object> heapCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        OffHeapSlabs slabs = new OffHeapSlabs(offHeapMaxSize.toBytes());
+        Cache<Object, OffHeapSlabs.Slot> offHeapCache = OffHeapTieredCache.offHeapCacheBuilder(slabs)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new OffHeapTieredCache(USERS_CACHE, heapCache, offHeapCache, slabs, new UserResponseDtoCodec())));
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Binds statistics of both tiers of the off-heap cache, distinguished by the tier tag.
+     */
+    @Bean
+    public CacheMeterBinderProvider<OffHeapTieredCache> offHeapTieredCacheMeterBinderProvider() {
+        return (cache, tags) -> registry -> {
+            new CaffeineCacheMetrics<>(cache.getHeapCache(), cache.getName(), Tags.concat(tags, List.of(Tag.of("tier", "heap"))))
+                    .bindTo(registry);
+            new CaffeineCacheMetrics<>(cache.getOffHeapCache(), cache.getName(), Tags.concat(tags, List.of(Tag.of("tier", "off-heap"))))
+                    .bindTo(registry);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.dev.solution.config;
+
+import com.dev.solution.limit.AimdLimiter;
+import com.dev.solution.limit.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limit of the user endpoints, one limiter for reads and one for writes.
+ * Endpoints that take as long as their size and not as the load are not limited: exports, imports, the bulk deletes
+ * and the delete of a date range (see {@link com.dev.solution.utils.annotation.NotConcurrencyLimited}).
+ * The bulk create is limited, its size is bounded by users.batch.max-size instead.
+ * The limits, the requests in flight and the rejected requests of each group are published as
+ * user.concurrency.limit, user.concurrency.in.flight and user.concurrency.rejected, tagged by group.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "users.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    public static final String LIMIT = "user.concurrency.limit";
+    public static final String IN_FLIGHT = "user.concurrency.in.flight";
+    public static final String REJECTED = "user.concurrency.rejected";
+
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    public ConcurrencyLimitConfig(MeterRegistry meterRegistry,
+                                  @Value("${users.concurrency-limit.initial-limit}") int initialLimit,
+                                  @Value("${users.concurrency-limit.min-limit}") int minLimit,
+                                  @Value("${users.concurrency-limit.max-limit}") int maxLimit,
+                                  @Value("${users.concurrency-limit.backoff-ratio}") double backoffRatio,
+                                  @Value("${users.concurrency-limit.reads.latency-threshold}") Duration readLatencyThreshold,
+                                  @Value("${users.concurrency-limit.writes.latency-threshold}") Duration writeLatencyThreshold,
+                                  @Value("${users.concurrency-limit.retry-after}") Duration retryAfter) {
+        AimdLimiter reads = new AimdLimiter(initialLimit, minLimit, maxLimit, backoffRatio, readLatencyThreshold);
+        AimdLimiter writes = new AimdLimiter(initialLimit, minLimit, maxLimit, backoffRatio, writeLatencyThreshold);
+        register(meterRegistry, "reads", reads);
+        register(meterRegistry, "writes", writes);
+        this.interceptor = new ConcurrencyLimitInterceptor(reads, writes, retryAfter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor)
+                .addPathPatterns("/users", "/users/**");
+    }
+
+    private static void register(MeterRegistry meterRegistry, String group, AimdLimiter limiter) {
+        Gauge.builder(LIMIT, limiter, AimdLimiter::getLimit)
+                .description("Current concurrency limit of the user endpoints")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT, limiter, AimdLimiter::getInFlight)
+                .description("Admitted requests to the user endpoints that have not completed")
+                .tag("group", group)
+                .register(meterRegistry);
+        FunctionCounter.builder(REJECTED, limiter, AimdLimiter::getRejected)
+                .description("Requests to the user endpoints rejected with 503 by the concurrency limit")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+}
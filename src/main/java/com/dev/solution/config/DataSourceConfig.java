@@ -0,0 +1,92 @@
+package com.dev.solution.config;
+
+import com.dev.solution.datasource.ReadYourWritesFilter;
+import com.dev.solution.datasource.ReplicaRouting;
+import com.dev.solution.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of the servlet deployment, enabled by users.read-replicas.urls. Read-only transactions go to the
+ * replicas in turn, everything else to the primary of spring.datasource (see {@link ReplicaRoutingDataSource}).
+ * Every database gets a Hikari pool with the spring.datasource.hikari settings, the replica pools are read-only and
+ * use the credentials of the primary. A caller reads from the primary for max-lag after its own write
+ * (see {@link ReadYourWritesFilter}), also in the tasks the request starts on the application task executor.
+ * To try it locally, point the URLs at a second database, or at the primary itself.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnExpression("!'${users.read-replicas.urls:}'.isBlank()")
+public class DataSourceConfig {
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             @Value("${users.read-replicas.urls}") List<String> replicaUrls) {
+        HikariDataSource primary = pool(properties, environment, meterRegistry, properties.determineUrl(), ReplicaRoutingDataSource.PRIMARY);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = pool(properties, environment, meterRegistry, url.trim(), ReplicaRoutingDataSource.REPLICA + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    // The data source of JPA, Flyway and JDBC.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(@Value("${users.read-replicas.max-lag}") Duration maxLag) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(maxLag, Clock.systemUTC()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TaskDecorator replicaRoutingTaskDecorator() {
+        return ReplicaRouting.TASK_DECORATOR;
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                  ObjectProvider<MeterRegistry> meterRegistry, String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        // The pools are not beans, so the actuator does not bind their metrics by itself.
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
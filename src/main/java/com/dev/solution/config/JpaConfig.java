@@ -0,0 +1,20 @@
+package com.dev.solution.config;
+
+import com.dev.solution.repository.ReactiveUserRepository;
+import com.dev.solution.repository.UserRepository;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA repositories of the servlet deployment. The reactive repository is left out explicitly,
+ * because its entity is a JPA entity too and JPA refuses reactive repositories.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableJpaRepositories(basePackageClasses = UserRepository.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveUserRepository.class))
+public class JpaConfig {
+}
@@ -0,0 +1,38 @@
+package com.dev.solution.config;
+
+import com.dev.solution.model.User;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Configuration of the reactive profile (see application-reactive.yaml).
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+    private static final String NEXT_USER_ID = "select nextval('users_seq')";
+
+    /**
+     * R2DBC does not generate ids from a sequence, so a new user gets its id from users_seq right before the insert.
+     * It is the sequence of the JPA mapping of User: every value claims a block of allocationSize ids for Hibernate,
+     * a value taken here is never seen by Hibernate, so its block stays free and the value can be used as the id.
+     * The version starts at 0, as Hibernate starts it.
+     */
+    @Bean
+    public BeforeConvertCallback<User> userIdCallback(DatabaseClient databaseClient) {
+        return (user, table) -> user.getId() != null
+                ? Mono.just(user)
+                : databaseClient.sql(NEXT_USER_ID)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(id -> {
+                    user.setId(id);
+                    user.setVersion(0L);
+                    return user;
+                });
+    }
+}
@@ -0,0 +1,65 @@
+package com.dev.solution.config;
+
+import com.dev.solution.model.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-level cache of Hibernate, enabled by users.second-level-cache.enabled. Users loaded by id are kept in the
+ * entity region and the results of the cacheable queries of UserRepository in the query results region, both
+ * in Caffeine through JCache. Hibernate invalidates the users of every write it executes: entities it updates,
+ * JPQL bulk statements and native statements that declare the users table as their query space. A cached query
+ * result is dropped on the first write to users committed after it was read, as recorded in the timestamps region.
+ * Hit, miss and put counts per region are available as hibernate.* metrics of the actuator.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "users.second-level-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+    private static final URI CACHE_MANAGER_URI = URI.create("users-second-level-cache");
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(@Value("${users.second-level-cache.max-size}") long maxSize,
+                                                          @Value("${users.second-level-cache.ttl}") Duration ttl) {
+        return properties -> {
+            // The regions are created here, a region missing from the cache manager fails the startup.
+            // Hibernate closes the cache manager with the session factory.
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                    .getCacheManager(CACHE_MANAGER_URI, SecondLevelCacheConfig.class.getClassLoader());
+            cacheManager.createCache(User.class.getName(), bounded(maxSize, ttl));
+            cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(maxSize, ttl));
+            // Entries of the timestamps region must outlive the query results they invalidate, there is one per table.
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    new CaffeineConfiguration<>().setStatisticsEnabled(true));
+
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                .setStatisticsEnabled(true);
+    }
+}
@@ -0,0 +1,25 @@
+package com.dev.solution.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Settings of the service call logging done by {@link com.dev.solution.aspect.LoggerAspect}.
+ *
+ * @param mode                FULL logs every call with the complete arguments and results,
+ *                            SAMPLED logs a share of the calls with arguments and results cut to maxLength.
+ * @param defaultSamplingRate The share of calls logged in SAMPLED mode, from 0 to 1.
+ * @param samplingRates       The share of calls logged per service method name, overrides the default rate.
+ * @param maxLength           The maximum length of the rendered arguments and of the rendered result in SAMPLED mode.
+ */
+@ConfigurationProperties("service-logging")
+public record ServiceLoggingProperties(@DefaultValue("FULL") Mode mode,
+                                       @DefaultValue("1.0") double defaultSamplingRate,
+                                       @DefaultValue Map<String, Double> samplingRates,
+                                       @DefaultValue("512") int maxLength) {
+    public enum Mode {
+        FULL, SAMPLED
+    }
+}
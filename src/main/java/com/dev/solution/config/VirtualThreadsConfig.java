@@ -0,0 +1,26 @@
+package com.dev.solution.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fails the startup if virtual threads are enabled on a JRE older than 21. Spring Boot ignores
+ * spring.threads.virtual.enabled there and keeps the platform thread pools, while the virtual-threads profile
+ * has already sized the connection pool and the limits for virtual threads, which is worse than the defaults.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    static final int MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        this(Runtime.version().feature());
+    }
+
+    VirtualThreadsConfig(int javaVersion) {
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled (the virtual-threads profile) needs Java "
+                    + MIN_JAVA_VERSION + " or newer, the application runs on Java " + javaVersion);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dev.solution.config;
+
+import com.dev.solution.utils.http.UserProtobufHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Content negotiation of the servlet deployment. Besides JSON, the user payloads are available as CBOR
+ * (application/cbor), Smile (application/x-jackson-smile) and Protobuf (application/x-protobuf), chosen by the
+ * Accept and Content-Type headers. JSON stays the default: with no Accept header, or a wildcard, the first converter
+ * that can write the body is used, and the binary converters come after the JSON one.
+ */
+@Configuration
+@Profile("!reactive")
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Spring MVC registers CBOR and Smile converters of its own when the dataformats are on the classpath, but without
+     * the settings of spring.jackson, e.g. dates as arrays. Beans of the same class replace them in their place.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Appended rather than declared as a bean, which Spring Boot would put in front of the JSON converter.
+        converters.add(new UserProtobufHttpMessageConverter());
+    }
+}
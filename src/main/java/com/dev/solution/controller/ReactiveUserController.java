@@ -0,0 +1,140 @@
+package com.dev.solution.controller;
+
+import com.dev.solution.model.dto.DataResponse;
+import com.dev.solution.model.dto.DataResponsePage;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.service.ReactiveUserService;
+import com.dev.solution.utils.http.ETags;
+import com.dev.solution.utils.validation.UserRequestDtoValidator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking variant of {@link UserController} for the reactive profile, with the same paths, DTOs and errors.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/users")
+@Tag(name = "User", description = "API for users")
+public class ReactiveUserController {
+    private final ReactiveUserService userService;
+    private final UserRequestDtoValidator userRequestDtoValidator;
+
+    public ReactiveUserController(ReactiveUserService userService, UserRequestDtoValidator userRequestDtoValidator) {
+        this.userService = userService;
+        this.userRequestDtoValidator = userRequestDtoValidator;
+    }
+
+    /**
+     * Validates @Valid UserRequestDto bodies with the precompiled validator instead of Hibernate Validator,
+     * the error messages stay the same.
+     */
+    @InitBinder("userRequestDto")
+    public void initUserRequestDtoBinder(WebDataBinder binder) {
+        binder.setValidator(userRequestDtoValidator);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get user by id. The ETag header carries the version of the user. " +
+            "With If-None-Match the user is sent only if it was changed, otherwise the answer is 304 without a body.",
+            responses = {
+                    @ApiResponse(description = "Not modified", responseCode = "304"),
+                    @ApiResponse(description = "Not found", responseCode = "404")
+            })
+    public Mono<ResponseEntity<DataResponse<UserResponseDto>>> findById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return userService.findById(id).map(this::withETag);
+        }
+        return userService.findVersionById(id)
+                .map(ETags::of)
+                .flatMap(eTag -> ETags.matchesWeakly(ifNoneMatch, eTag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<DataResponse<UserResponseDto>>build())
+                        : userService.findById(id).map(this::withETag));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new user.", responses = {
+            @ApiResponse(description = "Bad request", responseCode = "400"),
+            @ApiResponse(description = "Conflict", responseCode = "409")
+    })
+    public Mono<DataResponse<UserResponseDto>> save(@RequestBody @Valid UserRequestDto user) {
+        return userService.save(user).map(DataResponse::new);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Delete user by id.", responses = {
+            @ApiResponse(description = "No content", responseCode = "204"),
+            @ApiResponse(description = "Not found", responseCode = "404")
+    })
+    public Mono<Void> deleteById(@PathVariable Long id) {
+        return userService.deleteById(id);
+    }
+
+    @GetMapping
+    @Operation(summary = "Find users by birth date between two dates. " +
+            "The result will be a paginated list of users with the exact total.")
+    public Mono<DataResponsePage<UserResponseDto>> findByDateBetween(@RequestParam LocalDate from,
+                                                                     @RequestParam LocalDate to,
+                                                                     @RequestParam(defaultValue = "0") Integer page,
+                                                                     @RequestParam(defaultValue = "10") Integer size) {
+        return userService.findByDateBetween(from, to, PageRequest.of(page, size))
+                .map(usersPage -> new DataResponsePage<>(usersPage.getContent(), usersPage.getTotalPages(), usersPage.getTotalElements()));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update full user. If a field is passed as null, " +
+            "the corresponding value for the user will be removed. " +
+            "With If-Match the user is updated only if its ETag still matches, otherwise the answer is 412.",
+            responses = {
+                    @ApiResponse(description = "Bad request", responseCode = "400"),
+                    @ApiResponse(description = "Not found", responseCode = "404"),
+                    @ApiResponse(description = "Conflict", responseCode = "409"),
+                    @ApiResponse(description = "Precondition failed", responseCode = "412")
+            })
+    public Mono<ResponseEntity<DataResponse<UserResponseDto>>> updateFullUser(
+            @PathVariable Long id,
+            @RequestBody @Valid UserRequestDto userDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return userService.updateFullUser(id, userDto, ifMatch).map(this::withETag);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {UserPatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Update part of a user's information with a JSON Merge Patch. Only specified fields can be updated. " +
+            "Possible fields to update: firstName, lastName, email, birthDate (in format YYYY-MM-DD), address, phoneNumber. " +
+            "Empty or null values for certain fields are not allowed. Address and phone number can be null. " +
+            "With If-Match the user is updated only if its ETag still matches, otherwise the answer is 412.",
+            responses = {
+                    @ApiResponse(description = "Bad request", responseCode = "400"),
+                    @ApiResponse(description = "Not found", responseCode = "404"),
+                    @ApiResponse(description = "Conflict", responseCode = "409"),
+                    @ApiResponse(description = "Precondition failed", responseCode = "412")
+            })
+    public Mono<ResponseEntity<DataResponse<UserResponseDto>>> updatePartUser(
+            @PathVariable Long id,
+            @RequestBody UserPatch patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return userService.updatePartUser(id, patch, ifMatch).map(this::withETag);
+    }
+
+    private ResponseEntity<DataResponse<UserResponseDto>> withETag(UserResponseDto user) {
+        return ResponseEntity.ok().eTag(ETags.of(user.getVersion())).body(new DataResponse<>(user));
+    }
+}
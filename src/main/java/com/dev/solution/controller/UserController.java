@@ -1,37 +1,89 @@
 package com.dev.solution.controller;
 
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotValidFieldsException;
 import com.dev.solution.model.dto.DataResponse;
+import com.dev.solution.model.dto.DataResponseCursor;
 import com.dev.solution.model.dto.DataResponsePage;
+import com.dev.solution.model.dto.DataResponseSlice;
+import com.dev.solution.model.dto.UserBatchItemDto;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.model.dto.UserPatch;
 import com.dev.solution.model.dto.UserRequestDto;
 import com.dev.solution.model.dto.UserResponseDto;
 import com.dev.solution.service.UserService;
+import com.dev.solution.utils.annotation.NotConcurrencyLimited;
+import com.dev.solution.utils.validation.UserRequestDtoValidator;
+import com.dev.solution.utils.export.ExportFormat;
+import com.dev.solution.utils.http.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
-import java.util.Map;
+import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/users")
 @Tag(name = "User", description = "API for users")
 public class UserController {
+    private static final String EXACT_TOTAL = "exact";
+
     private final UserService userService;
+    private final UserRequestDtoValidator userRequestDtoValidator;
+    private final int batchMaxSize;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService,
+                          UserRequestDtoValidator userRequestDtoValidator,
+                          @Value("${users.batch.max-size}") int batchMaxSize) {
         this.userService = userService;
+        this.userRequestDtoValidator = userRequestDtoValidator;
+        this.batchMaxSize = batchMaxSize;
+    }
+
+    /**
+     * Validates @Valid UserRequestDto bodies with the precompiled validator instead of Hibernate Validator,
+     * the error messages stay the same.
+     */
+    @InitBinder("userRequestDto")
+    public void initUserRequestDtoBinder(WebDataBinder binder) {
+        binder.setValidator(userRequestDtoValidator);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get user by id.", responses = {
-            @ApiResponse(description = "Not found", responseCode = "404")
-    })
-    public DataResponse<UserResponseDto> findById(@PathVariable Long id) {
-        return new DataResponse<>(userService.findById(id));
+    @Operation(summary = "Get user by id. The ETag header carries the version of the user. " +
+            "With If-None-Match the user is sent only if it was changed, otherwise the answer is 304 without a body.",
+            responses = {
+                    @ApiResponse(description = "Not modified", responseCode = "304"),
+                    @ApiResponse(description = "Not found", responseCode = "404")
+            })
+    public ResponseEntity<DataResponse<UserResponseDto>> findById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Only the version is read to answer a matching If-None-Match, the user is neither loaded nor serialized.
+        if (ifNoneMatch != null) {
+            String eTag = ETags.of(userService.findVersionById(id));
+            if (ETags.matchesWeakly(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        return withETag(userService.findById(id));
     }
 
     @PostMapping
@@ -43,48 +95,173 @@ public class UserController {
         return new DataResponse<>(userService.save(user));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create users in bulk. Every user is validated and checked for uniqueness on its own, " +
+            "the result contains a status for every user in the order of the request. " +
+            "A list longer than users.batch.max-size is rejected as a whole.",
+            responses = {
+                    @ApiResponse(description = "Bad request", responseCode = "400")
+            })
+    public DataResponse<List<UserBatchItemDto>> saveAll(@RequestBody List<UserRequestDto> users) {
+        // The whole list is held in memory and inserted in one transaction, larger sets go through /import.
+        if (users.size() > batchMaxSize) {
+            throw new NotValidFieldsException(ErrorMessage.BATCH_TOO_LARGE + batchMaxSize);
+        }
+        return new DataResponse<>(userService.saveAll(users));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @NotConcurrencyLimited
+    @Operation(summary = "Import users from a CSV file with a header line, in the format of the CSV export. " +
+            "Columns firstName, lastName, email and birthDate are required, address and phoneNumber are optional, " +
+            "id is ignored. Rows that are not valid or have a taken email or phone number are skipped, " +
+            "the result contains their numbers and the first rejected rows with the reasons.",
+            responses = {
+                    @ApiResponse(description = "Bad request", responseCode = "400")
+            })
+    public DataResponse<UserImportResultDto> importUsers(InputStream body) throws IOException {
+        return new DataResponse<>(userService.importUsers(body));
+    }
+
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete user by id.")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Delete user by id.", responses = {
+            @ApiResponse(description = "No content", responseCode = "204"),
+            @ApiResponse(description = "Not found", responseCode = "404")
+    })
     public void deleteById(@PathVariable Long id) {
         userService.deleteById(id);
     }
 
+    @DeleteMapping("/batch")
+    @NotConcurrencyLimited
+    @Operation(summary = "Delete users in bulk by a list of ids. Ids of missing users are skipped. " +
+            "The result is the number of deleted users.")
+    public DataResponse<Long> deleteAllById(@RequestBody List<Long> ids) {
+        return new DataResponse<>(userService.deleteAllById(ids));
+    }
+
+    @DeleteMapping(params = {"from", "to"})
+    @NotConcurrencyLimited
+    @Operation(summary = "Delete all users with birth date between two dates. " +
+            "The result is the number of deleted users.",
+            responses = {
+                    @ApiResponse(description = "Bad request", responseCode = "400")
+            })
+    public DataResponse<Long> deleteByDateBetween(@RequestParam LocalDate from,
+                                                  @RequestParam LocalDate to) {
+        return new DataResponse<>(userService.deleteByDateBetween(from, to));
+    }
+
     @GetMapping
     @Operation(summary = "Find users by birth date between two dates. " +
-            "The result will be a paginated list of users.")
+            "The result will be a paginated list of users with the exact total. " +
+            "Pass total=estimated for a total estimated by the database or total=none for a page without totals.",
+            responses = {
+                    @ApiResponse(description = "Bad request", responseCode = "400")
+            })
     public DataResponsePage<UserResponseDto> findByDateBetween(@RequestParam LocalDate from,
                                                                @RequestParam LocalDate to,
                                                                @RequestParam(defaultValue = "0") Integer page,
-                                                               @RequestParam(defaultValue = "10") Integer size) {
+                                                               @RequestParam(defaultValue = "10") Integer size,
+                                                               @RequestParam(defaultValue = EXACT_TOTAL) String total) {
+        // total=estimated and total=none are mapped to their own methods, any other value would get the exact total.
+        if (!EXACT_TOTAL.equals(total)) {
+            throw new NotValidFieldsException(ErrorMessage.NOT_VALID_PAGE_TOTAL + total);
+        }
         Page<UserResponseDto> usersPage = userService.findByDateBetween(from, to, PageRequest.of(page, size));
         return new DataResponsePage<>(usersPage.getContent(), usersPage.getTotalPages(), usersPage.getTotalElements());
     }
 
+    @GetMapping(params = {"!cursor", "total=estimated"})
+    @Operation(summary = "Find users by birth date between two dates. " +
+            "The result will be a paginated list of users with the total estimated by the database statistics.")
+    public DataResponsePage<UserResponseDto> findByDateBetweenWithEstimatedTotal(@RequestParam LocalDate from,
+                                                                                 @RequestParam LocalDate to,
+                                                                                 @RequestParam(defaultValue = "0") Integer page,
+                                                                                 @RequestParam(defaultValue = "10") Integer size) {
+        Page<UserResponseDto> usersPage = userService.findByDateBetweenWithEstimatedTotal(from, to, PageRequest.of(page, size));
+        return new DataResponsePage<>(usersPage.getContent(), usersPage.getTotalPages(), usersPage.getTotalElements());
+    }
+
+    @GetMapping(params = {"!cursor", "total=none"})
+    @Operation(summary = "Find users by birth date between two dates. " +
+            "The result will be a page of users without totals, only with a flag whether there is a next page.")
+    public DataResponseSlice<UserResponseDto> findSliceByDateBetween(@RequestParam LocalDate from,
+                                                                     @RequestParam LocalDate to,
+                                                                     @RequestParam(defaultValue = "0") Integer page,
+                                                                     @RequestParam(defaultValue = "10") Integer size) {
+        Slice<UserResponseDto> usersSlice = userService.findSliceByDateBetween(from, to, PageRequest.of(page, size));
+        return new DataResponseSlice<>(usersSlice.getContent(), usersSlice.hasNext());
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Find users by birth date between two dates with keyset pagination. " +
+            "Pass an empty cursor for the first page and the returned next token for the following ones. " +
+            "The cost of a page does not depend on its depth.")
+    public DataResponseCursor<UserResponseDto> findByDateBetweenAfterCursor(@RequestParam LocalDate from,
+                                                                            @RequestParam LocalDate to,
+                                                                            @RequestParam String cursor,
+                                                                            @RequestParam(defaultValue = "10") Integer size) {
+        return userService.findByDateBetween(from, to, cursor, size);
+    }
+
+    @GetMapping("/export")
+    @NotConcurrencyLimited
+    @Operation(summary = "Export all users with birth date between two dates. " +
+            "Users are streamed as NDJSON (format=ndjson, default) or CSV (format=csv).",
+            responses = {
+                    @ApiResponse(description = "Bad request", responseCode = "400")
+            })
+    public ResponseEntity<StreamingResponseBody> exportByDateBetween(@RequestParam LocalDate from,
+                                                                     @RequestParam LocalDate to,
+                                                                     @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        // Errors must be reported before streaming starts, afterwards the response already has the export content type.
+        if (from.isAfter(to)) {
+            throw new NotValidFieldsException(ErrorMessage.START_DATE_AFTER_END_DATE);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(outputStream -> userService.exportByDateBetween(from, to, exportFormat, outputStream));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update full user. If a field is passed as null, " +
-            "the corresponding value for the user will be removed.",
+            "the corresponding value for the user will be removed. " +
+            "With If-Match the user is updated only if its ETag still matches, otherwise the answer is 412.",
             responses = {
                     @ApiResponse(description = "Bad request", responseCode = "400"),
                     @ApiResponse(description = "Not found", responseCode = "404"),
-                    @ApiResponse(description = "Conflict", responseCode = "409")
+                    @ApiResponse(description = "Conflict", responseCode = "409"),
+                    @ApiResponse(description = "Precondition failed", responseCode = "412")
             })
-    public DataResponse<UserResponseDto> updateFullUser(@PathVariable Long id,
-                                                        @RequestBody @Valid UserRequestDto userDto) {
-
-        return new DataResponse<>(userService.updateFullUser(id, userDto));
+    public ResponseEntity<DataResponse<UserResponseDto>> updateFullUser(
+            @PathVariable Long id,
+            @RequestBody @Valid UserRequestDto userDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(userService.updateFullUser(id, userDto, ifMatch));
     }
 
-    @PatchMapping("/{id}")
-    @Operation(summary = "Update part of a user's information. Only specified fields can be updated." +
-            "Possible fields to update: firstName, lastName, email, birthDate (in format YYYY-MM-DD), address, phone. " +
-            "Empty or null values for certain fields are not allowed. Address and phone can be null.",
+    @PatchMapping(value = "/{id}", consumes = {UserPatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Update part of a user's information with a JSON Merge Patch. Only specified fields can be updated. " +
+            "Possible fields to update: firstName, lastName, email, birthDate (in format YYYY-MM-DD), address, phoneNumber. " +
+            "Empty or null values for certain fields are not allowed. Address and phone number can be null. " +
+            "With If-Match the user is updated only if its ETag still matches, otherwise the answer is 412.",
             responses = {
                     @ApiResponse(description = "Bad request", responseCode = "400"),
                     @ApiResponse(description = "Not found", responseCode = "404"),
-                    @ApiResponse(description = "Conflict", responseCode = "409")
+                    @ApiResponse(description = "Conflict", responseCode = "409"),
+                    @ApiResponse(description = "Precondition failed", responseCode = "412")
             })
-    public DataResponse<UserResponseDto> updatePartUser(@PathVariable Long id,
-                                                        @RequestBody Map<String, Object> fieldsToUpdate) {
-        return new DataResponse<>(userService.updatePartUser(id, fieldsToUpdate));
+    public ResponseEntity<DataResponse<UserResponseDto>> updatePartUser(
+            @PathVariable Long id,
+            @RequestBody UserPatch patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withETag(userService.updatePartUser(id, patch, ifMatch));
+    }
+
+    private ResponseEntity<DataResponse<UserResponseDto>> withETag(UserResponseDto user) {
+        return ResponseEntity.ok().eTag(ETags.of(user.getVersion())).body(new DataResponse<>(user));
     }
 }
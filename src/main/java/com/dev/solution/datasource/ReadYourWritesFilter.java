@@ -0,0 +1,77 @@
+package com.dev.solution.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Read-your-writes over read replicas. A request that may write (any method but GET, HEAD and OPTIONS) gets a cookie
+ * with the time of the write, and the requests of the caller that send the cookie back read from the primary
+ * until max-lag has passed, after which the replicas are expected to have applied the write.
+ * The cookie expires at the same time, the time in it is checked too, since a client may keep cookies longer.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String LAST_WRITE_COOKIE = "users-last-write";
+
+    private final Duration maxLag;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration maxLag, Clock clock) {
+        this.maxLag = maxLag;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = clock.millis();
+        boolean write = isWrite(request);
+        if (write) {
+            // Set before the chain, the response may be committed by then. A failed write only costs reads from the primary.
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (maxLag.toMillis() + 999) / 1000));
+            response.addCookie(cookie);
+        }
+
+        if (write || wroteRecently(request, now)) {
+            try (ReplicaRouting.Pin ignored = ReplicaRouting.pinPrimary()) {
+                filterChain.doFilter(request, response);
+            }
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long lastWrite = Long.parseLong(cookie.getValue());
+                    return lastWrite <= now && now - lastWrite < maxLag.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
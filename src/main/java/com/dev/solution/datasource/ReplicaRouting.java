@@ -0,0 +1,62 @@
+package com.dev.solution.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the database reads of the current thread to the primary, see {@link ReplicaRoutingDataSource}.
+ * Reads are pinned for a caller that has written recently (read-your-writes) and for reads whose result must not be
+ * stale at all. Without read replicas the pin has no effect.
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    /**
+     * Carries the pin of the submitting thread over to the task, e.g. the count query of a page or a streamed export.
+     */
+    public static final TaskDecorator TASK_DECORATOR = task -> {
+        if (!isPrimaryRequired()) {
+            return task;
+        }
+        return () -> onPrimary(task);
+    };
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Pins the reads of the current thread to the primary until the returned pin is closed.
+     * A nested pin leaves the outer one in place.
+     */
+    public static Pin pinPrimary() {
+        if (isPrimaryRequired()) {
+            return () -> {
+            };
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        return PRIMARY_REQUIRED::remove;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Pin ignored = pinPrimary()) {
+            return action.get();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -5,4 +5,22 @@ public class ErrorMessage {
     public static final String USER_BY_PHONE_NUMBER_EXIST = "User with such phone number already exists: ";
     public static final String USER_BY_ID_NOT_FOUND = "User with id not found: ";
     public static final String NOT_CORRECT_FIELD_NAME = "Not correct fields name: ";
+    public static final String USER_IS_NULL = "User can not be null.";
+    public static final String NOT_VALID_PAGE_SIZE = "Size must be greater than 0 and not greater than ";
+    public static final String NOT_VALID_CURSOR = "Not valid cursor: ";
+    public static final String NOT_VALID_PAGE_TOTAL = "Not valid total, expected exact, estimated or none: ";
+    public static final String NOT_VALID_EXPORT_FORMAT = "Not valid export format: ";
+    public static final String START_DATE_AFTER_END_DATE = "Start date must be before end date.";
+    public static final String BATCH_TOO_LARGE = "Too many users in the batch, the maximum is: ";
+    public static final String NOT_VALID_CSV_HEADER = "Not valid CSV header, unknown or repeated column: ";
+    public static final String MISSING_CSV_COLUMN = "Not valid CSV header, missing column: ";
+    public static final String NOT_VALID_CSV_ROW = "Not valid CSV row, expected number of fields: ";
+    public static final String UNTERMINATED_CSV_QUOTE = "Not valid CSV row, quoted field is not closed.";
+    public static final String CSV_ROW_TOO_LONG = "Not valid CSV row, longer than the maximum number of characters: ";
+    public static final String CSV_FIELD_TOO_LONG = "Not valid CSV row, a field is longer than the maximum number of characters: ";
+    public static final String CSV_HEADER_TOO_LONG = "Not valid CSV header, longer than the maximum number of characters: ";
+    public static final String NOT_VALID_DATE = ": Not valid date, expected format is yyyy-MM-dd.";
+    public static final String USER_VERSION_NOT_MATCHED = "User was changed, If-Match does not match the current ETag of user: ";
+    public static final String USER_CHANGED_CONCURRENTLY = "User was changed by another request, try again.";
+    public static final String SERVICE_OVERLOADED = "Service is overloaded, try again later.";
 }
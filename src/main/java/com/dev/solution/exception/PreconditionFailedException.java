@@ -0,0 +1,13 @@
+package com.dev.solution.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class PreconditionFailedException extends HttpErrorException {
+    public PreconditionFailedException(String message) {
+        super(HttpStatus.PRECONDITION_FAILED.value(), message);
+    }
+
+    public PreconditionFailedException() {
+        super(HttpStatus.PRECONDITION_FAILED.value());
+    }
+}
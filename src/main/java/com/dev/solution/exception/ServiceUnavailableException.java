@@ -0,0 +1,19 @@
+package com.dev.solution.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * A request that was shed because the service is overloaded. Answered with 503 and a Retry-After header.
+ */
+@Getter
+public class ServiceUnavailableException extends HttpErrorException {
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE.value(), ErrorMessage.SERVICE_OVERLOADED);
+        this.retryAfter = retryAfter;
+    }
+}
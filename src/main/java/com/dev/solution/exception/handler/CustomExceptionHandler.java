@@ -1,11 +1,17 @@
 package com.dev.solution.exception.handler;
 
+import com.dev.solution.exception.ErrorMessage;
 import com.dev.solution.exception.HttpErrorException;
+import com.dev.solution.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -16,17 +22,68 @@ import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
+@Profile("!reactive")
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
+    public static final String HTTP_ERRORS = "user.http.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    public CustomExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
      * Handles errors that are inherited from the class HttpErrorException.
      * Send message, Time Stamp, url and code of the error.
+     * Every error is counted as user.http.errors tagged by the exception subtype and the status.
      **/
     @ExceptionHandler(value = HttpErrorException.class)
     public ResponseEntity<Object> handleHttpException(HttpErrorException exception, WebRequest request) {
+        meterRegistry.counter(HTTP_ERRORS,
+                        "exception", exception.getClass().getSimpleName(),
+                        "status", String.valueOf(exception.getCode()))
+                .increment();
         return buildExceptionBody(exception.getMessages(), HttpStatus.valueOf(exception.getCode()), request);
     }
 
+    /**
+     * Handles a request shed by the concurrency limit. Answered like any HttpErrorException,
+     * with a Retry-After header in seconds.
+     **/
+    @ExceptionHandler(value = ServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailable(ServiceUnavailableException exception, WebRequest request) {
+        ResponseEntity<Object> response = handleHttpException(exception, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, exception.getRetryAfter().toSeconds())))
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles a transaction that could not get a database connection in time, e.g. when the connection pool
+     * is exhausted under load. Answered with 503, so clients can back off and retry.
+     **/
+    @ExceptionHandler(value = CannotCreateTransactionException.class)
+    public ResponseEntity<Object> handleCannotCreateTransaction(CannotCreateTransactionException exception, WebRequest request) {
+        meterRegistry.counter(HTTP_ERRORS,
+                        "exception", exception.getClass().getSimpleName(),
+                        "status", String.valueOf(HttpStatus.SERVICE_UNAVAILABLE.value()))
+                .increment();
+        return buildExceptionBody(ErrorMessage.SERVICE_OVERLOADED, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    /**
+     * Handles a user that was changed by another request between reading and writing it, when no If-Match
+     * was sent. Answered with 409, the client can read the user again and retry.
+     **/
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException exception, WebRequest request) {
+        meterRegistry.counter(HTTP_ERRORS,
+                        "exception", exception.getClass().getSimpleName(),
+                        "status", String.valueOf(HttpStatus.CONFLICT.value()))
+                .increment();
+        return buildExceptionBody(ErrorMessage.USER_CHANGED_CONCURRENTLY, HttpStatus.CONFLICT, request);
+    }
+
     /**
      * Handles method argument validation errors, typically triggered by {@link MethodArgumentNotValidException}.
      * Returns a ResponseEntity with the appropriate error message, status code, and additional information such as timestamp and URL.
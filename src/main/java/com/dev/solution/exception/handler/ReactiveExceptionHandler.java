@@ -0,0 +1,98 @@
+package com.dev.solution.exception.handler;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.HttpErrorException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux counterpart of {@link CustomExceptionHandler} for the reactive profile, with the same response body and metrics.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Handles errors that are inherited from the class HttpErrorException.
+     * Send message, Time Stamp, url and code of the error.
+     **/
+    @ExceptionHandler(value = HttpErrorException.class)
+    public ResponseEntity<Object> handleHttpException(HttpErrorException exception, ServerWebExchange exchange) {
+        countError(exception, exception.getCode());
+        return buildExceptionBody(exception.getMessages(), HttpStatus.valueOf(exception.getCode()), exchange);
+    }
+
+    /**
+     * Handles a transaction that could not get a database connection in time.
+     **/
+    @ExceptionHandler(value = CannotCreateTransactionException.class)
+    public ResponseEntity<Object> handleCannotCreateTransaction(CannotCreateTransactionException exception, ServerWebExchange exchange) {
+        countError(exception, HttpStatus.SERVICE_UNAVAILABLE.value());
+        return buildExceptionBody(ErrorMessage.SERVICE_OVERLOADED, HttpStatus.SERVICE_UNAVAILABLE, exchange);
+    }
+
+    /**
+     * Handles a user that was changed by another request between reading and writing it, when no If-Match was sent.
+     **/
+    @ExceptionHandler(value = OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException exception, ServerWebExchange exchange) {
+        countError(exception, HttpStatus.CONFLICT.value());
+        return buildExceptionBody(ErrorMessage.USER_CHANGED_CONCURRENTLY, HttpStatus.CONFLICT, exchange);
+    }
+
+    /**
+     * Handles request body validation errors, the WebFlux counterpart of MethodArgumentNotValidException.
+     **/
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            WebExchangeBindException ex,
+            HttpHeaders headers,
+            HttpStatusCode status,
+            ServerWebExchange exchange) {
+        return Mono.just(buildExceptionBody(ex.getBindingResult().getFieldErrors().stream()
+                        .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                        .collect(Collectors.toList()),
+                HttpStatus.valueOf(status.value()),
+                exchange));
+    }
+
+    private void countError(Exception exception, int status) {
+        meterRegistry.counter(CustomExceptionHandler.HTTP_ERRORS,
+                        "exception", exception.getClass().getSimpleName(),
+                        "status", String.valueOf(status))
+                .increment();
+    }
+
+    private ResponseEntity<Object> buildExceptionBody(Object message, HttpStatus httpStatus, ServerWebExchange exchange) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse();
+        exceptionResponse.setMessage(message);
+        exceptionResponse.setStatus(httpStatus.value());
+        exceptionResponse.setTimeStamp(LocalDateTime.now().toString());
+        exceptionResponse.setUrl(exchange.getRequest().getPath().value());
+
+        return ResponseEntity
+                .status(httpStatus)
+                .body(exceptionResponse);
+    }
+}
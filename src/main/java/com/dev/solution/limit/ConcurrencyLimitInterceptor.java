@@ -0,0 +1,63 @@
+package com.dev.solution.limit;
+
+import com.dev.solution.exception.ServiceUnavailableException;
+import com.dev.solution.utils.annotation.NotConcurrencyLimited;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Admits requests to the user endpoints through one {@link AimdLimiter} for reads (GET, HEAD and OPTIONS) and one
+ * for writes, so slow writes do not shed reads and the other way round. A rejected request is answered with 503 and
+ * Retry-After by the exception handler, before any work is done for it. An admitted request is released when it
+ * completes, with its latency and whether it was answered with 503 (e.g. no database connection in time).
+ * Handlers annotated with {@link NotConcurrencyLimited} are not limited and do not change the limits.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AimdLimiter reads;
+    private final AimdLimiter writes;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitInterceptor(AimdLimiter reads, AimdLimiter writes, Duration retryAfter) {
+        this.reads = reads;
+        this.writes = writes;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(NotConcurrencyLimited.class)) {
+            return true;
+        }
+        AimdLimiter limiter = isRead(request) ? reads : writes;
+        if (!limiter.tryAcquire()) {
+            throw new ServiceUnavailableException(retryAfter);
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(LIMITER_ATTRIBUTE) instanceof AimdLimiter limiter)) {
+            return;
+        }
+        request.removeAttribute(LIMITER_ATTRIBUTE);
+        long latency = System.nanoTime() - (long) request.getAttribute(START_ATTRIBUTE);
+        limiter.release(latency, response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+}
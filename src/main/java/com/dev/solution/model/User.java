@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
@@ -11,11 +14,32 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+// The schema, indexes included, is managed by the Flyway migrations in db/migration.
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = User.PHONE_NUMBER_UNIQUE_CONSTRAINT, columnNames = "phone_number")
+})
+// The UPDATE statement lists only the changed columns, a partial update does not rewrite the whole row.
+@DynamicUpdate
+// Kept in the second-level cache when it is enabled (see SecondLevelCacheConfig). Entries are locked while a write
+// is in flight and replaced on commit, so a concurrent load can not put an old state of the user into the cache.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Mapping for R2DBC (reactive profile), columns are derived as snake case of the field names.
+@org.springframework.data.relational.core.mapping.Table("users")
 public class User {
+    // Names of the unique constraints in the migrations, a violation of them is reported as AlreadyExistsException.
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+    public static final String PHONE_NUMBER_UNIQUE_CONSTRAINT = "uk_users_phone_number";
+    // Increment of users_seq in the migrations, every value of the sequence claims this many ids.
+    public static final int ID_ALLOCATION_SIZE = 50;
 
+    // A pooled sequence (instead of IDENTITY) assigns ids without a round trip per row: Hibernate takes a block of
+    // ids per value of users_seq, and the bulk create and the import take the same blocks in SQL.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @org.springframework.data.annotation.Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -24,7 +48,7 @@ public class User {
     @Column(name = "last_name", nullable = false)
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(name = "birth_date", nullable = false)
@@ -37,6 +61,12 @@ public class User {
     @Column(name = "address")
     private String address;
 
-    @Column(name = "phone_number", unique = true)
+    @Column(name = "phone_number")
     private String phoneNumber;
+
+    // Checked and incremented by every UPDATE, so a concurrent change of the user fails the update instead of
+    // being overwritten. Spring Data JPA rejects the Spring Data @Version next to the JPA one, so for R2DBC
+    // the check is made by ReactiveUserRepository#updateUser.
+    @Version
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package com.dev.solution.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of a keyset (cursor) pagination. Next is an opaque token for the following page, null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DataResponseCursor<T> {
+    private List<T> data;
+    private String next;
+}
@@ -0,0 +1,18 @@
+package com.dev.solution.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page without totals. It costs no count query, only tells whether there is a next page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DataResponseSlice<T> {
+    private List<T> data;
+    private boolean hasNext;
+}
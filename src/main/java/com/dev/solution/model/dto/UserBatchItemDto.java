@@ -0,0 +1,20 @@
+package com.dev.solution.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single item of a bulk operation.
+ * Index is the position of the item in the request, status is the HTTP status the item would get as a single request.
+ * Data is filled for successfully processed items, message - for rejected ones.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBatchItemDto {
+    private int index;
+    private int status;
+    private UserResponseDto data;
+    private Object message;
+}
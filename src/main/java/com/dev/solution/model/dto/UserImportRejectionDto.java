@@ -0,0 +1,19 @@
+package com.dev.solution.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of a CSV import that was not imported.
+ * Row is the number of the record in the file without the header, status is the HTTP status the user would get
+ * as a single request: 400 for a row that can not be read or is not valid, 409 for a taken email or phone number.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportRejectionDto {
+    private long row;
+    private int status;
+    private Object message;
+}
@@ -0,0 +1,20 @@
+package com.dev.solution.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a CSV import: the numbers of imported and rejected rows and the first rejected rows in file order.
+ * Rejected rows are reported up to a configured limit, so the report of a large file stays small.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportResultDto {
+    private long imported;
+    private long rejected;
+    private List<UserImportRejectionDto> rejectedRows;
+}
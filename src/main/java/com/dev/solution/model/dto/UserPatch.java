@@ -0,0 +1,130 @@
+package com.dev.solution.model.dto;
+
+import com.dev.solution.utils.mapper.UserPatchDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of a user. Only the fields present in the patch are kept, a field set to null
+ * is present with a null value, so "absent" and "set to null" can be told apart.
+ */
+@EqualsAndHashCode
+@ToString
+@JsonDeserialize(using = UserPatchDeserializer.class)
+public class UserPatch {
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final Map<Field, Object> values = new EnumMap<>(Field.class);
+
+    /**
+     * The patchable fields, named after the properties of {@link UserRequestDto} which hold their constraints.
+     */
+    public enum Field {
+        FIRST_NAME("firstName"),
+        LAST_NAME("lastName"),
+        EMAIL("email"),
+        BIRTH_DATE("birthDate"),
+        ADDRESS("address"),
+        PHONE_NUMBER("phoneNumber");
+
+        private final String propertyName;
+
+        Field(String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        /**
+         * @return The field with the given property name, or null if there is no such field.
+         */
+        public static Field fromPropertyName(String propertyName) {
+            return switch (propertyName) {
+                case "firstName" -> FIRST_NAME;
+                case "lastName" -> LAST_NAME;
+                case "email" -> EMAIL;
+                case "birthDate" -> BIRTH_DATE;
+                case "address" -> ADDRESS;
+                case "phoneNumber" -> PHONE_NUMBER;
+                default -> null;
+            };
+        }
+    }
+
+    public boolean has(Field field) {
+        return values.containsKey(field);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @return The present fields with their values, in the declaration order of {@link Field}.
+     */
+    public Map<Field, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    public String getFirstName() {
+        return (String) values.get(Field.FIRST_NAME);
+    }
+
+    public UserPatch setFirstName(String firstName) {
+        values.put(Field.FIRST_NAME, firstName);
+        return this;
+    }
+
+    public String getLastName() {
+        return (String) values.get(Field.LAST_NAME);
+    }
+
+    public UserPatch setLastName(String lastName) {
+        values.put(Field.LAST_NAME, lastName);
+        return this;
+    }
+
+    public String getEmail() {
+        return (String) values.get(Field.EMAIL);
+    }
+
+    public UserPatch setEmail(String email) {
+        values.put(Field.EMAIL, email);
+        return this;
+    }
+
+    public LocalDate getBirthDate() {
+        return (LocalDate) values.get(Field.BIRTH_DATE);
+    }
+
+    public UserPatch setBirthDate(LocalDate birthDate) {
+        values.put(Field.BIRTH_DATE, birthDate);
+        return this;
+    }
+
+    public String getAddress() {
+        return (String) values.get(Field.ADDRESS);
+    }
+
+    public UserPatch setAddress(String address) {
+        values.put(Field.ADDRESS, address);
+        return this;
+    }
+
+    public String getPhoneNumber() {
+        return (String) values.get(Field.PHONE_NUMBER);
+    }
+
+    public UserPatch setPhoneNumber(String phoneNumber) {
+        values.put(Field.PHONE_NUMBER, phoneNumber);
+        return this;
+    }
+}
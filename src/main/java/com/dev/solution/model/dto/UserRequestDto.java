@@ -5,6 +5,7 @@ import com.dev.solution.utils.annotation.EmailValidation;
 import com.dev.solution.utils.annotation.NullOrNotBlank;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -13,15 +14,18 @@ import java.time.LocalDate;
 public class UserRequestDto {
     @NotNull(message = "First name can not be null.")
     @NotBlank(message = "First name can not be empty.")
+    @Size(max = 255, message = "First name can not be longer than 255 characters.")
     private String firstName;
 
     @NotNull(message = "Last name can not be null.")
     @NotBlank(message = "Last name can not be empty.")
+    @Size(max = 255, message = "Last name can not be longer than 255 characters.")
     private String lastName;
 
     @NotNull(message = "Email can not be null.")
     @NotBlank(message = "Email can not be empty.")
     @EmailValidation
+    @Size(max = 255, message = "Email can not be longer than 255 characters.")
     private String email;
 
     @NotNull(message = "Birth Date can not be null.")
@@ -29,8 +33,10 @@ public class UserRequestDto {
     private LocalDate birthDate;
 
     @NullOrNotBlank
+    @Size(max = 255, message = "Address can not be longer than 255 characters.")
     private String address;
 
     @NullOrNotBlank
+    @Size(max = 255, message = "Phone number can not be longer than 255 characters.")
     private String phoneNumber;
 }
@@ -1,10 +1,15 @@
 package com.dev.solution.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@AllArgsConstructor
+@NoArgsConstructor
 public class UserResponseDto {
     private Long id;
     private String firstName;
@@ -13,4 +18,7 @@ public class UserResponseDto {
     private LocalDate birthDate;
     private String address;
     private String phoneNumber;
+    // Sent as the ETag header instead of a field of the body.
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,41 @@
+package com.dev.solution.repository;
+
+import com.dev.solution.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * R2DBC counterpart of {@link UserRepository} used by the reactive profile.
+ */
+public interface ReactiveUserRepository extends R2dbcRepository<User, Long> {
+    Flux<User> findByBirthDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    Mono<Long> countByBirthDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT version FROM users WHERE id = :id")
+    Mono<Long> findVersionById(Long id);
+
+    // Writes the user only if the row still has the given version and increments it, like a JPA versioned update.
+    // Zero updated rows means the user was changed or deleted since it was read.
+    @Modifying
+    @Query("UPDATE users SET first_name = :firstName, last_name = :lastName, email = :email, birth_date = :birthDate, "
+            + "address = :address, phone_number = :phoneNumber, version = version + 1 "
+            + "WHERE id = :id AND version = :version")
+    Mono<Integer> updateUser(Long id, Long version, String firstName, String lastName, String email,
+                             LocalDate birthDate, String address, String phoneNumber);
+
+    // A single DELETE statement, the affected row count tells whether the user existed.
+    @Modifying
+    @Query("DELETE FROM users WHERE id = :id")
+    Mono<Integer> deleteUserById(Long id);
+
+    Mono<User> findByEmail(String email);
+
+    Mono<User> findByPhoneNumber(String phone);
+}
@@ -1,22 +1,60 @@
 package com.dev.solution.repository;
 
 import com.dev.solution.model.User;
-
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.dev.solution.model.dto.UserResponseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-
-public interface UserRepository extends JpaRepository<User, Integer> {
-    Optional<User> findById(Long id);
-
-    void deleteById(Long id);
-
-    Page<User> findByBirthDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
-
+import java.util.stream.Stream;
+
+// Lookups by id (findById) go through EntityManager.find, which is served by the second-level cache when it is enabled.
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    // Reads a single column by the primary key, without loading and mapping the whole user.
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Rows are read from a server side cursor in chunks of the fetch size and mapped straight to DTOs,
+    // which are not attached to the persistence context, so memory use does not depend on the range size.
+    // The stream must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.dev.solution.model.dto.UserResponseDto(" +
+            "u.id, u.firstName, u.lastName, u.email, u.birthDate, u.address, u.phoneNumber, u.version) " +
+            "from User u where u.birthDate between :startDate and :endDate order by u.birthDate, u.id")
+    Stream<UserResponseDto> streamByBirthDateBetween(@Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.phoneNumber from User u where u.phoneNumber is not null")
+    Stream<String> streamAllPhoneNumbers();
+
+    // Cached with the query cache until the next write to users, which mostly keeps uniqueness checks of
+    // repeated values away from the database. Ignored without the second-level cache.
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByPhoneNumber(String phone);
+
+    List<User> findByEmailInOrPhoneNumberIn(Collection<String> emails, Collection<String> phones);
 }
@@ -0,0 +1,106 @@
+package com.dev.solution.repository;
+
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.utils.imports.UserCsvRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+public interface UserRepositoryCustom {
+    /**
+     * Returns the user with the ID projected straight into a response DTO, in a read-only transaction without flushing.
+     * No entity is created, attached to the persistence context and snapshotted for dirty checking.
+     */
+    Optional<UserResponseDto> findResponseById(Long id);
+
+    /**
+     * Returns a page of the users in the birth date range projected straight into response DTOs,
+     * in a read-only transaction without flushing. The order is the sort of the pageable, if any.
+     * The result is cached with the query cache when the second-level cache is enabled.
+     */
+    List<UserResponseDto> findResponsesByBirthDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    /**
+     * Returns a slice of the users in the birth date range projected straight into response DTOs, like
+     * {@link #findResponsesByBirthDateBetween}. One more row than the page size is read to know whether
+     * there is a next slice, no count query is executed.
+     */
+    Slice<UserResponseDto> findResponseSliceByBirthDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    /**
+     * Returns at most limit users of the birth date range ordered by birth date and id, projected straight into
+     * response DTOs like {@link #findResponsesByBirthDateBetween}. The first page of the keyset pagination.
+     */
+    List<UserResponseDto> findFirstResponsesByBirthDateBetween(LocalDate startDate, LocalDate endDate, int limit);
+
+    /**
+     * Returns at most limit users of the birth date range that come after the given birth date and id in the order
+     * of birth date and id, like {@link #findFirstResponsesByBirthDateBetween}. The next pages of the keyset pagination.
+     */
+    List<UserResponseDto> findResponsesByBirthDateBetweenAfter(LocalDate startDate, LocalDate endDate,
+                                                               LocalDate lastBirthDate, Long lastId, int limit);
+
+    /**
+     * Returns the exact number of users in the birth date range, in a read-only transaction, joining the transaction
+     * of the caller if there is one. Content and count are separate methods, so the service decides whether and how
+     * the total is counted. The result is cached with the query cache when the second-level cache is enabled.
+     */
+    long countByBirthDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Returns the number of users in the birth date range as estimated by the PostgreSQL planner.
+     * The estimate comes from table statistics, so it costs no scan but may differ from the exact count.
+     */
+    long estimateCountByBirthDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Inserts new users with a single INSERT statement and sets their ids and versions. Ids are taken from users_seq
+     * in blocks, see {@link #importUsers}. A user with a taken email or phone number, e.g. because it was written
+     * concurrently since the uniqueness checks, is skipped instead of failing the statement and the transaction.
+     * Any other violation, such as of the primary key, is thrown. The emails of the users must be distinct.
+     *
+     * @return The inserted users in the order of the list, the skipped ones are left out.
+     */
+    List<User> insertSkippingConflicts(List<User> users);
+
+    /**
+     * Imports users with PostgreSQL COPY into a temporary staging table, then rejects taken and repeated emails
+     * and phone numbers and merges the rest into users with a few set-based statements. The staging table lives
+     * on disk until the end of the transaction, so the number of users is not limited by the heap.
+     * Must be called inside a transaction.
+     *
+     * @param rows          Valid rows, they are consumed while they are copied.
+     * @param maxRejections The maximum number of rejected rows returned in the result.
+     * @param onImported    Called with the email and phone number of every imported user.
+     * @return The numbers of imported and rejected users and the first rejected rows ordered by row.
+     */
+    UserImportResultDto importUsers(Iterator<UserCsvRow> rows, int maxRejections, BiConsumer<String, String> onImported);
+
+    /**
+     * Deletes a user with a single DELETE statement, without loading it first. Runs in a transaction of its own
+     * unless called inside one.
+     *
+     * @param onDeleted Called with the email and phone number of the deleted user, inside the transaction.
+     * @return The number of deleted users, 0 if the user does not exist.
+     */
+    int deleteUserById(Long id, BiConsumer<String, String> onDeleted);
+
+    /**
+     * Deletes the users with the provided IDs with a single DELETE statement, like {@link #deleteUserById}.
+     */
+    int deleteByIdIn(Collection<Long> ids, BiConsumer<String, String> onDeleted);
+
+    /**
+     * Deletes at most limit users of the range, like {@link #deleteUserById}. Each call is a short transaction
+     * of its own, so a large range is purged without locking all its rows at once.
+     */
+    int deleteByBirthDateBetween(LocalDate startDate, LocalDate endDate, int limit, BiConsumer<String, String> onDeleted);
+}
@@ -0,0 +1,496 @@
+package com.dev.solution.repository;
+
+import com.dev.solution.datasource.ReplicaRouting;
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserImportRejectionDto;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.utils.imports.UserCsvRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.AvailableHints;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private static final String PLAN_ROWS = "/0/Plan/Plan Rows";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ALIAS = "u";
+    private static final String SELECT_RESPONSES = "select new com.dev.solution.model.dto.UserResponseDto(" +
+            "u.id, u.firstName, u.lastName, u.email, u.birthDate, u.address, u.phoneNumber, u.version) from User u ";
+    private static final String SELECT_RESPONSE_BY_ID = SELECT_RESPONSES + "where u.id = :id";
+    private static final String SELECT_RESPONSES_BY_BIRTH_DATE = SELECT_RESPONSES + "where u.birthDate between :startDate and :endDate";
+    private static final String SELECT_FIRST_RESPONSES_BY_BIRTH_DATE = SELECT_RESPONSES_BY_BIRTH_DATE +
+            " order by u.birthDate, u.id";
+    // The row value comparison is translated as is to PostgreSQL, which turns it into
+    // a single range scan of the (birth_date, id) index instead of skipping OFFSET rows.
+    // Casts give Hibernate the types of the parameters inside the tuple.
+    private static final String SELECT_RESPONSES_BY_BIRTH_DATE_AFTER = SELECT_RESPONSES_BY_BIRTH_DATE +
+            " and (u.birthDate, u.id) > (cast(:lastBirthDate as LocalDate), cast(:lastId as Long)) order by u.birthDate, u.id";
+    private static final String COUNT_BY_BIRTH_DATE = "select count(u) from User u where u.birthDate between :startDate and :endDate";
+    private static final String USERS_TABLE = "users";
+    // Single statements, unlike the derived deletes, which load the users first and remove them one by one.
+    private static final String DELETE_BY_ID = "delete from users where id = :id returning email, phone_number";
+    private static final String DELETE_BY_IDS = "delete from users where id in (:ids) returning email, phone_number";
+    private static final String DELETE_BY_BIRTH_DATE = "delete from users where id in (" +
+            "select id from users where birth_date between :startDate and :endDate limit :limit) " +
+            "returning email, phone_number";
+
+    // Rows are copied in chunks of about this many characters.
+    private static final int COPY_CHUNK_LENGTH = 64 * 1024;
+    private static final int IMPORTED_FETCH_SIZE = 10000;
+    // Marks rows the final insert skipped because of a concurrent write, until the reason is known.
+    private static final String CONFLICT = "";
+
+    private static final String CREATE_STAGING_TABLE = "create temporary table users_import (" +
+            "csv_row bigint not null, first_name varchar(255), last_name varchar(255), email varchar(255), " +
+            "birth_date date, address varchar(255), phone_number varchar(255), rejection text) on commit drop";
+    private static final String COPY_TO_STAGING_TABLE = "copy users_import " +
+            "(csv_row, first_name, last_name, email, birth_date, address, phone_number) from stdin (format csv)";
+    // Temporary tables are not analyzed by autovacuum, without statistics the planner would expect a few rows.
+    private static final String ANALYZE_STAGING_TABLE = "analyze users_import";
+    private static final String REJECT_TAKEN_EMAILS = "update users_import i set rejection = ? || i.email " +
+            "where exists (select 1 from users u where u.email = i.email)";
+    private static final String REJECT_TAKEN_PHONES = "update users_import i set rejection = ? || i.phone_number " +
+            "where i.rejection is null and exists (select 1 from users u where u.phone_number = i.phone_number)";
+    // Of the rows with the same value, the first one in the file is kept.
+    private static final String REJECT_REPEATED_EMAILS = "update users_import i set rejection = ? || i.email " +
+            "from (select csv_row, row_number() over (partition by email order by csv_row) as n " +
+            "from users_import where rejection is null) r where i.csv_row = r.csv_row and r.n > 1";
+    private static final String REJECT_REPEATED_PHONES = "update users_import i set rejection = ? || i.phone_number " +
+            "from (select csv_row, row_number() over (partition by phone_number order by csv_row) as n " +
+            "from users_import where rejection is null and phone_number is not null) r where i.csv_row = r.csv_row and r.n > 1";
+    // Ids are taken in blocks, the way Hibernate takes them: a value of users_seq claims the ID_ALLOCATION_SIZE ids
+    // up to it (see ReactiveConfig), so one nextval serves a block of rows instead of burning a block per row.
+    // Needs the rows to insert as accepted, numbered from 0 in n. The first value of the sequence has no free ids
+    // below it, another value is taken instead.
+    private static final String ID_BLOCKS = "id_values as (select block, nextval('users_seq') as last_id " +
+            "from generate_series(0, ((select count(*) from accepted) + " + (User.ID_ALLOCATION_SIZE - 1) + ") / " +
+            User.ID_ALLOCATION_SIZE + " - 1) block), " +
+            "id_blocks as (select block, case when last_id < " + User.ID_ALLOCATION_SIZE +
+            " then nextval('users_seq') else last_id end as last_id from id_values)";
+    private static final String ID_FROM_BLOCK = "b.last_id - " + (User.ID_ALLOCATION_SIZE - 1) +
+            " + a.n % " + User.ID_ALLOCATION_SIZE;
+    private static final String JOIN_ID_BLOCKS = "accepted a join id_blocks b on b.block = a.n / " + User.ID_ALLOCATION_SIZE;
+    // ON CONFLICT can name a single arbiter, it is the email constraint: a user with an email written concurrently
+    // since the checks is skipped. Users with a taken phone number are left out by the statement itself. Any other
+    // violation, e.g. of the primary key by an id that Hibernate took from the same block, fails the statement.
+    private static final String SKIP_EMAIL_CONFLICTS = " on conflict on constraint " + User.EMAIL_UNIQUE_CONSTRAINT + " do nothing";
+    private static final String WITHOUT_TAKEN_PHONES = "not exists (select 1 from users u where u.phone_number = %s.phone_number)";
+    // Only the rows that passed the checks take ids. A user written concurrently since the checks
+    // makes the insert skip the row instead of failing the whole import.
+    private static final String MERGE = "with accepted as (" +
+            "select first_name, last_name, email, birth_date, address, phone_number, " +
+            "row_number() over (order by csv_row) - 1 as n from users_import i where rejection is null and " +
+            WITHOUT_TAKEN_PHONES.formatted("i") + "), " +
+            ID_BLOCKS + ", " +
+            "inserted as (" +
+            "insert into users (id, first_name, last_name, email, birth_date, address, phone_number) " +
+            "select " + ID_FROM_BLOCK + ", a.first_name, a.last_name, a.email, a.birth_date, a.address, a.phone_number " +
+            "from " + JOIN_ID_BLOCKS + " order by a.n" + SKIP_EMAIL_CONFLICTS + " returning email) " +
+            "update users_import i set rejection = ? " +
+            "where i.rejection is null and not exists (select 1 from inserted where inserted.email = i.email)";
+    // The values are bound as arrays, so a chunk of users of any size is a single statement with six parameters.
+    private static final String INSERT_SKIPPING_CONFLICTS = "with accepted as (" +
+            "select first_name, last_name, email, birth_date, address, phone_number, " +
+            "row_number() over (order by n) - 1 as n " +
+            "from unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::date[], ?::varchar[], ?::varchar[]) " +
+            "with ordinality as i(first_name, last_name, email, birth_date, address, phone_number, n) " +
+            "where " + WITHOUT_TAKEN_PHONES.formatted("i") + "), " +
+            ID_BLOCKS + " " +
+            "insert into users (id, first_name, last_name, email, birth_date, address, phone_number) " +
+            "select " + ID_FROM_BLOCK + ", a.first_name, a.last_name, a.email, a.birth_date, a.address, a.phone_number " +
+            "from " + JOIN_ID_BLOCKS + " order by a.n" + SKIP_EMAIL_CONFLICTS + " returning id, email";
+    // A phone number committed after the statement has started violates its constraint, the statement is run again.
+    private static final int PHONE_CONFLICT_ATTEMPTS = 3;
+    private static final String EXPLAIN_CONFLICTS = "update users_import i set rejection = case " +
+            "when exists (select 1 from users u where u.email = i.email) then ? || i.email else ? || i.phone_number end " +
+            "where i.rejection = ?";
+    private static final String SELECT_REJECTED = "select csv_row, rejection from users_import " +
+            "where rejection is not null order by csv_row limit ?";
+    private static final String COUNT_REJECTED = "select count(*) from users_import where rejection is not null";
+    private static final String SELECT_IMPORTED = "select email, phone_number from users_import where rejection is null";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${users.second-level-cache.enabled:false}")
+    private boolean queryCacheEnabled;
+
+    // The projections are not @Query methods: Spring Data parses the JPQL of such a method again on every call
+    // to apply the sort, which allocated twice as much per call as the query itself. Here the JPQL strings are constant
+    // (unless the page is sorted), so Hibernate takes the query plan from its cache.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserResponseDto> findResponseById(Long id) {
+        return entityManager.createQuery(SELECT_RESPONSE_BY_ID, UserResponseDto.class)
+                .setParameter("id", id)
+                .setHint(AvailableHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> findResponsesByBirthDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        TypedQuery<UserResponseDto> query = responsesByBirthDateBetween(startDate, endDate, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult(Math.toIntExact(pageable.getOffset()))
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return getCacheableResultList(query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserResponseDto> findResponseSliceByBirthDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        TypedQuery<UserResponseDto> query = responsesByBirthDateBetween(startDate, endDate, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(getCacheableResultList(query), pageable, false);
+        }
+        // One extra row tells whether there is a next slice.
+        List<UserResponseDto> users = getCacheableResultList(query.setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize() + 1));
+        boolean hasNext = users.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? users.subList(0, pageable.getPageSize()) : users, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> findFirstResponsesByBirthDateBetween(LocalDate startDate, LocalDate endDate, int limit) {
+        return getCacheableResultList(entityManager.createQuery(SELECT_FIRST_RESPONSES_BY_BIRTH_DATE, UserResponseDto.class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint(AvailableHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .setMaxResults(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDto> findResponsesByBirthDateBetweenAfter(LocalDate startDate, LocalDate endDate,
+                                                                      LocalDate lastBirthDate, Long lastId, int limit) {
+        return getCacheableResultList(entityManager.createQuery(SELECT_RESPONSES_BY_BIRTH_DATE_AFTER, UserResponseDto.class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setParameter("lastBirthDate", lastBirthDate)
+                .setParameter("lastId", lastId)
+                .setHint(AvailableHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .setMaxResults(limit));
+    }
+
+    private TypedQuery<UserResponseDto> responsesByBirthDateBetween(LocalDate startDate, LocalDate endDate, Sort sort) {
+        String jpql = sort.isSorted()
+                ? QueryUtils.applySorting(SELECT_RESPONSES_BY_BIRTH_DATE, sort, ALIAS)
+                : SELECT_RESPONSES_BY_BIRTH_DATE;
+        return entityManager.createQuery(jpql, UserResponseDto.class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint(AvailableHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByBirthDateBetween(LocalDate startDate, LocalDate endDate) {
+        TypedQuery<Long> query = entityManager.createQuery(COUNT_BY_BIRTH_DATE, Long.class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint(AvailableHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+        return getCacheableResultList(query).get(0);
+    }
+
+    // A cached result is kept until the next write to users. It is read from the primary: read from a lagging
+    // replica, it could miss a committed write and still be served after the replica has caught up.
+    // Must be the first statement of the transaction, the connection is routed when it is taken.
+    private <T> List<T> getCacheableResultList(TypedQuery<T> query) {
+        if (!queryCacheEnabled) {
+            return query.getResultList();
+        }
+        query.setHint(AvailableHints.HINT_CACHEABLE, true);
+        return ReplicaRouting.onPrimary(query::getResultList);
+    }
+
+    @Override
+    public long estimateCountByBirthDateBetween(LocalDate startDate, LocalDate endDate) {
+        // EXPLAIN does not accept bind parameters, the dates are inlined.
+        // LocalDate is always formatted as yyyy-MM-dd, so it can not break out of the literal.
+        String explain = "EXPLAIN (FORMAT JSON) SELECT 1 FROM users WHERE birth_date BETWEEN DATE '"
+                + startDate + "' AND DATE '" + endDate + "'";
+        String plan = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(explain)) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+        try {
+            return OBJECT_MAPPER.readTree(plan).at(PLAN_ROWS).asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Not expected query plan: " + plan, e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteUserById(Long id, BiConsumer<String, String> onDeleted) {
+        return delete(entityManager.createNativeQuery(DELETE_BY_ID).setParameter("id", id), onDeleted);
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIdIn(Collection<Long> ids, BiConsumer<String, String> onDeleted) {
+        return delete(entityManager.createNativeQuery(DELETE_BY_IDS).setParameter("ids", ids), onDeleted);
+    }
+
+    @Override
+    @Transactional
+    public int deleteByBirthDateBetween(LocalDate startDate, LocalDate endDate, int limit, BiConsumer<String, String> onDeleted) {
+        return delete(entityManager.createNativeQuery(DELETE_BY_BIRTH_DATE)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setParameter("limit", limit), onDeleted);
+    }
+
+    // The deleted rows are returned, so the DELETE runs as a query, and Hibernate only invalidates the cached users
+    // after the statements it runs as updates. The invalidation is scheduled here the same way as for a native update
+    // of the users table; without the table as the query space it would clear the whole second-level cache.
+    @SuppressWarnings("unchecked")
+    private int delete(Query query, BiConsumer<String, String> onDeleted) {
+        BulkOperationCleanupAction.schedule(entityManager.unwrap(SharedSessionContractImplementor.class), Set.of(USERS_TABLE));
+        List<Object[]> deleted = query.setHint(AvailableHints.HINT_NATIVE_SPACES, USERS_TABLE).getResultList();
+        for (Object[] user : deleted) {
+            onDeleted.accept((String) user[0], (String) user[1]);
+        }
+        return deleted.size();
+    }
+
+    // Hibernate does not see this write, the cached users and query results are invalidated the way delete does it.
+    @Override
+    public List<User> insertSkippingConflicts(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BulkOperationCleanupAction.schedule(session, Set.of(USERS_TABLE));
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (User user : users) {
+            usersByEmail.put(user.getEmail(), user);
+        }
+        Set<User> inserted = Collections.newSetFromMap(new IdentityHashMap<>());
+        entityManager.unwrap(Session.class).doWork(connection -> retryOnPhoneConflict(connection, () -> {
+            inserted.clear();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SKIPPING_CONFLICTS)) {
+                statement.setArray(1, varchars(connection, users, User::getFirstName));
+                statement.setArray(2, varchars(connection, users, User::getLastName));
+                statement.setArray(3, varchars(connection, users, User::getEmail));
+                statement.setArray(4, connection.createArrayOf("date", users.stream().map(User::getBirthDate)
+                        .map(date -> date == null ? null : Date.valueOf(date)).toArray()));
+                statement.setArray(5, varchars(connection, users, User::getAddress));
+                statement.setArray(6, varchars(connection, users, User::getPhoneNumber));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        User user = usersByEmail.get(resultSet.getString(2));
+                        user.setId(resultSet.getLong(1));
+                        // The default of the column, as Hibernate starts it.
+                        user.setVersion(0L);
+                        inserted.add(user);
+                    }
+                }
+            }
+            return null;
+        }));
+        return users.stream().filter(inserted::contains).toList();
+    }
+
+    private static Array varchars(Connection connection, List<User> users, Function<User, String> value) throws SQLException {
+        return connection.createArrayOf("varchar", users.stream().map(value).toArray());
+    }
+
+    @Override
+    public UserImportResultDto importUsers(Iterator<UserCsvRow> rows, int maxRejections, BiConsumer<String, String> onImported) {
+        Session session = entityManager.unwrap(Session.class);
+        long copied = session.doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+            long copiedRows = copy(connection, rows);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(ANALYZE_STAGING_TABLE);
+            }
+            update(connection, REJECT_TAKEN_EMAILS, ErrorMessage.USER_BY_EMAIL_EXIST);
+            update(connection, REJECT_TAKEN_PHONES, ErrorMessage.USER_BY_PHONE_NUMBER_EXIST);
+            update(connection, REJECT_REPEATED_EMAILS, ErrorMessage.USER_BY_EMAIL_EXIST);
+            update(connection, REJECT_REPEATED_PHONES, ErrorMessage.USER_BY_PHONE_NUMBER_EXIST);
+            return copiedRows;
+        });
+        // Hibernate does not see the write to users, the cached users and query results are invalidated
+        // the way delete does it. The staging table stays visible, the session keeps its connection.
+        BulkOperationCleanupAction.schedule(entityManager.unwrap(SharedSessionContractImplementor.class), Set.of(USERS_TABLE));
+        int conflicts = session.doReturningWork(connection -> retryOnPhoneConflict(connection,
+                () -> update(connection, MERGE, CONFLICT)));
+        return session.doReturningWork(connection -> {
+            if (conflicts > 0) {
+                update(connection, EXPLAIN_CONFLICTS, ErrorMessage.USER_BY_EMAIL_EXIST, ErrorMessage.USER_BY_PHONE_NUMBER_EXIST, CONFLICT);
+            }
+
+            long rejected;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(COUNT_REJECTED)) {
+                resultSet.next();
+                rejected = resultSet.getLong(1);
+            }
+            List<UserImportRejectionDto> rejectedRows = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_REJECTED)) {
+                statement.setInt(1, maxRejections);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rejectedRows.add(new UserImportRejectionDto(resultSet.getLong(1), HttpStatus.CONFLICT.value(),
+                                resultSet.getString(2)));
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(IMPORTED_FETCH_SIZE);
+                try (ResultSet resultSet = statement.executeQuery(SELECT_IMPORTED)) {
+                    while (resultSet.next()) {
+                        onImported.accept(resultSet.getString(1), resultSet.getString(2));
+                    }
+                }
+            }
+            return new UserImportResultDto(copied - rejected, rejected, rejectedRows);
+        });
+    }
+
+    private long copy(Connection connection, Iterator<UserCsvRow> rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_TO_STAGING_TABLE);
+        try {
+            StringBuilder chunk = new StringBuilder(COPY_CHUNK_LENGTH + 1024);
+            while (rows.hasNext()) {
+                appendCsv(rows.next(), chunk);
+                if (chunk.length() >= COPY_CHUNK_LENGTH) {
+                    writeToCopy(copyIn, chunk);
+                }
+            }
+            writeToCopy(copyIn, chunk);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    // Every value is quoted, an empty unquoted field is NULL for COPY in CSV format.
+    private static void appendCsv(UserCsvRow row, StringBuilder chunk) {
+        UserRequestDto user = row.user();
+        chunk.append(row.row());
+        appendCsvField(user.getFirstName(), chunk);
+        appendCsvField(user.getLastName(), chunk);
+        appendCsvField(user.getEmail(), chunk);
+        appendCsvField(user.getBirthDate() == null ? null : user.getBirthDate().toString(), chunk);
+        appendCsvField(user.getAddress(), chunk);
+        appendCsvField(user.getPhoneNumber(), chunk);
+        chunk.append('\n');
+    }
+
+    private static void appendCsvField(String value, StringBuilder chunk) {
+        chunk.append(',');
+        if (value == null) {
+            return;
+        }
+        chunk.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                chunk.append('"');
+            }
+            chunk.append(c);
+        }
+        chunk.append('"');
+    }
+
+    // Runs an insert that skips the users with a taken email or phone number. The taken phone numbers are seen
+    // in the snapshot of the statement, one committed after it started violates the constraint: the insert is
+    // rolled back to a savepoint and run again with a new snapshot. Every other violation is thrown.
+    private static <T> T retryOnPhoneConflict(Connection connection, SqlWork<T> insert) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                T result = insert.execute();
+                connection.releaseSavepoint(savepoint);
+                return result;
+            } catch (PSQLException e) {
+                ServerErrorMessage error = e.getServerErrorMessage();
+                if (attempt == PHONE_CONFLICT_ATTEMPTS || !PSQLState.UNIQUE_VIOLATION.getState().equals(e.getSQLState())
+                        || error == null || !User.PHONE_NUMBER_UNIQUE_CONSTRAINT.equals(error.getConstraint())) {
+                    throw e;
+                }
+                connection.rollback(savepoint);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T execute() throws SQLException;
+    }
+
+    private static int update(Connection connection, String sql, String... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+}
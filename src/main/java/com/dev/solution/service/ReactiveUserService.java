@@ -0,0 +1,26 @@
+package com.dev.solution.service;
+
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+public interface ReactiveUserService {
+    Mono<UserResponseDto> findById(Long id);
+
+    Mono<Long> findVersionById(Long id);
+
+    Mono<UserResponseDto> save(UserRequestDto user);
+
+    Mono<Void> deleteById(Long id);
+
+    Mono<Page<UserResponseDto>> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    Mono<UserResponseDto> updateFullUser(Long id, UserRequestDto userDto, String ifMatch);
+
+    Mono<UserResponseDto> updatePartUser(Long id, UserPatch patch, String ifMatch);
+}
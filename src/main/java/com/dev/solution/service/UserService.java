@@ -1,23 +1,50 @@
 package com.dev.solution.service;
 
+import com.dev.solution.model.dto.DataResponseCursor;
+import com.dev.solution.model.dto.UserBatchItemDto;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.model.dto.UserPatch;
 import com.dev.solution.model.dto.UserRequestDto;
 import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.utils.export.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.Map;
+import java.util.List;
 
 public interface UserService {
     UserResponseDto findById(Long id);
 
+    long findVersionById(Long id);
+
     UserResponseDto save(UserRequestDto user);
 
+    List<UserBatchItemDto> saveAll(List<UserRequestDto> users);
+
     void deleteById(Long id);
 
+    UserImportResultDto importUsers(InputStream inputStream) throws IOException;
+
+    long deleteAllById(List<Long> ids);
+
+    long deleteByDateBetween(LocalDate startDate, LocalDate endDate);
+
     Page<UserResponseDto> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
-    UserResponseDto updateFullUser(Long id, UserRequestDto userDto);
+    Page<UserResponseDto> findByDateBetweenWithEstimatedTotal(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    Slice<UserResponseDto> findSliceByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    DataResponseCursor<UserResponseDto> findByDateBetween(LocalDate startDate, LocalDate endDate, String cursor, int size);
+
+    void exportByDateBetween(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) throws IOException;
+
+    UserResponseDto updateFullUser(Long id, UserRequestDto userDto, String ifMatch);
 
-    UserResponseDto updatePartUser(Long id, Map<String, Object> fieldsToUpdate);
+    UserResponseDto updatePartUser(Long id, UserPatch patch, String ifMatch);
 }
@@ -0,0 +1,208 @@
+package com.dev.solution.service.impl;
+
+import com.dev.solution.exception.AlreadyExistsException;
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotFoundException;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.exception.PreconditionFailedException;
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.ReactiveUserRepository;
+import com.dev.solution.service.ReactiveUserService;
+import com.dev.solution.utils.http.ETags;
+import com.dev.solution.utils.mapper.UserMapper;
+import com.dev.solution.utils.validation.FieldsValidation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Non-blocking implementation of the user operations for the reactive profile.
+ * It follows {@link UserServiceImpl} and throws the same exceptions, signalled as errors of the returned Mono.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+    private final ReactiveUserRepository userRepository;
+    private final UserMapper userMapper;
+    private final FieldsValidation fieldsValidation;
+    private final boolean optimisticWrites;
+
+    public ReactiveUserServiceImpl(ReactiveUserRepository userRepository,
+                                   UserMapper userMapper,
+                                   FieldsValidation fieldsValidation,
+                                   @Value("${users.optimistic-writes}") boolean optimisticWrites) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.fieldsValidation = fieldsValidation;
+        this.optimisticWrites = optimisticWrites;
+    }
+
+    @Override
+    public Mono<UserResponseDto> findById(Long id) {
+        return findUser(id).map(userMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<Long> findVersionById(Long id) {
+        return userRepository.findVersionById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<UserResponseDto> save(UserRequestDto userDto) {
+        Mono<Void> uniquenessCheck = optimisticWrites
+                ? Mono.empty()
+                : checkEmailUnique(userDto.getEmail()).then(checkPhoneUnique(userDto.getPhoneNumber()));
+        return uniquenessCheck
+                .then(Mono.fromSupplier(() -> userMapper.toEntity(userDto)))
+                .flatMap(this::write)
+                .map(userMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return userRepository.deleteUserById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id))
+                        : Mono.empty());
+    }
+
+    /**
+     * Finds a page of users by birth date range with the exact total.
+     * The content and the count queries are subscribed together, so both run concurrently on their own connections.
+     */
+    @Override
+    public Mono<Page<UserResponseDto>> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        if (startDate.isAfter(endDate)) {
+            return Mono.error(new NotValidFieldsException(ErrorMessage.START_DATE_AFTER_END_DATE));
+        }
+        return Mono.zip(
+                userRepository.findByBirthDateBetween(startDate, endDate, pageable).map(userMapper::toResponseDto).collectList(),
+                userRepository.countByBirthDateBetween(startDate, endDate),
+                (users, total) -> new PageImpl<>(users, pageable, total));
+    }
+
+    @Override
+    @Transactional
+    public Mono<UserResponseDto> updateFullUser(Long id, UserRequestDto userDto, String ifMatch) {
+        return findForUpdate(id, ifMatch)
+                .flatMap(user -> checkChangedValuesUnique(user, userDto)
+                        .then(Mono.fromSupplier(() -> {
+                            userMapper.updateEntity(userDto, user);
+                            return user;
+                        })))
+                .flatMap(this::update)
+                .onErrorMap(e -> ifMatch != null && e instanceof OptimisticLockingFailureException,
+                        e -> new PreconditionFailedException(ErrorMessage.USER_VERSION_NOT_MATCHED + id))
+                .map(userMapper::toResponseDto);
+    }
+
+    /**
+     * Applies a JSON Merge Patch to a user, see {@link UserServiceImpl#updatePartUser(Long, UserPatch, String)}.
+     * Spring Data R2DBC has no dirty checking, the updated row is written as a whole.
+     */
+    @Override
+    @Transactional
+    public Mono<UserResponseDto> updatePartUser(Long id, UserPatch patch, String ifMatch) {
+        return Mono.fromRunnable(() -> fieldsValidation.validatePatch(patch))
+                .then(findForUpdate(id, ifMatch))
+                .flatMap(user -> checkPatchedValuesUnique(user, patch)
+                        .then(Mono.fromSupplier(() -> {
+                            userMapper.applyPatch(patch, user);
+                            return user;
+                        })))
+                .flatMap(this::update)
+                .onErrorMap(e -> ifMatch != null && e instanceof OptimisticLockingFailureException,
+                        e -> new PreconditionFailedException(ErrorMessage.USER_VERSION_NOT_MATCHED + id))
+                .map(userMapper::toResponseDto);
+    }
+
+    // The saved row is updated only if it still has the loaded version, see UserServiceImpl#findForUpdate.
+    private Mono<User> findForUpdate(Long id, String ifMatch) {
+        return findUser(id)
+                .flatMap(user -> ifMatch == null || ETags.matchesStrongly(ifMatch, ETags.of(user.getVersion()))
+                        ? Mono.just(user)
+                        : Mono.error(new PreconditionFailedException(ErrorMessage.USER_VERSION_NOT_MATCHED + id)));
+    }
+
+    private Mono<User> findUser(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id)));
+    }
+
+    // Saves the user, a violated unique constraint is signalled as AlreadyExistsException.
+    private Mono<User> write(User user) {
+        return userRepository.save(user)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> UniqueConstraintViolations.translate(e, user.getEmail(), user.getPhoneNumber()));
+    }
+
+    // Updates the user if its row still has the loaded version, otherwise fails with OptimisticLockingFailureException.
+    private Mono<User> update(User user) {
+        return userRepository.updateUser(user.getId(), user.getVersion(), user.getFirstName(), user.getLastName(),
+                        user.getEmail(), user.getBirthDate(), user.getAddress(), user.getPhoneNumber())
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> UniqueConstraintViolations.translate(e, user.getEmail(), user.getPhoneNumber()))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(ErrorMessage.USER_CHANGED_CONCURRENTLY));
+                    }
+                    user.setVersion(user.getVersion() + 1);
+                    return Mono.just(user);
+                });
+    }
+
+    private Mono<Void> checkChangedValuesUnique(User user, UserRequestDto userDto) {
+        if (optimisticWrites) {
+            return Mono.empty();
+        }
+        Mono<Void> emailCheck = user.getEmail().equals(userDto.getEmail())
+                ? Mono.empty()
+                : checkEmailUnique(userDto.getEmail());
+        Mono<Void> phoneCheck = Objects.equals(user.getPhoneNumber(), userDto.getPhoneNumber())
+                ? Mono.empty()
+                : checkPhoneUnique(userDto.getPhoneNumber());
+        return emailCheck.then(phoneCheck);
+    }
+
+    private Mono<Void> checkPatchedValuesUnique(User user, UserPatch patch) {
+        if (optimisticWrites) {
+            return Mono.empty();
+        }
+        Mono<Void> emailCheck = !patch.has(UserPatch.Field.EMAIL) || user.getEmail().equals(patch.getEmail())
+                ? Mono.empty()
+                : checkEmailUnique(patch.getEmail());
+        Mono<Void> phoneCheck = !patch.has(UserPatch.Field.PHONE_NUMBER)
+                || Objects.equals(user.getPhoneNumber(), patch.getPhoneNumber())
+                ? Mono.empty()
+                : checkPhoneUnique(patch.getPhoneNumber());
+        return emailCheck.then(phoneCheck);
+    }
+
+    private Mono<Void> checkEmailUnique(String email) {
+        return userRepository.findByEmail(email)
+                .flatMap(u -> Mono.error(new AlreadyExistsException(ErrorMessage.USER_BY_EMAIL_EXIST + email)));
+    }
+
+    private Mono<Void> checkPhoneUnique(String phone) {
+        if (phone == null) {
+            return Mono.empty();
+        }
+        return userRepository.findByPhoneNumber(phone)
+                .flatMap(u -> Mono.error(new AlreadyExistsException(ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + phone)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.dev.solution.service.impl;
+
+import com.dev.solution.exception.AlreadyExistsException;
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.model.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Translates a violation of the unique constraints of the users table into the same {@link AlreadyExistsException}
+ * the uniqueness checks throw, so a write can rely on the constraints instead of checking first.
+ */
+final class UniqueConstraintViolations {
+
+    private UniqueConstraintViolations() {
+    }
+
+    /**
+     * @param e     The exception of the failed INSERT or UPDATE.
+     * @param email The email that was written.
+     * @param phone The phone number that was written.
+     * @return An AlreadyExistsException for a violated email or phone number constraint, otherwise the exception itself.
+     */
+    static RuntimeException translate(DataIntegrityViolationException e, String email, String phone) {
+        String constraint = constraintName(e);
+        if (constraint.contains(User.EMAIL_UNIQUE_CONSTRAINT)) {
+            return new AlreadyExistsException(ErrorMessage.USER_BY_EMAIL_EXIST + email);
+        }
+        if (constraint.contains(User.PHONE_NUMBER_UNIQUE_CONSTRAINT)) {
+            return new AlreadyExistsException(ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + phone);
+        }
+        return e;
+    }
+
+    // Hibernate extracts the constraint name from the JDBC error. R2DBC has no such extraction,
+    // there the driver message is used, which names the constraint (as does the message of H2).
+    private static String constraintName(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message == null ? "" : message.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,172 @@
+package com.dev.solution.service.impl;
+
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserImportRejectionDto;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.repository.UserRepository;
+import com.dev.solution.utils.imports.UserCsvReader;
+import com.dev.solution.utils.imports.UserCsvRow;
+import com.dev.solution.utils.validation.FieldsValidation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Imports users from a CSV stream. Records are read in batches on the calling thread and every batch is
+ * validated by a task of the executor, while the valid users of the finished batches are copied to the database
+ * in file order. At most parallelism batches are read ahead, so memory use does not depend on the file size.
+ * Uniqueness of emails and phone numbers is resolved by the database, see {@link UserRepository#importUsers}.
+ */
+@Component
+@Profile("!reactive")
+public class UserCsvImporter {
+    private final UserRepository userRepository;
+    private final FieldsValidation fieldsValidation;
+    private final Executor executor;
+    private final UserUniquenessFilter uniquenessFilter;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxReportedRejections;
+
+    public UserCsvImporter(UserRepository userRepository,
+                           FieldsValidation fieldsValidation,
+                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                           UserUniquenessFilter uniquenessFilter,
+                           @Value("${users.import.batch-size}") int batchSize,
+                           @Value("${users.import.parallelism}") int parallelism,
+                           @Value("${users.import.max-reported-rejections}") int maxReportedRejections) {
+        this.userRepository = userRepository;
+        this.fieldsValidation = fieldsValidation;
+        this.executor = executor;
+        this.uniquenessFilter = uniquenessFilter;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    /**
+     * Must be called inside a transaction, the users are imported all or nothing.
+     *
+     * @throws NotValidFieldsException if the CSV header is not valid.
+     */
+    public UserImportResultDto importUsers(InputStream inputStream) throws IOException {
+        UserCsvReader reader = new UserCsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        ValidRows validRows = new ValidRows(reader);
+        UserImportResultDto result = userRepository.importUsers(validRows, maxReportedRejections, uniquenessFilter::add);
+        // Both lists are ordered by row, the first rejected rows of the file are among the first of each list.
+        List<UserImportRejectionDto> rejectedRows = new ArrayList<>(validRows.rejectedRows.size() + result.getRejectedRows().size());
+        Iterator<UserImportRejectionDto> notValid = validRows.rejectedRows.iterator();
+        Iterator<UserImportRejectionDto> taken = result.getRejectedRows().iterator();
+        UserImportRejectionDto nextNotValid = notValid.hasNext() ? notValid.next() : null;
+        UserImportRejectionDto nextTaken = taken.hasNext() ? taken.next() : null;
+        while (rejectedRows.size() < maxReportedRejections && (nextNotValid != null || nextTaken != null)) {
+            if (nextTaken == null || (nextNotValid != null && nextNotValid.getRow() < nextTaken.getRow())) {
+                rejectedRows.add(nextNotValid);
+                nextNotValid = notValid.hasNext() ? notValid.next() : null;
+            } else {
+                rejectedRows.add(nextTaken);
+                nextTaken = taken.hasNext() ? taken.next() : null;
+            }
+        }
+        return new UserImportResultDto(result.getImported(), result.getRejected() + validRows.rejected, rejectedRows);
+    }
+
+    /**
+     * The valid rows of the reader in file order. Rows that can not be read or are not valid are counted
+     * and the first of them are kept for the report.
+     */
+    private class ValidRows implements Iterator<UserCsvRow> {
+        private final Iterator<UserCsvRow> reader;
+        private final Deque<CompletableFuture<List<UserCsvRow>>> batches = new ArrayDeque<>();
+        private final List<UserImportRejectionDto> rejectedRows = new ArrayList<>();
+        private long rejected;
+        private Iterator<UserCsvRow> current = Collections.emptyIterator();
+
+        ValidRows(Iterator<UserCsvRow> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                readAhead();
+                if (batches.isEmpty()) {
+                    return false;
+                }
+                current = accept(join(batches.poll()));
+            }
+            return true;
+        }
+
+        @Override
+        public UserCsvRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private void readAhead() {
+            while (batches.size() < parallelism && reader.hasNext()) {
+                List<UserCsvRow> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && reader.hasNext()) {
+                    batch.add(reader.next());
+                }
+                batches.add(CompletableFuture.supplyAsync(() -> validate(batch), executor));
+            }
+        }
+
+        private Iterator<UserCsvRow> accept(List<UserCsvRow> batch) {
+            List<UserCsvRow> valid = new ArrayList<>(batch.size());
+            for (UserCsvRow row : batch) {
+                if (row.isValid()) {
+                    valid.add(row);
+                } else {
+                    rejected++;
+                    if (rejectedRows.size() < maxReportedRejections) {
+                        rejectedRows.add(new UserImportRejectionDto(row.row(), HttpStatus.BAD_REQUEST.value(), row.error()));
+                    }
+                }
+            }
+            return valid.iterator();
+        }
+
+        private List<UserCsvRow> validate(List<UserCsvRow> batch) {
+            List<UserCsvRow> validated = new ArrayList<>(batch.size());
+            for (UserCsvRow row : batch) {
+                if (row.isValid()) {
+                    try {
+                        fieldsValidation.validateFields(row.user());
+                    } catch (NotValidFieldsException e) {
+                        row = row.withError(e.getMessages());
+                    }
+                }
+                validated.add(row);
+            }
+            return validated;
+        }
+
+        private List<UserCsvRow> join(CompletableFuture<List<UserCsvRow>> batch) {
+            try {
+                return batch.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.dev.solution.service.impl;
+
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.UserRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Counts the users of a birth date range concurrently with the content query of a page, so the page waits for the
+ * slower of both queries instead of their sum. The counts run on a few threads of their own without a queue, so they
+ * hold at most that many connections on top of those of the requests, and concurrent pages can not exhaust the pool
+ * with requests waiting for their counts. A count that finds every thread busy, or that does not finish within the
+ * timeout after the content, is replaced by the total estimated by the database planner statistics.
+ */
+@Component
+@Profile("!reactive")
+public class UserPageCounter implements DisposableBean {
+    private final UserRepository userRepository;
+    private final AsyncTaskExecutor executor;
+    private final Duration timeout;
+
+    @Autowired
+    public UserPageCounter(UserRepository userRepository,
+                           @Value("${users.page-count.threads}") int threads,
+                           @Value("${users.page-count.timeout}") Duration timeout,
+                           ObjectProvider<TaskDecorator> taskDecorator) {
+        this(userRepository, executor(threads, taskDecorator), timeout);
+    }
+
+    public UserPageCounter(UserRepository userRepository, AsyncTaskExecutor executor, Duration timeout) {
+        this.userRepository = userRepository;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Starts the count, reads the content on the calling thread and waits for the count only when the content
+     * does not tell the total itself. The count runs in a read-only transaction of its own, it does not see the
+     * snapshot of the content, so the total is never lower than the users the page has seen.
+     */
+    public Page<UserResponseDto> getPage(LocalDate startDate, LocalDate endDate, Pageable pageable,
+                                         Supplier<List<UserResponseDto>> content) {
+        Future<Long> count = start(startDate, endDate);
+        try {
+            List<UserResponseDto> users = content.get();
+            long seen = pageable.getOffset() + users.size();
+            return PageableExecutionUtils.getPage(users, pageable,
+                    () -> Math.max(seen, await(count, startDate, endDate)));
+        } finally {
+            if (count != null) {
+                count.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ThreadPoolTaskExecutor threadPool) {
+            threadPool.shutdown();
+        }
+    }
+
+    private Future<Long> start(LocalDate startDate, LocalDate endDate) {
+        try {
+            return executor.submit(() -> userRepository.countByBirthDateBetween(startDate, endDate));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private long await(Future<Long> count, LocalDate startDate, LocalDate endDate) {
+        if (count != null) {
+            try {
+                return count.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Falls back to the estimate below.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return userRepository.estimateCountByBirthDateBetween(startDate, endDate);
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads, ObjectProvider<TaskDecorator> taskDecorator) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("page-count-");
+        // Carries the read-your-writes pin of the request over to its count, see ReplicaRouting.
+        taskDecorator.ifUnique(executor::setTaskDecorator);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,138 +1,592 @@
 package com.dev.solution.service.impl;
 
+import com.dev.solution.config.CacheConfig;
+import com.dev.solution.datasource.ReplicaRouting;
 import com.dev.solution.exception.AlreadyExistsException;
 import com.dev.solution.exception.ErrorMessage;
 import com.dev.solution.exception.NotFoundException;
 import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.exception.PreconditionFailedException;
 import com.dev.solution.model.User;
+import com.dev.solution.model.dto.DataResponseCursor;
+import com.dev.solution.model.dto.UserBatchItemDto;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.model.dto.UserPatch;
 import com.dev.solution.model.dto.UserRequestDto;
 import com.dev.solution.model.dto.UserResponseDto;
 import com.dev.solution.repository.UserRepository;
 import com.dev.solution.service.UserService;
+import com.dev.solution.utils.annotation.SingleFlight;
+import com.dev.solution.utils.export.ExportFormat;
+import com.dev.solution.utils.export.UserExportWriter;
+import com.dev.solution.utils.http.ETags;
+import com.dev.solution.utils.mapper.UserMapper;
+import com.dev.solution.utils.pagination.UserCursor;
 import com.dev.solution.utils.validation.FieldsValidation;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 public class UserServiceImpl implements UserService {
+    // Keeps the IN lists of the uniqueness query well below the PostgreSQL bind parameters limit.
+    private static final int UNIQUENESS_CHECK_CHUNK_SIZE = 1000;
+    // Users inserted per statement by the bulk create.
+    private static final int INSERT_CHUNK_SIZE = 1000;
+    // Largest page of the keyset pagination, the page and its extra row are held in memory.
+    private static final int MAX_PAGE_SIZE = 1000;
+    // Rows deleted per statement and transaction by the bulk deletes.
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final FieldsValidation fieldsValidation;
+    private final UserExportWriter userExportWriter;
+    private final UserUniquenessFilter uniquenessFilter;
+    private final UserCsvImporter userCsvImporter;
+    private final UserPageCounter pageCounter;
+    private final Cache usersCache;
+    private final boolean optimisticWrites;
 
     public UserServiceImpl(UserRepository userRepository,
-                           ModelMapper modelMapper,
-                           FieldsValidation fieldsValidation) {
+                           UserMapper userMapper,
+                           FieldsValidation fieldsValidation,
+                           UserExportWriter userExportWriter,
+                           UserUniquenessFilter uniquenessFilter,
+                           UserCsvImporter userCsvImporter,
+                           UserPageCounter pageCounter,
+                           CacheManager cacheManager,
+                           @Value("${users.optimistic-writes}") boolean optimisticWrites) {
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
         this.fieldsValidation = fieldsValidation;
+        this.userExportWriter = userExportWriter;
+        this.uniquenessFilter = uniquenessFilter;
+        this.userCsvImporter = userCsvImporter;
+        this.pageCounter = pageCounter;
+        this.usersCache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        this.optimisticWrites = optimisticWrites;
     }
 
+    /**
+     * Finds a user through the cache. Misses are loaded from the primary even with read replicas: a lagging replica
+     * could put the old state of a user that has just been changed back into the cache, to be served for the whole TTL.
+     * Concurrent misses of the same id are loaded once by the cache (sync), so the method needs no {@link SingleFlight}.
+     *
+     * @throws NotFoundException if no user with the provided ID is found in the repository.
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id", sync = true)
     public UserResponseDto findById(Long id) {
-        return modelMapper.map(
-                userRepository.findById(id).orElseThrow(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id)),
-                UserResponseDto.class);
+        return ReplicaRouting.onPrimary(() -> userRepository.findResponseById(id))
+                .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id));
+    }
+
+    /**
+     * Reads only the version of a user, for a conditional request that may be answered without the user.
+     * The version is taken from the cached user if there is one, otherwise it is read from the primary like a miss
+     * of {@link #findById}: a lagging replica could answer 304 for a user that has just been changed.
+     * A miss does not load the user into the cache.
+     *
+     * @throws NotFoundException if no user with the provided ID is found in the repository.
+     */
+    @Override
+    public long findVersionById(Long id) {
+        Cache.ValueWrapper cached = usersCache.get(id);
+        if (cached != null && cached.get() instanceof UserResponseDto user && user.getVersion() != null) {
+            return user.getVersion();
+        }
+        return ReplicaRouting.onPrimary(() -> userRepository.findVersionById(id))
+                .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id));
     }
 
+    /**
+     * Creates a user. With optimistic writes the email and phone number are not checked before the INSERT,
+     * a duplicate is reported by the unique constraints instead, which saves two queries and cannot race
+     * with a concurrent write. Either way a violated constraint is thrown as AlreadyExistsException.
+     * The repository commits the INSERT on its own, so the violation surfaces from save.
+     *
+     * @throws AlreadyExistsException if the email or phone number already exists for another user.
+     */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#result.id")
     public UserResponseDto save(UserRequestDto userDto) {
-        User user = modelMapper.map(userDto, User.class);
-        checkEmailUnique(userDto.getEmail());
-        checkPhoneUnique(userDto.getPhoneNumber());
-        return modelMapper.map(userRepository.save(user), UserResponseDto.class);
+        User user = userMapper.toEntity(userDto);
+        if (!optimisticWrites) {
+            checkEmailUnique(userDto.getEmail());
+            checkPhoneUnique(userDto.getPhoneNumber());
+        }
+        User savedUser = translateUniqueViolation(user, () -> userRepository.save(user));
+        uniquenessFilter.add(savedUser.getEmail(), savedUser.getPhoneNumber());
+        return userMapper.toResponseDto(savedUser);
     }
 
+    /**
+     * Creates users in bulk. Every item is validated on its own, so one broken item does not reject the whole list.
+     * Emails and phone numbers are checked for uniqueness against the database with a set-based query per chunk
+     * and against the other items of the same request. Values the uniqueness filter reports as definitely absent
+     * are left out of the query. Accepted users are inserted chunk by chunk, a single statement per chunk, with ids
+     * taken from the sequence in blocks. A user the checks did not catch (written concurrently, or missed by a false
+     * negative of the filter) is skipped by the insert and gets 409 like the others, the rest of the list is kept.
+     *
+     * @param usersDto The users to create.
+     * @return A result for every item in the order of the request: 200 with the created user, 400 with validation
+     * errors or 409 if the email or phone number is already taken.
+     */
     @Override
     @Transactional
+    public List<UserBatchItemDto> saveAll(List<UserRequestDto> usersDto) {
+        UserBatchItemDto[] results = new UserBatchItemDto[usersDto.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < usersDto.size(); i++) {
+            UserRequestDto userDto = usersDto.get(i);
+            if (userDto == null) {
+                results[i] = new UserBatchItemDto(i, HttpStatus.BAD_REQUEST.value(), null, ErrorMessage.USER_IS_NULL);
+                continue;
+            }
+            try {
+                fieldsValidation.validateFields(userDto);
+                validIndexes.add(i);
+            } catch (NotValidFieldsException e) {
+                results[i] = new UserBatchItemDto(i, e.getCode(), null, e.getMessages());
+            }
+        }
+
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        findTakenEmailsAndPhones(validIndexes.stream().map(usersDto::get).toList(), takenEmails, takenPhones);
+
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<User> usersToSave = new ArrayList<>();
+        for (Integer i : validIndexes) {
+            UserRequestDto userDto = usersDto.get(i);
+            String phone = userDto.getPhoneNumber();
+            if (takenEmails.contains(userDto.getEmail())) {
+                results[i] = conflict(i, ErrorMessage.USER_BY_EMAIL_EXIST + userDto.getEmail());
+            } else if (phone != null && takenPhones.contains(phone)) {
+                results[i] = conflict(i, ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + phone);
+            } else {
+                takenEmails.add(userDto.getEmail());
+                if (phone != null) {
+                    takenPhones.add(phone);
+                }
+                acceptedIndexes.add(i);
+                usersToSave.add(userMapper.toEntity(userDto));
+            }
+        }
+
+        Set<User> savedUsers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int from = 0; from < usersToSave.size(); from += INSERT_CHUNK_SIZE) {
+            savedUsers.addAll(userRepository.insertSkippingConflicts(
+                    usersToSave.subList(from, Math.min(from + INSERT_CHUNK_SIZE, usersToSave.size()))));
+        }
+        List<Integer> skipped = new ArrayList<>();
+        for (int j = 0; j < usersToSave.size(); j++) {
+            int i = acceptedIndexes.get(j);
+            User user = usersToSave.get(j);
+            if (savedUsers.contains(user)) {
+                uniquenessFilter.add(user.getEmail(), user.getPhoneNumber());
+                results[i] = new UserBatchItemDto(i, HttpStatus.OK.value(), userMapper.toResponseDto(user), null);
+            } else {
+                skipped.add(j);
+            }
+        }
+        if (!skipped.isEmpty()) {
+            reportConflicts(skipped.stream().map(usersToSave::get).toList(),
+                    skipped.stream().map(acceptedIndexes::get).toList(), results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Imports users from CSV in a single transaction, see {@link UserCsvImporter}. Rows that are not valid
+     * or have a taken email or phone number are reported and skipped, the rest is imported.
+     *
+     * @throws NotValidFieldsException if the CSV header is not valid.
+     */
+    @Override
+    @Transactional
+    public UserImportResultDto importUsers(InputStream inputStream) throws IOException {
+        return userCsvImporter.importUsers(inputStream);
+    }
+
+    /**
+     * Deletes a user with a single DELETE statement, without loading it first.
+     * Its email and phone number are removed from the uniqueness filter once the deletion commits.
+     *
+     * @throws NotFoundException if no user with the provided ID is found in the repository.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
     public void deleteById(Long id) {
-        userRepository.deleteById(id);
+        if (userRepository.deleteUserById(id, uniquenessFilter::removeAfterCommit) == 0) {
+            throw new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id);
+        }
     }
 
+    /**
+     * Deletes the users with the provided IDs, missing IDs are skipped.
+     * The IDs are deleted in chunks, every chunk is a single DELETE statement committed on its own,
+     * so row locks are held only for one chunk. The emails and phone numbers of a chunk are removed from the uniqueness
+     * filter once it commits. The deleted users are not known one by one, the cache is cleared.
+     *
+     * @return the number of deleted users.
+     */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, allEntries = true)
+    public long deleteAllById(List<Long> ids) {
+        long deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            deleted += userRepository.deleteByIdIn(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())),
+                    uniquenessFilter::removeAfterCommit);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes all users with birth date in the range chunk by chunk, like {@link #deleteAllById(List)}.
+     * Chunks are deleted until one comes back short.
+     *
+     * @return the number of deleted users.
+     * @throws NotValidFieldsException if the start date is after the end date.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, allEntries = true)
+    public long deleteByDateBetween(LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = userRepository.deleteByBirthDateBetween(startDate, endDate, DELETE_CHUNK_SIZE, uniquenessFilter::removeAfterCommit);
+            deleted += chunk;
+        } while (chunk == DELETE_CHUNK_SIZE);
+        return deleted;
+    }
+
+    /**
+     * Finds a page of users by birth date range with the exact total. The users are read as DTOs, see
+     * {@link UserRepository#findResponsesByBirthDateBetween}.
+     * The count query runs concurrently with the content query on the bounded executor of the
+     * {@link UserPageCounter}, which falls back to the estimated total when the count is not available in time.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @SingleFlight
     public Page<UserResponseDto> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        if (startDate.isAfter(endDate)) {
-            throw new NotValidFieldsException("Start date must be before end date.");
+        validateDateRange(startDate, endDate);
+
+        return pageCounter.getPage(startDate, endDate, pageable,
+                () -> userRepository.findResponsesByBirthDateBetween(startDate, endDate, pageable));
+    }
+
+    /**
+     * Finds a page of users by birth date range with the total estimated by the database planner statistics.
+     * The estimate is used only when the total can not be derived from the page itself (e.g. on the last page).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Page<UserResponseDto> findByDateBetweenWithEstimatedTotal(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        validateDateRange(startDate, endDate);
+
+        List<UserResponseDto> users = userRepository.findResponsesByBirthDateBetween(startDate, endDate, pageable);
+        // The estimate can be lower than the number of users already seen, which would make the page inconsistent.
+        long seen = pageable.getOffset() + users.size();
+        return PageableExecutionUtils.getPage(users, pageable,
+                () -> Math.max(seen, userRepository.estimateCountByBirthDateBetween(startDate, endDate)));
+    }
+
+    /**
+     * Finds a slice of users by birth date range. No count query is executed, only one extra row is read
+     * to know whether there is a next slice. The users are read as DTOs, like the pages.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public Slice<UserResponseDto> findSliceByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        validateDateRange(startDate, endDate);
+
+        return userRepository.findResponseSliceByBirthDateBetween(startDate, endDate, pageable);
+    }
+
+    /**
+     * Finds users by birth date range with keyset pagination ordered by birth date and id.
+     * Instead of skipping OFFSET rows, every page continues right after the position encoded in the cursor,
+     * so the cost of a page does not depend on how deep it is.
+     *
+     * @param startDate The start of the range (inclusive).
+     * @param endDate   The end of the range (inclusive).
+     * @param cursor    The token returned as next by the previous page, null or empty for the first page.
+     * @param size      The maximum number of users in the page, from 1 to 1000.
+     * @return The users of the page and the token of the next page, null if this page is the last one.
+     * @throws NotValidFieldsException if the start date is after the end date, the size is out of range
+     *                                 or the cursor is malformed.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @SingleFlight
+    public DataResponseCursor<UserResponseDto> findByDateBetween(LocalDate startDate, LocalDate endDate, String cursor, int size) {
+        validateDateRange(startDate, endDate);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new NotValidFieldsException(ErrorMessage.NOT_VALID_PAGE_SIZE + MAX_PAGE_SIZE);
         }
+        UserCursor after = UserCursor.decode(cursor);
+
+        // One extra row tells whether there is a next page without a count query.
+        List<UserResponseDto> users = after == null
+                ? userRepository.findFirstResponsesByBirthDateBetween(startDate, endDate, size + 1)
+                : userRepository.findResponsesByBirthDateBetweenAfter(startDate, endDate, after.birthDate(), after.id(), size + 1);
 
-        Page<User> usersPage = userRepository.findByBirthDateBetween(startDate, endDate, pageable);
+        String next = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            UserResponseDto last = users.get(size - 1);
+            next = new UserCursor(last.getBirthDate(), last.getId()).encode();
+        }
+        return new DataResponseCursor<>(users, next);
+    }
 
-        List<UserResponseDto> userResponseDtoList = usersPage.getContent()
-                .stream()
-                .map(u -> modelMapper.map(u, UserResponseDto.class))
-                .collect(Collectors.toList());
+    /**
+     * Writes all users with birth date in the range to the output stream, ordered by birth date and id.
+     * Users are read from a database cursor and written one by one, so memory use stays flat
+     * regardless of how many users are exported. The read-only transaction keeps the cursor open while streaming.
+     *
+     * @param startDate    The start of the range (inclusive).
+     * @param endDate      The end of the range (inclusive).
+     * @param format       The format of the export.
+     * @param outputStream The stream to write to, it is flushed but not closed.
+     * @throws NotValidFieldsException if the start date is after the end date.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByDateBetween(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream outputStream) throws IOException {
+        validateDateRange(startDate, endDate);
 
-        return new PageImpl<>(userResponseDtoList, pageable, usersPage.getTotalElements());
+        try (Stream<UserResponseDto> users = userRepository.streamByBirthDateBetween(startDate, endDate)) {
+            userExportWriter.write(users.iterator(), format, outputStream);
+        }
     }
 
+    /**
+     * Replaces all fields of a user. The changed email and phone number are checked for uniqueness before the UPDATE,
+     * unless writes are optimistic, see {@link #save(UserRequestDto)}. The UPDATE is flushed right away,
+     * so a violated unique constraint is thrown from here as AlreadyExistsException and not on commit.
+     *
+     * With If-Match the update is applied only to the version the client has seen, see {@link #findForUpdate}.
+     *
+     * @param ifMatch The If-Match header of the request, null for an unconditional update.
+     * @throws NotFoundException           if no user with the provided ID is found in the repository.
+     * @throws AlreadyExistsException      if the new email or phone number already exists for another user.
+     * @throws PreconditionFailedException if If-Match does not match the current version of the user.
+     */
     @Override
     @Transactional
-    public UserResponseDto updateFullUser(Long id, UserRequestDto userDto) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id));
-        if (!user.getEmail().equals(userDto.getEmail())) {
-            checkEmailUnique(userDto.getEmail());
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public UserResponseDto updateFullUser(Long id, UserRequestDto userDto, String ifMatch) {
+        User user = findForUpdate(id, ifMatch);
+        if (!optimisticWrites) {
+            if (!user.getEmail().equals(userDto.getEmail())) {
+                checkEmailUnique(userDto.getEmail());
+            }
+            if (!Objects.equals(user.getPhoneNumber(), userDto.getPhoneNumber()) && userDto.getPhoneNumber() != null) {
+                checkPhoneUnique(userDto.getPhoneNumber());
+            }
         }
-        if (!user.getPhoneNumber().equals(userDto.getPhoneNumber())) {
-            checkPhoneUnique(userDto.getPhoneNumber());
-        }
-        modelMapper.map(userDto, user);
-        return modelMapper.map(userRepository.save(user), UserResponseDto.class);
+        String oldEmail = user.getEmail();
+        String oldPhone = user.getPhoneNumber();
+        userMapper.updateEntity(userDto, user);
+        User savedUser = translateVersionConflict(id, ifMatch, () ->
+                translateUniqueViolation(user, () -> userRepository.saveAndFlush(user)));
+        updateUniquenessFilter(oldEmail, oldPhone, savedUser);
+        return userMapper.toResponseDto(savedUser);
     }
 
     /**
-     * Updates specific fields of a user identified by the provided ID.
-     * Retrieves the user from the repository based on the ID, then updates the specified fields with the values provided in the fieldsToUpdate map.
-     * Checks for uniqueness constraints on email and phone number fields. If the updated email or phone number already exists for another user, throws an IllegalArgumentException.
-     * Validates the updated fields using the Bean Validation framework. If any field fails validation, a NotValidFields exception is thrown with details of the validation errors.
-     * Saves the updated user entity to the repository and returns the updated user information as a UserFullDto object.
+     * Applies a JSON Merge Patch to the user identified by the provided ID.
+     * Only the patched fields are validated, and the email and phone number are checked for uniqueness only when
+     * the patch actually changes them and writes are not optimistic. The patch is applied to the managed entity,
+     * so no detached copy is merged: Hibernate flushes an UPDATE of the changed columns only, or no UPDATE at all
+     * if nothing changed. The flush happens before returning, so a violated unique constraint is thrown from here.
      *
-     * @param id             The ID of the user to be updated.
-     * @param fieldsToUpdate A Map containing the fields to update along with their new values.
-     * @return The updated UserFullDto object containing the modified user information.
-     * @throws NotFoundException        if no user with the provided ID is found in the repository.
-     * @throws NotValidFieldsException  if any of the updated fields fail validation.
-     * @throws IllegalArgumentException if the updated email or phone number already exists for another user.
+     * @param id      The ID of the user to be updated.
+     * @param patch   The fields to update along with their new values.
+     * @param ifMatch The If-Match header of the request, null for an unconditional update.
+     * @return The updated user.
+     * @throws NotFoundException           if no user with the provided ID is found in the repository.
+     * @throws NotValidFieldsException     if any of the patched fields fail validation.
+     * @throws AlreadyExistsException      if the new email or phone number already exists for another user.
+     * @throws PreconditionFailedException if If-Match does not match the current version of the user.
      */
     @Override
     @Transactional
-    public UserResponseDto updatePartUser(Long id, Map<String, Object> fieldsToUpdate) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id));
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public UserResponseDto updatePartUser(Long id, UserPatch patch, String ifMatch) {
+        fieldsValidation.validatePatch(patch);
 
-        UserRequestDto updatedFields = modelMapper.map(user, UserRequestDto.class);
-        modelMapper.map(fieldsToUpdate, updatedFields);
+        User user = findForUpdate(id, ifMatch);
+        String oldEmail = user.getEmail();
+        String oldPhone = user.getPhoneNumber();
 
-        fieldsValidation.validateFields(updatedFields);
+        if (!optimisticWrites) {
+            if (patch.has(UserPatch.Field.EMAIL) && !oldEmail.equals(patch.getEmail())) {
+                checkEmailUnique(patch.getEmail());
+            }
+            if (patch.has(UserPatch.Field.PHONE_NUMBER) && patch.getPhoneNumber() != null
+                    && !patch.getPhoneNumber().equals(oldPhone)) {
+                checkPhoneUnique(patch.getPhoneNumber());
+            }
+        }
 
-        User userToUpdate = modelMapper.map(updatedFields, User.class);
-        userToUpdate.setId(id);
+        userMapper.applyPatch(patch, user);
+        translateVersionConflict(id, ifMatch, () -> translateUniqueViolation(user, () -> {
+            userRepository.flush();
+            return user;
+        }));
+        updateUniquenessFilter(oldEmail, oldPhone, user);
+        return userMapper.toResponseDto(user);
+    }
 
-        if (!user.getEmail().equals(updatedFields.getEmail())) {
-            checkEmailUnique(updatedFields.getEmail());
+    // The users were written concurrently, the uniqueness filter may not know them yet and is not asked.
+    // A user whose conflicting user has been deleted since is reported by the email.
+    private void reportConflicts(List<User> users, List<Integer> indexes, UserBatchItemDto[] results) {
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        for (int from = 0; from < users.size(); from += UNIQUENESS_CHECK_CHUNK_SIZE) {
+            Set<String> emails = new HashSet<>();
+            Set<String> phones = new HashSet<>();
+            for (User user : users.subList(from, Math.min(from + UNIQUENESS_CHECK_CHUNK_SIZE, users.size()))) {
+                emails.add(user.getEmail());
+                if (user.getPhoneNumber() != null) {
+                    phones.add(user.getPhoneNumber());
+                }
+            }
+            for (User user : userRepository.findByEmailInOrPhoneNumberIn(emails, phones)) {
+                takenEmails.add(user.getEmail());
+                if (user.getPhoneNumber() != null) {
+                    takenPhones.add(user.getPhoneNumber());
+                }
+            }
         }
-        if (!user.getPhoneNumber().equals(updatedFields.getPhoneNumber())) {
-            checkPhoneUnique(updatedFields.getPhoneNumber());
+        for (int j = 0; j < users.size(); j++) {
+            int i = indexes.get(j);
+            User user = users.get(j);
+            results[i] = !takenEmails.contains(user.getEmail()) && takenPhones.contains(user.getPhoneNumber())
+                    ? conflict(i, ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + user.getPhoneNumber())
+                    : conflict(i, ErrorMessage.USER_BY_EMAIL_EXIST + user.getEmail());
+        }
+    }
+
+    private void findTakenEmailsAndPhones(List<UserRequestDto> usersDto, Set<String> takenEmails, Set<String> takenPhones) {
+        for (int from = 0; from < usersDto.size(); from += UNIQUENESS_CHECK_CHUNK_SIZE) {
+            List<UserRequestDto> chunk = usersDto.subList(from, Math.min(from + UNIQUENESS_CHECK_CHUNK_SIZE, usersDto.size()));
+            Set<String> emails = new HashSet<>();
+            Set<String> phones = new HashSet<>();
+            for (UserRequestDto userDto : chunk) {
+                if (!uniquenessFilter.isEmailDefinitelyAbsent(userDto.getEmail())) {
+                    emails.add(userDto.getEmail());
+                }
+                String phone = userDto.getPhoneNumber();
+                if (phone != null && !uniquenessFilter.isPhoneDefinitelyAbsent(phone)) {
+                    phones.add(phone);
+                }
+            }
+            if (emails.isEmpty() && phones.isEmpty()) {
+                continue;
+            }
+            for (User user : userRepository.findByEmailInOrPhoneNumberIn(emails, phones)) {
+                takenEmails.add(user.getEmail());
+                if (user.getPhoneNumber() != null) {
+                    takenPhones.add(user.getPhoneNumber());
+                }
+            }
         }
+    }
+
+    private void updateUniquenessFilter(String oldEmail, String oldPhone, User savedUser) {
+        uniquenessFilter.add(savedUser.getEmail(), savedUser.getPhoneNumber());
+        uniquenessFilter.removeAfterCommit(oldEmail, oldPhone);
+    }
 
-        return modelMapper.map(userRepository.save(userToUpdate), UserResponseDto.class);
+    private UserBatchItemDto conflict(int index, String message) {
+        return new UserBatchItemDto(index, HttpStatus.CONFLICT.value(), null, message);
+    }
+
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new NotValidFieldsException(ErrorMessage.START_DATE_AFTER_END_DATE);
+        }
+    }
+
+    /**
+     * Loads a user to update and checks If-Match against its version. Nothing is locked: the UPDATE is made
+     * conditional on the loaded version by Hibernate, so a change committed after the check fails the update.
+     */
+    private User findForUpdate(Long id, String ifMatch) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_BY_ID_NOT_FOUND + id));
+        if (ifMatch != null && !ETags.matchesStrongly(ifMatch, ETags.of(user.getVersion()))) {
+            throw new PreconditionFailedException(ErrorMessage.USER_VERSION_NOT_MATCHED + id);
+        }
+        return user;
+    }
+
+    // A conditional update that lost the race is reported like a failed If-Match,
+    // an unconditional one is left to the exception handler.
+    private <T> T translateVersionConflict(Long id, String ifMatch, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                throw new PreconditionFailedException(ErrorMessage.USER_VERSION_NOT_MATCHED + id);
+            }
+            throw e;
+        }
+    }
+
+    private <T> T translateUniqueViolation(User user, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            throw UniqueConstraintViolations.translate(e, user.getEmail(), user.getPhoneNumber());
+        }
     }
 
     private void checkEmailUnique(String email) {
+        if (uniquenessFilter.isEmailDefinitelyAbsent(email)) {
+            return;
+        }
         userRepository.findByEmail(email).ifPresent(u -> {
             throw new AlreadyExistsException(ErrorMessage.USER_BY_EMAIL_EXIST + email);
         });
     }
 
+    // A user without a phone number can not violate the unique constraint, any number of users may have none.
     private void checkPhoneUnique(String phone) {
+        if (phone == null || uniquenessFilter.isPhoneDefinitelyAbsent(phone)) {
+            return;
+        }
         userRepository.findByPhoneNumber(phone).ifPresent(u -> {
             throw new AlreadyExistsException(ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + phone);
         });
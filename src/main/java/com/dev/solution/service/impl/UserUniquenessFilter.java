@@ -0,0 +1,122 @@
+package com.dev.solution.service.impl;
+
+import com.dev.solution.datasource.ReplicaRouting;
+import com.dev.solution.repository.UserRepository;
+import com.dev.solution.utils.filter.CountingBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory pre-check of email and phone number uniqueness.
+ * When the filters say a value is definitely absent, the uniqueness query can be skipped.
+ * Otherwise (the value is taken or it is a false positive) the database is asked as before.
+ * The unique constraints of the users table stay the final authority.
+ * <p>
+ * The filters are built from a streaming scan of the table once the application is ready and are updated on writes.
+ * Until the scan is finished, every check goes to the database. The values of updated and deleted users are
+ * removed once the change commits.
+ */
+@Component
+@Profile("!reactive")
+public class UserUniquenessFilter {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final CountingBloomFilter emails;
+    private final CountingBloomFilter phones;
+    private volatile boolean ready;
+
+    public UserUniquenessFilter(UserRepository userRepository,
+                                @Value("${users.uniqueness-filter.enabled}") boolean enabled,
+                                @Value("${users.uniqueness-filter.expected-size}") long expectedSize,
+                                @Value("${users.uniqueness-filter.false-positive-rate}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.emails = new CountingBloomFilter(enabled ? expectedSize : 0, falsePositiveRate);
+        this.phones = new CountingBloomFilter(enabled ? expectedSize : 0, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        // Read from the primary, a value missing on a lagging replica would be reported as definitely absent.
+        ReplicaRouting.onPrimary(() -> {
+            try (Stream<String> allEmails = userRepository.streamAllEmails()) {
+                allEmails.forEach(emails::add);
+            }
+            try (Stream<String> allPhones = userRepository.streamAllPhoneNumbers()) {
+                allPhones.forEach(phones::add);
+            }
+        });
+        ready = true;
+        logger.info("Uniqueness filter is built in {} ms", System.currentTimeMillis() - start);
+    }
+
+    public boolean isEmailDefinitelyAbsent(String email) {
+        return ready && !emails.mightContain(email);
+    }
+
+    public boolean isPhoneDefinitelyAbsent(String phone) {
+        return ready && !phones.mightContain(phone);
+    }
+
+    /**
+     * Registers the email and phone number of a created or updated user. Values are added right away,
+     * a rollback only leaves a false positive behind.
+     */
+    public void add(String email, String phone) {
+        if (!enabled) {
+            return;
+        }
+        if (email != null) {
+            emails.add(email);
+        }
+        if (phone != null) {
+            phones.add(phone);
+        }
+    }
+
+    /**
+     * Unregisters the previous email and phone number of an updated user, or those of a deleted user, after the
+     * transaction commits, so a rollback can not make a taken value look absent. Removals are skipped until the
+     * filters are built, as the removed value may not have been added by the scan yet.
+     */
+    public void removeAfterCommit(String email, String phone) {
+        if (!ready) {
+            return;
+        }
+        Runnable remove = () -> {
+            if (email != null) {
+                emails.remove(email);
+            }
+            if (phone != null) {
+                phones.remove(phone);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove.run();
+                }
+            });
+        } else {
+            remove.run();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.dev.solution.utils.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Leaves the endpoint out of the adaptive concurrency limit (see {@link com.dev.solution.limit.ConcurrencyLimitInterceptor}).
+ * For endpoints whose latency grows with the size of the request (a list of users, a date range, a streamed body)
+ * and not with the load: a single large request would otherwise lower the limit of all small requests of its group.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface NotConcurrencyLimited {
+}
@@ -0,0 +1,14 @@
+package com.dev.solution.utils.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Coalesces concurrent calls of the method with equal arguments: while a call is running, identical calls wait for it
+ * and return its result or throw its exception (see {@link com.dev.solution.aspect.SingleFlightAspect}).
+ * Nothing is kept after the call completes. For read-only methods whose results are not modified by the callers.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+}
@@ -0,0 +1,28 @@
+package com.dev.solution.utils.export;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotValidFieldsException;
+import lombok.Getter;
+
+@Getter
+public enum ExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String name;
+    private final String mediaType;
+
+    ExportFormat(String name, String mediaType) {
+        this.name = name;
+        this.mediaType = mediaType;
+    }
+
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new NotValidFieldsException(ErrorMessage.NOT_VALID_EXPORT_FORMAT + name);
+    }
+}
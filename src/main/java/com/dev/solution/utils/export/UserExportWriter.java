@@ -0,0 +1,71 @@
+package com.dev.solution.utils.export;
+
+import com.dev.solution.model.dto.UserResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Writes users to an output stream one by one, so only the current user is kept in memory.
+ * NDJSON is a JSON object per line, CSV follows RFC 4180 with a header line.
+ */
+@Component
+public class UserExportWriter {
+    private static final String CSV_HEADER = "id,firstName,lastName,email,birthDate,address,phoneNumber";
+    private static final char CSV_SEPARATOR = ',';
+    private static final char CSV_QUOTE = '"';
+    private static final char LINE_END = '\n';
+
+    private final ObjectWriter objectWriter;
+
+    public UserExportWriter(ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writerFor(UserResponseDto.class);
+    }
+
+    public void write(Iterator<UserResponseDto> users, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write(LINE_END);
+        }
+        while (users.hasNext()) {
+            UserResponseDto user = users.next();
+            if (format == ExportFormat.CSV) {
+                writeCsv(user, writer);
+            } else {
+                writer.write(objectWriter.writeValueAsString(user));
+            }
+            writer.write(LINE_END);
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(UserResponseDto user, Writer writer) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writeCsvField(user.getFirstName(), writer);
+        writeCsvField(user.getLastName(), writer);
+        writeCsvField(user.getEmail(), writer);
+        writeCsvField(user.getBirthDate() == null ? null : user.getBirthDate().toString(), writer);
+        writeCsvField(user.getAddress(), writer);
+        writeCsvField(user.getPhoneNumber(), writer);
+    }
+
+    private void writeCsvField(String value, Writer writer) throws IOException {
+        writer.write(CSV_SEPARATOR);
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(CSV_SEPARATOR) < 0 && value.indexOf(CSV_QUOTE) < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write(CSV_QUOTE);
+        writer.write(value.replace("\"", "\"\""));
+        writer.write(CSV_QUOTE);
+    }
+}
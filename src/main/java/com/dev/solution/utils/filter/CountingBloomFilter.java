@@ -0,0 +1,99 @@
+package com.dev.solution.utils.filter;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bloom filter of strings with a counter instead of a bit per slot, so values can be removed.
+ * {@link #mightContain(String)} never returns false for a value that was added and not removed;
+ * it can return true for a value that was never added (with the configured false positive rate).
+ * Counters that reach the maximum are never decremented again, because their real count is unknown.
+ */
+public class CountingBloomFilter {
+    private static final int MAX_COUNT = 0xFF;
+
+    private final byte[] counters;
+    private final int hashFunctions;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param expectedSize      The expected number of values. More values are allowed but raise the false positive rate.
+     * @param falsePositiveRate The false positive rate at the expected number of values, e.g. 0.01.
+     */
+    public CountingBloomFilter(long expectedSize, double falsePositiveRate) {
+        long size = (long) Math.ceil(-Math.max(expectedSize, 1) * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.counters = new byte[(int) Math.min(Math.max(size, 64), Integer.MAX_VALUE - 8)];
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counters.length / Math.max(expectedSize, 1) * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < hashFunctions; i++) {
+                int index = index(hash, i);
+                int count = counters[index] & MAX_COUNT;
+                if (count < MAX_COUNT) {
+                    counters[index] = (byte) (count + 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a value. Must be called only for a value that was added before, otherwise other values may be lost.
+     */
+    public void remove(String value) {
+        long hash = hash(value);
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < hashFunctions; i++) {
+                int index = index(hash, i);
+                int count = counters[index] & MAX_COUNT;
+                if (count > 0 && count < MAX_COUNT) {
+                    counters[index] = (byte) (count - 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < hashFunctions; i++) {
+                if (counters[index(hash, i)] == 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Double hashing: the i-th hash function is h1 + i * h2, both halves of one 64-bit hash.
+    private int index(long hash, int i) {
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % counters.length;
+    }
+
+    // FNV-1a over the chars of the value, finished with the MurmurHash3 mixer to spread the bits.
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
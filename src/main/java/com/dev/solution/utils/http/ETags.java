@@ -0,0 +1,51 @@
+package com.dev.solution.utils.http;
+
+/**
+ * Entity tags of users. The tag of a user is its version in quotes, so it changes with every update.
+ * Conditional headers are compared as RFC 9110 defines: If-None-Match weakly, If-Match strongly.
+ */
+public final class ETags {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String SEPARATOR = ",";
+
+    private ETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match header, a weak tag matches its strong counterpart and * matches any tag.
+     */
+    public static boolean matchesWeakly(String header, String eTag) {
+        return matches(header, eTag, true);
+    }
+
+    /**
+     * Checks an If-Match header, weak tags never match and * matches any tag.
+     */
+    public static boolean matchesStrongly(String header, String eTag) {
+        return matches(header, eTag, false);
+    }
+
+    private static boolean matches(String header, String eTag, boolean weak) {
+        if (header.trim().equals(ANY)) {
+            return true;
+        }
+        for (String tag : header.split(SEPARATOR)) {
+            tag = tag.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,199 @@
+package com.dev.solution.utils.http;
+
+import com.dev.solution.model.dto.DataResponse;
+import com.dev.solution.model.dto.DataResponsePage;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Writes and reads the user payloads in the Protobuf encoding of proto/users.proto: UserResponse for
+ * DataResponse&lt;UserResponseDto&gt;, UserPage for DataResponsePage&lt;UserResponseDto&gt; and UserRequest for
+ * UserRequestDto. The messages are encoded field by field with the protobuf-java wire format classes, so there are
+ * no generated classes and no copy of the DTOs into them. Other types are left to the other converters.
+ */
+public class UserProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int USER_ID = 1;
+    private static final int USER_FIRST_NAME = 2;
+    private static final int USER_LAST_NAME = 3;
+    private static final int USER_EMAIL = 4;
+    private static final int USER_BIRTH_DATE = 5;
+    private static final int USER_ADDRESS = 6;
+    private static final int USER_PHONE_NUMBER = 7;
+    private static final int USER_VERSION = 8;
+
+    private static final int RESPONSE_DATA = 1;
+
+    private static final int PAGE_DATA = 1;
+    private static final int PAGE_TOTAL_PAGES = 2;
+    private static final int PAGE_TOTAL_ELEMENTS = 3;
+
+    private static final int REQUEST_FIRST_NAME = 1;
+    private static final int REQUEST_LAST_NAME = 2;
+    private static final int REQUEST_EMAIL = 3;
+    private static final int REQUEST_BIRTH_DATE = 4;
+    private static final int REQUEST_ADDRESS = 5;
+    private static final int REQUEST_PHONE_NUMBER = 6;
+
+    public UserProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // Whether a wrapper holds users is known from the generic type only, see canRead and canWrite.
+        return false;
+    }
+
+    // Listed as producible for the wrappers, canWrite then checks what they hold.
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return clazz == DataResponse.class || clazz == DataResponsePage.class || clazz == UserRequestDto.class
+                ? getSupportedMediaTypes()
+                : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type == UserRequestDto.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolvableType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> wrapper = resolvableType.resolve();
+        return (wrapper == DataResponse.class || wrapper == DataResponsePage.class)
+                && resolvableType.getGeneric(0).resolve() == UserResponseDto.class
+                && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (body instanceof DataResponsePage<?> page) {
+            for (Object user : page.getData()) {
+                writeUser(output, PAGE_DATA, (UserResponseDto) user);
+            }
+            writeInt64(output, PAGE_TOTAL_PAGES, page.getTotalPages());
+            writeInt64(output, PAGE_TOTAL_ELEMENTS, page.getTotalElements());
+        } else {
+            UserResponseDto user = (UserResponseDto) ((DataResponse<?>) body).getData();
+            if (user != null) {
+                writeUser(output, RESPONSE_DATA, user);
+            }
+        }
+        output.flush();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(UserRequestDto.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(inputMessage.getBody());
+        UserRequestDto user = new UserRequestDto();
+        try {
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                int field = WireFormat.getTagFieldNumber(tag);
+                int wireType = WireFormat.getTagWireType(tag);
+                if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED && field == REQUEST_FIRST_NAME) {
+                    user.setFirstName(input.readStringRequireUtf8());
+                } else if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED && field == REQUEST_LAST_NAME) {
+                    user.setLastName(input.readStringRequireUtf8());
+                } else if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED && field == REQUEST_EMAIL) {
+                    user.setEmail(input.readStringRequireUtf8());
+                } else if (wireType == WireFormat.WIRETYPE_VARINT && field == REQUEST_BIRTH_DATE) {
+                    user.setBirthDate(LocalDate.ofEpochDay(input.readSInt64()));
+                } else if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED && field == REQUEST_ADDRESS) {
+                    user.setAddress(input.readStringRequireUtf8());
+                } else if (wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED && field == REQUEST_PHONE_NUMBER) {
+                    user.setPhoneNumber(input.readStringRequireUtf8());
+                } else {
+                    input.skipField(tag);
+                }
+            }
+        } catch (IOException | DateTimeException e) {
+            throw new HttpMessageNotReadableException("Not valid Protobuf UserRequest: " + e.getMessage(), e, inputMessage);
+        }
+        return user;
+    }
+
+    private void writeUser(CodedOutputStream output, int field, UserResponseDto user) throws IOException {
+        output.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(userSize(user));
+        writeInt64(output, USER_ID, user.getId());
+        writeString(output, USER_FIRST_NAME, user.getFirstName());
+        writeString(output, USER_LAST_NAME, user.getLastName());
+        writeString(output, USER_EMAIL, user.getEmail());
+        if (user.getBirthDate() != null && user.getBirthDate().toEpochDay() != 0) {
+            output.writeSInt64(USER_BIRTH_DATE, user.getBirthDate().toEpochDay());
+        }
+        writeOptionalString(output, USER_ADDRESS, user.getAddress());
+        writeOptionalString(output, USER_PHONE_NUMBER, user.getPhoneNumber());
+        writeInt64(output, USER_VERSION, user.getVersion());
+    }
+
+    private int userSize(UserResponseDto user) {
+        int size = int64Size(USER_ID, user.getId())
+                + stringSize(USER_FIRST_NAME, user.getFirstName())
+                + stringSize(USER_LAST_NAME, user.getLastName())
+                + stringSize(USER_EMAIL, user.getEmail())
+                + optionalStringSize(USER_ADDRESS, user.getAddress())
+                + optionalStringSize(USER_PHONE_NUMBER, user.getPhoneNumber())
+                + int64Size(USER_VERSION, user.getVersion());
+        if (user.getBirthDate() != null && user.getBirthDate().toEpochDay() != 0) {
+            size += CodedOutputStream.computeSInt64Size(USER_BIRTH_DATE, user.getBirthDate().toEpochDay());
+        }
+        return size;
+    }
+
+    // Fields without presence are not written for their default value, as proto3 requires.
+    private void writeInt64(CodedOutputStream output, int field, Long value) throws IOException {
+        if (value != null && value != 0) {
+            output.writeInt64(field, value);
+        }
+    }
+
+    private void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(field, value);
+        }
+    }
+
+    private void writeOptionalString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null) {
+            output.writeString(field, value);
+        }
+    }
+
+    private int int64Size(int field, Long value) {
+        return value != null && value != 0 ? CodedOutputStream.computeInt64Size(field, value) : 0;
+    }
+
+    private int stringSize(int field, String value) {
+        return value != null && !value.isEmpty() ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    private int optionalStringSize(int field, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+}
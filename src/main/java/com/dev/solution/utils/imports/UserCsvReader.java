@@ -0,0 +1,277 @@
+package com.dev.solution.utils.imports;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserRequestDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads users from CSV (RFC 4180) record by record, so only the current record is kept in memory.
+ * The header line names the columns in any order, the way {@link com.dev.solution.utils.export.UserExportWriter}
+ * writes them: firstName, lastName, email and birthDate are required, address and phoneNumber are optional,
+ * id is allowed and ignored, so an export can be imported back. An empty unquoted field is read as null.
+ * A record that can not be read is returned with an error instead of a user, blank lines are skipped.
+ * Records and fields are read up to a maximum length, the rest of a longer record is skipped without being kept,
+ * so a malformed line (e.g. an unclosed quote) can not fill the heap with the rest of the file.
+ */
+public class UserCsvReader implements Iterator<UserCsvRow> {
+    private static final String[] COLUMNS = {"firstName", "lastName", "email", "birthDate", "address", "phoneNumber"};
+    private static final String[] REQUIRED_COLUMNS = {"firstName", "lastName", "email", "birthDate"};
+    private static final String IGNORED_COLUMN = "id";
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final int EOF = -1;
+    // Far above a valid user, whose fields are at most 255 characters.
+    static final int MAX_FIELD_LENGTH = 1024;
+    static final int MAX_RECORD_LENGTH = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    // Index of every column of the file in COLUMNS, -1 for an ignored column.
+    private final int[] columnIndexes;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private boolean unterminatedQuote;
+    private long recordLength;
+    // Characters of the current field, also the ones not kept because the record is skipped.
+    private long fieldLength;
+    // Why the current record is skipped, null if it is not.
+    private String recordError;
+    private long row;
+    private UserCsvRow next;
+    private boolean finished;
+
+    /**
+     * Reads the header line.
+     *
+     * @throws NotValidFieldsException if a column is unknown, repeated or a required column is missing.
+     */
+    public UserCsvReader(Reader reader) throws IOException {
+        this.reader = reader;
+        if (peek() == BYTE_ORDER_MARK) {
+            position++;
+        }
+        List<String> header = readRecord() ? new ArrayList<>(fields) : List.of();
+        if (recordError != null) {
+            throw new NotValidFieldsException(ErrorMessage.CSV_HEADER_TOO_LONG + MAX_RECORD_LENGTH);
+        }
+        this.columnIndexes = columnIndexes(header);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public UserCsvRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        UserCsvRow row = next;
+        next = null;
+        return row;
+    }
+
+    private UserCsvRow readRow() throws IOException {
+        boolean read;
+        do {
+            read = readRecord();
+        } while (read && fields.size() == 1 && fields.get(0) == null);
+        if (!read) {
+            return null;
+        }
+        row++;
+        if (unterminatedQuote) {
+            // The rest of the file is inside the quotes, there is no next record to read.
+            finished = true;
+            return new UserCsvRow(row, null, ErrorMessage.UNTERMINATED_CSV_QUOTE);
+        }
+        if (recordError != null) {
+            return new UserCsvRow(row, null, recordError);
+        }
+        if (fields.size() != columnIndexes.length) {
+            return new UserCsvRow(row, null, ErrorMessage.NOT_VALID_CSV_ROW + columnIndexes.length);
+        }
+        String[] values = new String[COLUMNS.length];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            if (columnIndexes[i] >= 0) {
+                values[columnIndexes[i]] = fields.get(i);
+            }
+        }
+        UserRequestDto user = new UserRequestDto();
+        user.setFirstName(values[0]);
+        user.setLastName(values[1]);
+        user.setEmail(values[2]);
+        user.setAddress(values[4]);
+        user.setPhoneNumber(values[5]);
+        if (values[3] != null) {
+            try {
+                user.setBirthDate(LocalDate.parse(values[3]));
+            } catch (DateTimeParseException e) {
+                return new UserCsvRow(row, user, COLUMNS[3] + ErrorMessage.NOT_VALID_DATE);
+            }
+        }
+        return new UserCsvRow(row, user, null);
+    }
+
+    /**
+     * Reads the fields of the next record into fields, null for an empty unquoted field.
+     * A record over the maximum length is read to its end, but its fields are dropped and recordError is set.
+     *
+     * @return false at the end of the input.
+     */
+    private boolean readRecord() throws IOException {
+        fields.clear();
+        if (peek() == EOF) {
+            return false;
+        }
+        field.setLength(0);
+        recordLength = 0;
+        fieldLength = 0;
+        recordError = null;
+        boolean fieldQuoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            int c = read();
+            if (inQuotes) {
+                if (c == EOF) {
+                    unterminatedQuote = true;
+                    addField(true);
+                    return true;
+                }
+                if (c == QUOTE) {
+                    if (peek() == QUOTE) {
+                        position++;
+                        append(QUOTE);
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c == SEPARATOR) {
+                count();
+                addField(fieldQuoted);
+                fieldQuoted = false;
+            } else if (c == '\n' || c == '\r' || c == EOF) {
+                if (c == '\r' && peek() == '\n') {
+                    position++;
+                }
+                addField(fieldQuoted);
+                return true;
+            } else if (c == QUOTE && fieldLength == 0 && !fieldQuoted) {
+                inQuotes = true;
+                fieldQuoted = true;
+            } else {
+                append((char) c);
+            }
+        }
+    }
+
+    private void append(char c) {
+        count();
+        if (fieldLength++ == MAX_FIELD_LENGTH) {
+            skipRecord(ErrorMessage.CSV_FIELD_TOO_LONG + MAX_FIELD_LENGTH);
+        }
+        if (recordError == null) {
+            field.append(c);
+        }
+    }
+
+    private void count() {
+        if (++recordLength > MAX_RECORD_LENGTH) {
+            skipRecord(ErrorMessage.CSV_ROW_TOO_LONG + MAX_RECORD_LENGTH);
+        }
+    }
+
+    private void skipRecord(String error) {
+        if (recordError == null) {
+            recordError = error;
+            fields.clear();
+            field.setLength(0);
+        }
+    }
+
+    private void addField(boolean fieldQuoted) {
+        if (recordError == null) {
+            fields.add(field.length() == 0 && !fieldQuoted ? null : field.toString());
+        }
+        field.setLength(0);
+        fieldLength = 0;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != EOF) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position];
+    }
+
+    private static int[] columnIndexes(List<String> header) {
+        int[] indexes = new int[header.size()];
+        boolean[] present = new boolean[COLUMNS.length];
+        boolean idPresent = false;
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i) == null ? "" : header.get(i).trim();
+            int index = indexOf(name);
+            if (name.equals(IGNORED_COLUMN) && !idPresent) {
+                idPresent = true;
+            } else if (index < 0 || present[index]) {
+                throw new NotValidFieldsException(ErrorMessage.NOT_VALID_CSV_HEADER + name);
+            } else {
+                present[index] = true;
+            }
+            indexes[i] = index;
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!present[indexOf(column)]) {
+                throw new NotValidFieldsException(ErrorMessage.MISSING_CSV_COLUMN + column);
+            }
+        }
+        return indexes;
+    }
+
+    private static int indexOf(String column) {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (COLUMNS[i].equals(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dev.solution.utils.imports;
+
+import com.dev.solution.model.dto.UserRequestDto;
+
+/**
+ * A user read from a CSV import. Row is the number of the record in the file, the header not counted.
+ * Error is set when the record could not be read or the user is not valid, the user may be null then.
+ */
+public record UserCsvRow(long row, UserRequestDto user, Object error) {
+    public UserCsvRow withError(Object error) {
+        return new UserCsvRow(row, user, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
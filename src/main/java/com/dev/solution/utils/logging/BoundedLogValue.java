@@ -0,0 +1,80 @@
+package com.dev.solution.utils.logging;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Log argument that renders the wrapped value only when the message is formatted and cuts it to a maximum length.
+ * Collections, arrays, maps and pages are rendered element by element until the limit is reached,
+ * so a large page costs no more than its first elements. The total size is always shown.
+ */
+public final class BoundedLogValue {
+    private static final String ELLIPSIS = "...";
+
+    private final Object value;
+    private final int maxLength;
+
+    public BoundedLogValue(Object value, int maxLength) {
+        this.value = value;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(Math.min(maxLength, 256) + 32);
+        render(value, builder, builder.length() + maxLength);
+        return builder.toString();
+    }
+
+    private static void render(Object value, StringBuilder builder, int limit) {
+        if (value instanceof Page<?> page) {
+            builder.append("Page ").append(page.getNumber()).append(" of ").append(page.getTotalPages())
+                    .append(", total ").append(page.getTotalElements()).append(' ');
+            renderElements(page.getContent().iterator(), page.getNumberOfElements(), '[', ']', builder, limit);
+        } else if (value instanceof Slice<?> slice) {
+            builder.append("Slice ").append(slice.getNumber()).append(", has next ").append(slice.hasNext()).append(' ');
+            renderElements(slice.getContent().iterator(), slice.getNumberOfElements(), '[', ']', builder, limit);
+        } else if (value instanceof Collection<?> collection) {
+            renderElements(collection.iterator(), collection.size(), '[', ']', builder, limit);
+        } else if (value instanceof Map<?, ?> map) {
+            renderElements(map.entrySet().iterator(), map.size(), '{', '}', builder, limit);
+        } else if (value instanceof Object[] array) {
+            renderElements(Arrays.asList(array).iterator(), array.length, '[', ']', builder, limit);
+        } else {
+            append(String.valueOf(value), builder, limit);
+        }
+    }
+
+    private static void renderElements(Iterator<?> elements, int size, char open, char close, StringBuilder builder, int limit) {
+        builder.append(open);
+        int rendered = 0;
+        while (elements.hasNext()) {
+            if (rendered > 0) {
+                if (builder.length() + 2 >= limit) {
+                    break;
+                }
+                builder.append(", ");
+            }
+            render(elements.next(), builder, limit);
+            rendered++;
+        }
+        if (rendered < size) {
+            builder.append(", ").append(ELLIPSIS).append(' ').append(size - rendered).append(" more");
+        }
+        builder.append(close);
+    }
+
+    private static void append(String text, StringBuilder builder, int limit) {
+        int available = Math.max(limit - builder.length(), 0);
+        if (text.length() <= available) {
+            builder.append(text);
+        } else {
+            builder.append(text, 0, available).append(ELLIPSIS);
+        }
+    }
+}
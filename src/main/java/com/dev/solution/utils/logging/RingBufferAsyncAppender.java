@@ -0,0 +1,201 @@
+package com.dev.solution.utils.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender that hands events to the attached appenders through a lock-free bounded ring buffer.
+ * Logging threads only claim a slot with a compare-and-set and never wait for I/O or wake anything up;
+ * a single worker thread polls the buffer, backing off up to 1 ms while it is empty, and writes the events. Unlike logback's AsyncAppender there is no lock shared by the logging threads.
+ * <p>
+ * When the buffer is full, events below WARN are dropped and counted, WARN and ERROR events are written
+ * by the logging thread itself, so errors are never lost (they may then be out of order with buffered events).
+ * With enabled set to false the appender writes every event directly, which keeps a single configuration
+ * for both modes.
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private boolean enabled = true;
+    private int capacity = 8192;
+
+    private ILoggingEvent[] buffer;
+    // A slot can be written by the producer that claimed position p when its sequence is p,
+    // and read by the worker at position p when its sequence is p + 1.
+    private AtomicLongArray sequences;
+    private int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * The number of buffered events, rounded up to a power of two.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void start() {
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender is attached to " + name);
+            return;
+        }
+        if (enabled) {
+            int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+            buffer = new ILoggingEvent[size];
+            sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+            mask = size - 1;
+            running = true;
+            worker = new Thread(this::drain, "logback-ring-buffer-" + name);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        Thread thread = worker;
+        if (thread != null) {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (dropped.get() > 0) {
+                addWarn(dropped.get() + " events were dropped by " + name + " because the buffer was full");
+            }
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!enabled) {
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        // The message and MDC are captured on the logging thread, the arguments may change later.
+        event.prepareForDeferredProcessing();
+        if (offer(event)) {
+            return;
+        }
+        if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            appenders.appendLoopOnAppenders(event);
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private boolean offer(ILoggingEvent event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = event;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    private ILoggingEvent poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        ILoggingEvent event = buffer[index];
+        buffer[index] = null;
+        sequences.set(index, head + mask + 1);
+        head++;
+        return event;
+    }
+
+    private void drain() {
+        long parkNanos = 1_000;
+        while (true) {
+            ILoggingEvent event = poll();
+            if (event != null) {
+                appenders.appendLoopOnAppenders(event);
+                parkNanos = 1_000;
+            } else if (!running) {
+                return;
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
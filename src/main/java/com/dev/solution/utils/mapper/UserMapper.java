@@ -0,0 +1,74 @@
+package com.dev.solution.utils.mapper;
+
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps users between the entity and the DTOs with plain getters and setters.
+ * Unlike ModelMapper, there is no reflection or type map lookup per call and a renamed field breaks the compilation
+ * instead of being silently skipped.
+ */
+@Component
+public class UserMapper {
+    public User toEntity(UserRequestDto userDto) {
+        User user = new User();
+        updateEntity(userDto, user);
+        return user;
+    }
+
+    /**
+     * Copies all fields of the DTO to the existing user, the id is kept.
+     */
+    public void updateEntity(UserRequestDto userDto, User user) {
+        user.setFirstName(userDto.getFirstName());
+        user.setLastName(userDto.getLastName());
+        user.setEmail(userDto.getEmail());
+        user.setBirthDate(userDto.getBirthDate());
+        user.setAddress(userDto.getAddress());
+        user.setPhoneNumber(userDto.getPhoneNumber());
+    }
+
+    public UserRequestDto toRequestDto(User user) {
+        UserRequestDto userDto = new UserRequestDto();
+        userDto.setFirstName(user.getFirstName());
+        userDto.setLastName(user.getLastName());
+        userDto.setEmail(user.getEmail());
+        userDto.setBirthDate(user.getBirthDate());
+        userDto.setAddress(user.getAddress());
+        userDto.setPhoneNumber(user.getPhoneNumber());
+        return userDto;
+    }
+
+    public UserResponseDto toResponseDto(User user) {
+        return new UserResponseDto(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getBirthDate(), user.getAddress(), user.getPhoneNumber(), user.getVersion());
+    }
+
+    /**
+     * Sets the fields present in the patch on the user, the other fields are left untouched.
+     * Setting a value equal to the current one does not mark the column as changed for Hibernate.
+     */
+    public void applyPatch(UserPatch patch, User user) {
+        if (patch.has(UserPatch.Field.FIRST_NAME)) {
+            user.setFirstName(patch.getFirstName());
+        }
+        if (patch.has(UserPatch.Field.LAST_NAME)) {
+            user.setLastName(patch.getLastName());
+        }
+        if (patch.has(UserPatch.Field.EMAIL)) {
+            user.setEmail(patch.getEmail());
+        }
+        if (patch.has(UserPatch.Field.BIRTH_DATE)) {
+            user.setBirthDate(patch.getBirthDate());
+        }
+        if (patch.has(UserPatch.Field.ADDRESS)) {
+            user.setAddress(patch.getAddress());
+        }
+        if (patch.has(UserPatch.Field.PHONE_NUMBER)) {
+            user.setPhoneNumber(patch.getPhoneNumber());
+        }
+    }
+}
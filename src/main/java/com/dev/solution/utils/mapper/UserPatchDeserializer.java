@@ -0,0 +1,74 @@
+package com.dev.solution.utils.mapper;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserPatch;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads a {@link UserPatch} straight from the parser tokens, without building an intermediate map or tree.
+ * Values are accepted the way the former map based patch accepted them: strings as they are, numbers and booleans
+ * as their text and the birth date from an ISO date string. An unknown field or a value of a wrong type is rejected
+ * with {@link NotValidFieldsException}.
+ */
+public class UserPatchDeserializer extends StdDeserializer<UserPatch> {
+
+    public UserPatchDeserializer() {
+        super(UserPatch.class);
+    }
+
+    @Override
+    public UserPatch deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (UserPatch) context.handleUnexpectedToken(UserPatch.class, parser);
+        }
+        UserPatch patch = new UserPatch();
+        for (String name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+            UserPatch.Field field = UserPatch.Field.fromPropertyName(name);
+            if (field == null) {
+                throw new NotValidFieldsException(ErrorMessage.NOT_CORRECT_FIELD_NAME + name);
+            }
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case FIRST_NAME -> patch.setFirstName(readString(parser, token, name));
+                case LAST_NAME -> patch.setLastName(readString(parser, token, name));
+                case EMAIL -> patch.setEmail(readString(parser, token, name));
+                case BIRTH_DATE -> patch.setBirthDate(readDate(parser, token, name));
+                case ADDRESS -> patch.setAddress(readString(parser, token, name));
+                case PHONE_NUMBER -> patch.setPhoneNumber(readString(parser, token, name));
+            }
+        }
+        return patch;
+    }
+
+    private String readString(JsonParser parser, JsonToken token, String name) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        throw new NotValidFieldsException(name + ": Not valid value.");
+    }
+
+    private LocalDate readDate(JsonParser parser, JsonToken token, String name) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            throw new NotValidFieldsException(name + ": Not valid value.");
+        }
+        try {
+            return LocalDate.parse(parser.getText());
+        } catch (DateTimeParseException e) {
+            throw new NotValidFieldsException(name + ErrorMessage.NOT_VALID_DATE);
+        }
+    }
+}
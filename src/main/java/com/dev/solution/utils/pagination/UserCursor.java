@@ -0,0 +1,40 @@
+package com.dev.solution.utils.pagination;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotValidFieldsException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last user of a page ordered by (birthDate, id).
+ * Clients get it as an opaque base64 token, so the format can be changed without breaking them.
+ */
+public record UserCursor(LocalDate birthDate, Long id) {
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String value = birthDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     * @param token The cursor token, null or empty for the first page.
+     * @return The decoded cursor or null for the first page.
+     * @throws NotValidFieldsException if the token is malformed.
+     */
+    public static UserCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new UserCursor(LocalDate.parse(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new NotValidFieldsException(ErrorMessage.NOT_VALID_CURSOR + token);
+        }
+    }
+}
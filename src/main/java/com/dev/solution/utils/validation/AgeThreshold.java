@@ -0,0 +1,46 @@
+package com.dev.solution.utils.validation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * The latest birth date of a user who is old enough today. The date is computed once per day and cached
+ * until the next midnight, so a validation costs a read of the clock instead of a date calculation.
+ */
+public class AgeThreshold {
+    private final int age;
+    private final Clock clock;
+    private volatile Threshold threshold;
+
+    private record Threshold(LocalDate latestBirthDate, long validUntilMillis) {
+    }
+
+    public AgeThreshold(int age) {
+        this(age, Clock.systemDefaultZone());
+    }
+
+    AgeThreshold(int age, Clock clock) {
+        this.age = age;
+        this.clock = clock;
+    }
+
+    public LocalDate latestBirthDate() {
+        long now = clock.millis();
+        Threshold current = threshold;
+        if (current == null || now >= current.validUntilMillis()) {
+            // Racing threads compute the same value, the last write wins.
+            current = compute(now);
+            threshold = current;
+        }
+        return current.latestBirthDate();
+    }
+
+    private Threshold compute(long now) {
+        ZoneId zone = clock.getZone();
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(now), zone);
+        long nextMidnight = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new Threshold(today.minusYears(age), nextMidnight);
+    }
+}
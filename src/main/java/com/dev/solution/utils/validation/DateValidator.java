@@ -3,15 +3,17 @@ package com.dev.solution.utils.validation;
 import com.dev.solution.utils.annotation.BirthDateValidation;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.time.LocalDate;
 
-@Setter
 public class DateValidator implements ConstraintValidator<BirthDateValidation, LocalDate> {
+    private AgeThreshold ageThreshold;
+
     @Value("${age}")
-    private int age;
+    public void setAge(int age) {
+        this.ageThreshold = new AgeThreshold(age);
+    }
 
     @Override
     public void initialize(BirthDateValidation constraintAnnotation) {
@@ -20,7 +22,6 @@ public class DateValidator implements ConstraintValidator<BirthDateValidation, L
 
     @Override
     public boolean isValid(LocalDate date, ConstraintValidatorContext constraintValidatorContext) {
-        LocalDate eighteenYearsAgo = LocalDate.now().minusYears(age);
-        return date != null && (date.isBefore(eighteenYearsAgo) || date.isEqual(eighteenYearsAgo));
+        return date != null && !date.isAfter(ageThreshold.latestBirthDate());
     }
 }
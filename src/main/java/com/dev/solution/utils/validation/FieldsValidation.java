@@ -1,30 +1,44 @@
 package com.dev.solution.utils.validation;
 
 import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserPatch;
 import com.dev.solution.model.dto.UserRequestDto;
-import jakarta.validation.ConstraintViolation;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 @Component
 public class FieldsValidation {
-    private final LocalValidatorFactoryBean validator;
+    private final UserRequestDtoValidator validator;
     private static final String SEPARATOR = ": ";
 
-    public FieldsValidation(LocalValidatorFactoryBean validator) {
+    public FieldsValidation(UserRequestDtoValidator validator) {
         this.validator = validator;
     }
 
     public void validateFields(UserRequestDto updatedFields) {
-        Set<ConstraintViolation<Object>> violations = validator.validate(updatedFields);
+        throwIfNotValid(validator.findViolations(updatedFields));
+    }
+
+    /**
+     * Validates only the fields present in the patch, against the constraints of the matching
+     * {@link UserRequestDto} properties. Fields that are not patched are not validated again.
+     */
+    public void validatePatch(UserPatch patch) {
+        List<UserRequestDtoValidator.Violation> violations = new ArrayList<>(0);
+        for (Map.Entry<UserPatch.Field, Object> field : patch.getValues().entrySet()) {
+            violations.addAll(validator.findViolations(field.getKey().getPropertyName(), field.getValue()));
+        }
+        throwIfNotValid(violations);
+    }
+
+    private void throwIfNotValid(List<UserRequestDtoValidator.Violation> violations) {
         if (!violations.isEmpty()) {
             List<String> errorMessages = new ArrayList<>();
-            for (ConstraintViolation<Object> violation : violations) {
-                errorMessages.add(violation.getPropertyPath() + SEPARATOR + violation.getMessage());
+            for (UserRequestDtoValidator.Violation violation : violations) {
+                errorMessages.add(violation.property() + SEPARATOR + violation.message());
             }
             throw new NotValidFieldsException(errorMessages);
         }
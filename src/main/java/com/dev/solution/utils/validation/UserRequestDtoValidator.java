@@ -0,0 +1,174 @@
+package com.dev.solution.utils.validation;
+
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.utils.annotation.BirthDateValidation;
+import com.dev.solution.utils.annotation.EmailValidation;
+import com.dev.solution.utils.annotation.NullOrNotBlank;
+import jakarta.validation.Constraint;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.lang.annotation.Annotation;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Validates {@link UserRequestDto} against the constraints declared on its fields without going through
+ * Hibernate Validator. The constraints and their messages are read from the annotations once, when the validator
+ * is created; a validation then only calls the getters and the checks, with no metadata lookup or reflection.
+ * The messages are the same as Hibernate Validator's, violations are reported in the order of the fields.
+ * A constraint without a precompiled check fails the startup instead of being skipped.
+ */
+@Component
+public class UserRequestDtoValidator implements Validator {
+    private final AgeThreshold ageThreshold;
+    private final Map<String, List<Rule>> rulesByProperty = new LinkedHashMap<>();
+
+    /**
+     * A check of one constraint of a property along with the message of its annotation.
+     */
+    private record Rule(String property, Function<UserRequestDto, Object> getter, Predicate<Object> check,
+                        String message, String code) {
+    }
+
+    public record Violation(String property, String message) {
+    }
+
+    public UserRequestDtoValidator(@Value("${age}") int age) {
+        this.ageThreshold = new AgeThreshold(age);
+        addRules("firstName", UserRequestDto::getFirstName);
+        addRules("lastName", UserRequestDto::getLastName);
+        addRules("email", UserRequestDto::getEmail);
+        addRules("birthDate", UserRequestDto::getBirthDate);
+        addRules("address", UserRequestDto::getAddress);
+        addRules("phoneNumber", UserRequestDto::getPhoneNumber);
+    }
+
+    public List<Violation> findViolations(UserRequestDto userDto) {
+        List<Violation> violations = new ArrayList<>(0);
+        for (List<Rule> rules : rulesByProperty.values()) {
+            for (Rule rule : rules) {
+                if (!rule.check().test(rule.getter().apply(userDto))) {
+                    violations.add(new Violation(rule.property(), rule.message()));
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Validates a value against the constraints of a single property, like Validator.validateValue.
+     *
+     * @throws IllegalArgumentException if UserRequestDto has no such property.
+     */
+    public List<Violation> findViolations(String property, Object value) {
+        List<Rule> rules = rulesByProperty.get(property);
+        if (rules == null) {
+            throw new IllegalArgumentException("Unknown property of UserRequestDto: " + property);
+        }
+        List<Violation> violations = new ArrayList<>(0);
+        for (Rule rule : rules) {
+            if (!rule.check().test(value)) {
+                violations.add(new Violation(property, rule.message()));
+            }
+        }
+        return violations;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return UserRequestDto.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Validates a request body bound by Spring MVC or WebFlux, the field errors carry the constraint messages
+     * as their default messages, the same way Hibernate Validator reports them.
+     */
+    @Override
+    public void validate(Object target, Errors errors) {
+        UserRequestDto userDto = (UserRequestDto) target;
+        for (List<Rule> rules : rulesByProperty.values()) {
+            for (Rule rule : rules) {
+                if (!rule.check().test(rule.getter().apply(userDto))) {
+                    errors.rejectValue(rule.property(), rule.code(), rule.message());
+                }
+            }
+        }
+    }
+
+    private void addRules(String property, Function<UserRequestDto, Object> getter) {
+        java.lang.reflect.Field field;
+        try {
+            field = UserRequestDto.class.getDeclaredField(property);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("UserRequestDto has no field " + property, e);
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (Annotation annotation : field.getAnnotations()) {
+            if (!annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+                continue;
+            }
+            String message = message(annotation);
+            if (message.indexOf('{') >= 0 || message.indexOf('$') >= 0) {
+                throw new IllegalStateException("Message of " + property + " needs interpolation: " + message);
+            }
+            rules.add(new Rule(property, getter, check(annotation, property), message, annotation.annotationType().getSimpleName()));
+        }
+        rulesByProperty.put(property, rules);
+    }
+
+    private Predicate<Object> check(Annotation annotation, String property) {
+        if (annotation instanceof NotNull) {
+            return Objects::nonNull;
+        }
+        // Same as Hibernate Validator's NotBlankValidator and NullOrNotBlankValidation.
+        if (annotation instanceof NotBlank) {
+            return value -> value != null && ((String) value).trim().length() > 0;
+        }
+        if (annotation instanceof NullOrNotBlank) {
+            return value -> value == null || ((String) value).trim().length() > 0;
+        }
+        if (annotation instanceof EmailValidation) {
+            return value -> EmailValidator.isValidEmail((String) value);
+        }
+        if (annotation instanceof BirthDateValidation) {
+            return value -> value != null && !((LocalDate) value).isAfter(ageThreshold.latestBirthDate());
+        }
+        // Same as Hibernate Validator's SizeValidatorForCharSequence.
+        if (annotation instanceof Size size) {
+            return value -> value == null
+                    || ((String) value).length() >= size.min() && ((String) value).length() <= size.max();
+        }
+        throw new IllegalStateException("No precompiled check for @" + annotation.annotationType().getSimpleName()
+                + " on UserRequestDto." + property);
+    }
+
+    private String message(Annotation annotation) {
+        if (annotation instanceof NotNull notNull) {
+            return notNull.message();
+        }
+        if (annotation instanceof NotBlank notBlank) {
+            return notBlank.message();
+        }
+        if (annotation instanceof NullOrNotBlank nullOrNotBlank) {
+            return nullOrNotBlank.message();
+        }
+        if (annotation instanceof EmailValidation emailValidation) {
+            return emailValidation.message();
+        }
+        if (annotation instanceof BirthDateValidation birthDateValidation) {
+            return birthDateValidation.message();
+        }
+        if (annotation instanceof Size size) {
+            return size.message();
+        }
+        return "";
+    }
+}
@@ -0,0 +1,23 @@
+-- Ids are taken from users_seq by Hibernate (pooled optimizer, allocationSize 50) and by the reactive profile.
+create sequence users_seq start with 1 increment by 50;
+
+create table users
+(
+    id           bigint       not null,
+    first_name   varchar(255) not null,
+    last_name    varchar(255) not null,
+    email        varchar(255) not null,
+    birth_date   date         not null,
+    address      varchar(255),
+    phone_number varchar(255),
+    constraint pk_users primary key (id),
+    -- The unique constraints also serve findByEmail, findByPhoneNumber and the bulk uniqueness check.
+    constraint uk_users_email unique (email),
+    constraint uk_users_phone_number unique (phone_number)
+);
+
+-- Serves every query by birth date range: pages and their counts, slices, keyset pagination and the export.
+-- The key gives the (birth_date, id) order without a sort, the included columns make reading
+-- the listed users an index-only scan once the pages are marked all-visible by vacuum.
+create index idx_users_birth_date_id on users (birth_date, id)
+    include (first_name, last_name, email, address, phone_number);
@@ -0,0 +1,16 @@
+-- Runs outside a transaction (see V2__add_users_version.sql.conf), so the birth date index can be rebuilt
+-- concurrently while users are written.
+
+-- Version of a user for optimistic locking, incremented by every update and exposed as the ETag of the user.
+-- A constant default does not rewrite the table, existing users start at version 0 like new ones.
+alter table users add column version bigint not null default 0;
+
+-- The version is read with every user, it is included in the birth date index so that reading the listed users
+-- stays an index-only scan. Updates already change included columns, so they were not HOT before either.
+-- The new index is built next to the old one, which keeps serving the reads until it is dropped. Neither step
+-- blocks writes. A failed build leaves an invalid index behind, it is dropped first when the migration is repeated.
+drop index concurrently if exists idx_users_birth_date_id_version;
+create index concurrently idx_users_birth_date_id_version on users (birth_date, id)
+    include (first_name, last_name, email, address, phone_number, version);
+drop index concurrently idx_users_birth_date_id;
+alter index idx_users_birth_date_id_version rename to idx_users_birth_date_id;
@@ -0,0 +1,58 @@
+package com.dev.solution.aspect;
+
+import com.dev.solution.exception.NotFoundException;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.service.ReactiveUserService;
+import com.dev.solution.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsAspectTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserService target = mock(UserService.class);
+    private final UserService userService = proxy(target);
+
+    @Test
+    void Record_CountsCallsAndErrorsPerMethod() {
+        when(target.findById(1L)).thenReturn(new UserResponseDto());
+        when(target.findById(2L)).thenThrow(new NotFoundException());
+
+        userService.findById(1L);
+        assertThatThrownBy(() -> userService.findById(2L)).isInstanceOf(NotFoundException.class);
+
+        assertEquals(2, meterRegistry.get(MetricsAspect.SERVICE_TIMER).tag("method", "findById").timer().count());
+        assertEquals(1, meterRegistry.get(MetricsAspect.SERVICE_ERRORS)
+                .tag("method", "findById").tag("exception", "NotFoundException").counter().count());
+    }
+
+    @Test
+    void Record_MeasuresMonoUntilItTerminates() {
+        ReactiveUserService reactiveTarget = mock(ReactiveUserService.class);
+        ReactiveUserService reactiveUserService = proxy(reactiveTarget);
+        when(reactiveTarget.findById(1L)).thenReturn(Mono.error(new NotFoundException()));
+
+        Mono<UserResponseDto> user = reactiveUserService.findById(1L);
+        assertTrue(meterRegistry.find(MetricsAspect.SERVICE_TIMER).tag("method", "findById").timers().isEmpty());
+
+        StepVerifier.create(user).verifyError(NotFoundException.class);
+        assertEquals(1, meterRegistry.get(MetricsAspect.SERVICE_TIMER).tag("method", "findById").timer().count());
+        assertEquals(1, meterRegistry.get(MetricsAspect.SERVICE_ERRORS)
+                .tag("method", "findById").tag("exception", "NotFoundException").counter().count());
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new MetricsAspect(meterRegistry));
+        return proxyFactory.getProxy();
+    }
+}
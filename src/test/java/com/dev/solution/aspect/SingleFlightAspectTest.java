@@ -0,0 +1,147 @@
+package com.dev.solution.aspect;
+
+import com.dev.solution.datasource.ReplicaRouting;
+import com.dev.solution.exception.NotFoundException;
+import com.dev.solution.utils.annotation.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightAspectTest {
+    private static final String KEY = "key";
+    private static final String OTHER_KEY = "other";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Reads target = new Reads();
+    private final Reads reads = proxy(target);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void Coalesce_SharesRunningCall_WithIdenticalCalls() throws Exception {
+        Future<Result> first = executor.submit(() -> reads.find(KEY));
+        target.started.await(5, TimeUnit.SECONDS);
+        Future<Result> second = executor.submit(() -> reads.find(KEY));
+        awaitCoalesced(1);
+
+        target.release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, target.executions.get());
+    }
+
+    @Test
+    void Coalesce_RunsCallsWithOtherArguments() throws Exception {
+        Future<Result> first = executor.submit(() -> reads.find(KEY));
+        target.started.await(5, TimeUnit.SECONDS);
+
+        Result other = reads.find(OTHER_KEY);
+        target.release.countDown();
+
+        assertNotSame(first.get(5, TimeUnit.SECONDS), other);
+        assertEquals(2, target.executions.get());
+    }
+
+    @Test
+    void Coalesce_KeepsNothing_AfterCallCompletes() {
+        target.release.countDown();
+
+        assertNotSame(reads.find(KEY), reads.find(KEY));
+        assertEquals(2, target.executions.get());
+    }
+
+    @Test
+    void Coalesce_SharesException_WithIdenticalCalls() throws Exception {
+        target.failure = new NotFoundException();
+        Future<Result> first = executor.submit(() -> reads.find(KEY));
+        target.started.await(5, TimeUnit.SECONDS);
+        Future<Result> second = executor.submit(() -> reads.find(KEY));
+        awaitCoalesced(1);
+
+        target.release.countDown();
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertSame(target.failure, firstFailure.getCause());
+        assertSame(target.failure, secondFailure.getCause());
+        assertEquals(1, target.executions.get());
+    }
+
+    @Test
+    void Coalesce_RunsCallPinnedToPrimary() throws Exception {
+        Future<Result> first = executor.submit(() -> reads.find(KEY));
+        target.started.await(5, TimeUnit.SECONDS);
+        Future<Result> pinned = executor.submit(() -> ReplicaRouting.onPrimary(() -> reads.find(KEY)));
+
+        // The pinned call runs too and blocks like the first one.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (target.executions.get() < 2) {
+            assertTrue(System.nanoTime() < deadline, "Pinned call did not run");
+            Thread.sleep(1);
+        }
+        target.release.countDown();
+
+        assertNotSame(first.get(5, TimeUnit.SECONDS), pinned.get(5, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.find(SingleFlightAspect.COALESCED_CALLS).counters().size());
+    }
+
+    private void awaitCoalesced(int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find(SingleFlightAspect.COALESCED_CALLS).tag("method", "find").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum() < calls) {
+            assertTrue(System.nanoTime() < deadline, "Calls were not coalesced");
+            Thread.sleep(1);
+        }
+    }
+
+    private Reads proxy(Reads target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new SingleFlightAspect(meterRegistry));
+        return proxyFactory.getProxy();
+    }
+
+    public static class Reads {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger executions = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        // Calls with KEY block until released.
+        @SingleFlight
+        public Result find(String key) {
+            executions.incrementAndGet();
+            if (KEY.equals(key)) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return new Result(key);
+        }
+    }
+
+    public record Result(String key) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.dev.solution.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapSlabsTest {
+    private final OffHeapSlabs slabs = new OffHeapSlabs(OffHeapSlabs.PAGE_SIZE);
+
+    private final byte[] VALUE = "first value".getBytes(StandardCharsets.UTF_8);
+    private final byte[] OTHER_VALUE = "other value".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void Read_ReturnsWrittenValue() {
+        OffHeapSlabs.Slot slot = slabs.write(VALUE);
+
+        assertArrayEquals(VALUE, slabs.read(slot));
+        assertEquals(VALUE.length, slot.length());
+    }
+
+    @Test
+    void Write_ReusesFreedChunk_AndReadOfOldSlotMisses() {
+        OffHeapSlabs.Slot slot = slabs.write(VALUE);
+        slabs.free(slot);
+
+        OffHeapSlabs.Slot reused = slabs.write(OTHER_VALUE);
+
+        assertEquals(slot.page(), reused.page());
+        assertEquals(slot.offset(), reused.offset());
+        assertNull(slabs.read(slot));
+        assertArrayEquals(OTHER_VALUE, slabs.read(reused));
+    }
+
+    @Test
+    void Write_ReturnsNull_IfSizeClassIsFull() {
+        int chunkSize = slabs.chunkSize(VALUE.length);
+        for (int i = 0; i < OffHeapSlabs.PAGE_SIZE / chunkSize; i++) {
+            assertNotNull(slabs.write(VALUE));
+        }
+
+        assertNull(slabs.write(VALUE));
+        // The only page belongs to the size of VALUE.
+        assertNull(slabs.write(new byte[chunkSize * 2]));
+    }
+
+    @Test
+    void Write_Concurrent_UsesEveryChunkOfEveryPageOnce() throws Exception {
+        OffHeapSlabs slabs = new OffHeapSlabs(4L * OffHeapSlabs.PAGE_SIZE);
+        int chunkSize = slabs.chunkSize(VALUE.length);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<OffHeapSlabs.Slot>>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                List<OffHeapSlabs.Slot> slots = new ArrayList<>();
+                for (OffHeapSlabs.Slot slot = slabs.write(VALUE); slot != null; slot = slabs.write(VALUE)) {
+                    slots.add(slot);
+                }
+                return slots;
+            }));
+        }
+        Set<Long> addresses = new HashSet<>();
+        for (Future<List<OffHeapSlabs.Slot>> future : futures) {
+            for (OffHeapSlabs.Slot slot : future.get()) {
+                assertTrue(addresses.add(((long) slot.page() << 32) | slot.offset()));
+                assertArrayEquals(VALUE, slabs.read(slot));
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(4 * (OffHeapSlabs.PAGE_SIZE / chunkSize), addresses.size());
+    }
+
+    @Test
+    void ChunkSize_FitsValueAndHeader_WithinPage() {
+        assertTrue(slabs.chunkSize(VALUE.length) >= VALUE.length + Long.BYTES);
+        assertTrue(slabs.chunkSize(VALUE.length) <= (VALUE.length + Long.BYTES) * 5 / 4 + 64);
+        assertEquals(0, slabs.chunkSize(OffHeapSlabs.PAGE_SIZE));
+        assertNull(slabs.write(new byte[OffHeapSlabs.PAGE_SIZE]));
+    }
+}
@@ -0,0 +1,85 @@
+package com.dev.solution.cache;
+
+import com.dev.solution.model.dto.UserResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapTieredCacheTest {
+    private final Cache<Object, Object> heapCache = Caffeine.newBuilder().build();
+    private final OffHeapSlabs slabs = new OffHeapSlabs(OffHeapSlabs.PAGE_SIZE);
+    private final Cache<Object, OffHeapSlabs.Slot> offHeapCache = OffHeapTieredCache.offHeapCacheBuilder(slabs).build();
+    private final OffHeapTieredCache cache = new OffHeapTieredCache("users", heapCache, offHeapCache, slabs, new UserResponseDtoCodec());
+
+    private final Long USER_ID = 1L;
+    private final UserResponseDto USER = new UserResponseDto(USER_ID, "First", "Last", "email@gmail.com",
+            LocalDate.of(1995, 1, 1), null, "+380", 3L);
+
+    @Test
+    void Get_ReturnsUserFromOffHeapTier_AndPromotesItToHeapTier() {
+        cache.put(USER_ID, USER);
+        heapCache.invalidate(USER_ID);
+
+        assertEquals(USER, cache.get(USER_ID).get());
+        assertEquals(USER, heapCache.getIfPresent(USER_ID));
+        assertNotNull(offHeapCache.getIfPresent(USER_ID));
+    }
+
+    @Test
+    void Put_FreesChunkOfReplacedUser() {
+        cache.put(USER_ID, USER);
+        OffHeapSlabs.Slot replaced = offHeapCache.getIfPresent(USER_ID);
+
+        cache.put(USER_ID, USER);
+        OffHeapSlabs.Slot reused = slabs.write(new UserResponseDtoCodec().encode(USER));
+
+        assertEquals(replaced.offset(), reused.offset());
+        assertNull(slabs.read(replaced));
+    }
+
+    @Test
+    void Put_EvictsColdestUserOfSameSize_IfSizeClassIsFull() {
+        int chunkSize = slabs.chunkSize(new UserResponseDtoCodec().encode(USER).length);
+        int capacity = OffHeapSlabs.PAGE_SIZE / chunkSize;
+        for (long id = 0; id <= capacity; id++) {
+            cache.put(id, USER);
+        }
+
+        offHeapCache.cleanUp();
+        assertEquals(capacity, offHeapCache.estimatedSize());
+        assertNotNull(offHeapCache.getIfPresent((long) capacity));
+    }
+
+    @Test
+    void Get_LoadsValueOnce_IfMissing() {
+        assertEquals(USER, cache.get(USER_ID, () -> USER));
+        assertEquals(USER, cache.get(USER_ID, () -> fail("Value must be cached")));
+        assertNotNull(offHeapCache.getIfPresent(USER_ID));
+    }
+
+    @Test
+    void Get_DoesNotCacheLoadedValue_IfEvictedDuringLoad() {
+        cache.get(USER_ID, () -> {
+            cache.evict(USER_ID);
+            return USER;
+        });
+
+        assertNull(cache.get(USER_ID));
+        assertNull(offHeapCache.getIfPresent(USER_ID));
+    }
+
+    @Test
+    void Evict_RemovesUserFromBothTiers() {
+        cache.put(USER_ID, USER);
+
+        cache.evict(USER_ID);
+
+        assertNull(cache.get(USER_ID));
+        assertNull(heapCache.getIfPresent(USER_ID));
+        assertNull(offHeapCache.getIfPresent(USER_ID));
+    }
+}
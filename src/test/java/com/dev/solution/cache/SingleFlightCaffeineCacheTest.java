@@ -0,0 +1,110 @@
+package com.dev.solution.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightCaffeineCacheTest {
+    private final SingleFlightCaffeineCache cache =
+            new SingleFlightCaffeineCache("users", Caffeine.newBuilder().build(), true);
+
+    private final Long USER_ID = 1L;
+    private final String USER = "user";
+    private final int CALLERS = 8;
+
+    @Test
+    void Get_LoadsValueOnce_IfCalledConcurrently() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> cache.get(USER_ID, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    release.await();
+                    return USER;
+                })));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals(USER, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(USER, cache.get(USER_ID).get());
+    }
+
+    @Test
+    void Get_DoesNotCacheLoadedValue_IfEvictedDuringLoad() {
+        String loaded = cache.get(USER_ID, () -> {
+            // The user changes and is evicted after the loader has read it.
+            cache.evict(USER_ID);
+            return USER;
+        });
+
+        assertEquals(USER, loaded);
+        assertNull(cache.get(USER_ID));
+    }
+
+    @Test
+    void Get_DoesNotCacheLoadedValue_IfClearedDuringLoad() {
+        cache.get(USER_ID, () -> {
+            cache.clear();
+            return USER;
+        });
+
+        assertNull(cache.get(USER_ID));
+    }
+
+    @Test
+    void Get_LoadsAgain_IfCalledAfterEvictionDuringLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get(USER_ID, () -> {
+                loading.countDown();
+                release.await();
+                return "old " + USER;
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.evict(USER_ID);
+
+            assertEquals(USER, cache.get(USER_ID, () -> USER));
+            release.countDown();
+            assertEquals("old " + USER, stale.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(USER, cache.get(USER_ID).get());
+    }
+
+    @Test
+    void Get_ThrowsValueRetrievalException_AndCachesNothing_IfLoaderFails() {
+        assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get(USER_ID, () -> {
+                    throw new IllegalStateException();
+                }));
+
+        assertNull(cache.get(USER_ID));
+        assertEquals(USER, cache.get(USER_ID, () -> USER));
+    }
+}
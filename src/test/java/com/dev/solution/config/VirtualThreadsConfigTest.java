@@ -0,0 +1,70 @@
+package com.dev.solution.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VirtualThreadsConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void Constructor_Throws_IfJavaIsOlderThan21() {
+        assertThatThrownBy(() -> new VirtualThreadsConfig(17))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+
+    @Test
+    void Constructor_DoesNotThrow_IfJavaIs21() {
+        assertThatCode(() -> new VirtualThreadsConfig(21)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void Startup_Fails_IfVirtualThreadsEnabledBeforeJava21() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void Startup_Succeeds_IfVirtualThreadsEnabledOnJava21() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    void Startup_Succeeds_IfVirtualThreadsDisabled() {
+        contextRunner.run(context -> assertThat(context).hasNotFailed().doesNotHaveBean(VirtualThreadsConfig.class));
+    }
+
+    @Test
+    void VirtualThreadsProfile_BindsConnectionPoolSettings() throws IOException {
+        List<PropertySource<?>> profile = new YamlPropertySourceLoader()
+                .load("virtual-threads", new ClassPathResource("application-virtual-threads.yaml"));
+        Binder binder = new Binder(ConfigurationPropertySources.from(profile));
+
+        try (HikariDataSource dataSource = binder.bind("spring.datasource.hikari",
+                Bindable.ofInstance(new HikariDataSource())).get()) {
+            assertEquals(20, dataSource.getMaximumPoolSize());
+            assertEquals(3000, dataSource.getConnectionTimeout());
+        }
+    }
+}
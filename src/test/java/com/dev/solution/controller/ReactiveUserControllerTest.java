@@ -0,0 +1,75 @@
+package com.dev.solution.controller;
+
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.service.ReactiveUserService;
+import com.dev.solution.service.UserService;
+import com.dev.solution.utils.validation.UserRequestDtoValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Runs the cases of {@link UserControllerContractTest} against the reactive variant.
+ */
+@WebFluxTest(controllers = ReactiveUserController.class)
+@ActiveProfiles("reactive")
+@Import({SimpleMeterRegistry.class, UserRequestDtoValidator.class, ReactiveUserControllerTest.BlockingUserServiceAdapter.class})
+public class ReactiveUserControllerTest extends UserControllerContractTest {
+
+    /**
+     * Serves the reactive controller from the {@link UserService} mock that the shared cases stub,
+     * a thrown exception becomes an error signal.
+     */
+    @TestConfiguration
+    static class BlockingUserServiceAdapter {
+        @Bean
+        ReactiveUserService reactiveUserService(UserService userService) {
+            return new ReactiveUserService() {
+                @Override
+                public Mono<UserResponseDto> findById(Long id) {
+                    return Mono.fromCallable(() -> userService.findById(id));
+                }
+
+                @Override
+                public Mono<Long> findVersionById(Long id) {
+                    return Mono.fromCallable(() -> userService.findVersionById(id));
+                }
+
+                @Override
+                public Mono<UserResponseDto> save(UserRequestDto user) {
+                    return Mono.fromCallable(() -> userService.save(user));
+                }
+
+                @Override
+                public Mono<Void> deleteById(Long id) {
+                    return Mono.fromRunnable(() -> userService.deleteById(id));
+                }
+
+                @Override
+                public Mono<Page<UserResponseDto>> findByDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+                    return Mono.fromCallable(() -> userService.findByDateBetween(startDate, endDate, pageable));
+                }
+
+                @Override
+                public Mono<UserResponseDto> updateFullUser(Long id, UserRequestDto userDto, String ifMatch) {
+                    return Mono.fromCallable(() -> userService.updateFullUser(id, userDto, ifMatch));
+                }
+
+                @Override
+                public Mono<UserResponseDto> updatePartUser(Long id, UserPatch patch, String ifMatch) {
+                    return Mono.fromCallable(() -> userService.updatePartUser(id, patch, ifMatch));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,676 @@
+package com.dev.solution.controller;
+
+import com.dev.solution.exception.AlreadyExistsException;
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotFoundException;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.exception.PreconditionFailedException;
+import com.dev.solution.exception.handler.CustomExceptionHandler;
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.DataResponse;
+import com.dev.solution.model.dto.DataResponsePage;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cases of the endpoints that both {@link UserController} and {@link ReactiveUserController} serve,
+ * run against each of them so that both keep the same DTOs, validation and error contract.
+ * Both variants are stubbed through the blocking {@link UserService} mock.
+ */
+public abstract class UserControllerContractTest {
+    protected final MediaType JSON = MediaType.APPLICATION_JSON;
+    protected final UserResponseDto USER_RESPONSE_DTO = new UserResponseDto();
+    protected final UserRequestDto USER_REQUEST_DTO = new UserRequestDto();
+    protected final DataResponse<UserResponseDto> RESPONSE_DTO = new DataResponse<>();
+    protected final DataResponsePage<UserResponseDto> RESPONSE_PAGE_DTO = new DataResponsePage<>();
+    protected final Long USER_ID = 1L;
+    protected final long VERSION = 3L;
+    protected final String E_TAG = "\"3\"";
+    protected final String USER_URL = "/users";
+    protected final List<UserResponseDto> USER_DTO_LIST = new ArrayList<>();
+    protected final LocalDate FROM_DATE = LocalDate.of(2024, 1, 1);
+    protected final LocalDate TO_DATE = LocalDate.of(2024, 12, 31);
+    protected final PageRequest PAGE_REQUEST = PageRequest.of(0, 10);
+    protected final int TIME_OF_INVOCATION = 1;
+    protected final String SLASH = "/";
+
+    @Autowired
+    protected WebTestClient webTestClient;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    @MockBean
+    protected UserService userService;
+
+    // --- findById --
+    @Test
+    void FindById_ShouldReturnUser() throws Exception {
+        setUpUserResponseDto();
+        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
+
+        String actualResponseBody = body(webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .exchange()
+                .expectStatus().isOk());
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(
+                objectMapper.writeValueAsString(RESPONSE_DTO));
+
+        verify(userService, times(TIME_OF_INVOCATION)).findById(USER_ID);
+    }
+
+    @Test
+    void FindById_ThrowsNotFound_IfUserNotFound() {
+        when(userService.findById(USER_ID)).thenThrow(new NotFoundException());
+
+        double errors = meterRegistry.counter(CustomExceptionHandler.HTTP_ERRORS,
+                "exception", NotFoundException.class.getSimpleName(), "status", "404").count();
+
+        webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.url").isEqualTo(USER_URL + SLASH + USER_ID);
+        verify(userService, times(TIME_OF_INVOCATION)).findById(USER_ID);
+        assertEquals(errors + 1, meterRegistry.counter(CustomExceptionHandler.HTTP_ERRORS,
+                "exception", NotFoundException.class.getSimpleName(), "status", "404").count());
+    }
+
+    @Test
+    void FindById_ReturnsServiceUnavailable_IfNoConnectionAvailable() {
+        when(userService.findById(USER_ID)).thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(ErrorMessage.SERVICE_OVERLOADED);
+        verify(userService, times(TIME_OF_INVOCATION)).findById(USER_ID);
+    }
+
+    @Test
+    void FindById_ReturnsETag_OfUserVersion() {
+        setUpUserResponseDto();
+
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
+
+        webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, E_TAG);
+    }
+
+    @Test
+    void FindById_ReturnsNotModified_WithoutLoadingUser_IfNoneMatchIsCurrent() {
+        when(userService.findVersionById(USER_ID)).thenReturn(VERSION);
+
+        webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + E_TAG)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, E_TAG)
+                .expectBody().isEmpty();
+
+        verify(userService, never()).findById(USER_ID);
+    }
+
+    @Test
+    void FindById_ReturnsUser_IfNoneMatchIsStale() throws Exception {
+        setUpUserResponseDto();
+        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+
+        when(userService.findVersionById(USER_ID)).thenReturn(VERSION);
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
+
+        String actualResponseBody = body(webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, E_TAG));
+
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(
+                objectMapper.writeValueAsString(RESPONSE_DTO));
+    }
+
+    @Test
+    void FindById_ThrowsNotFound_IfNoneMatchAndUserNotFound() {
+        when(userService.findVersionById(USER_ID)).thenThrow(new NotFoundException());
+
+        webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, E_TAG)
+                .exchange()
+                .expectStatus().isNotFound();
+        verify(userService, never()).findById(USER_ID);
+    }
+
+    @Test
+    void FindById_ReturnsJson_IfAnyTypeAccepted() {
+        setUpUserResponseDto();
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
+
+        webTestClient.get().uri(USER_URL + SLASH + USER_ID)
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    // --- deleteById --
+    @Test
+    void DeleteById_ShouldReturnNoContent() {
+
+        doNothing().when(userService).deleteById(USER_ID);
+
+        webTestClient.delete().uri(USER_URL + SLASH + USER_ID)
+                .exchange()
+                .expectStatus().isNoContent();
+        verify(userService, times(TIME_OF_INVOCATION)).deleteById(USER_ID);
+    }
+
+    @Test
+    void DeleteById_ThrowsNotFound_IfUserNotFound() {
+        doThrow(new NotFoundException()).when(userService).deleteById(USER_ID);
+
+        webTestClient.delete().uri(USER_URL + SLASH + USER_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+        verify(userService, times(TIME_OF_INVOCATION)).deleteById(USER_ID);
+    }
+
+    // --- findByDateBetween --
+    @Test
+    void FindByDateBetween_ShouldReturnResponsePageDto() throws Exception {
+        setUpUserResponseDto();
+        USER_DTO_LIST.add(USER_RESPONSE_DTO);
+        RESPONSE_PAGE_DTO.setData(USER_DTO_LIST);
+        RESPONSE_PAGE_DTO.setTotalPages(1);
+        RESPONSE_PAGE_DTO.setTotalElements(1);
+
+        Page<UserResponseDto> usersPage = new PageImpl<>(USER_DTO_LIST);
+
+        when(userService.findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(usersPage);
+
+        String actualResponseBody = body(webTestClient.get().uri(uriBuilder -> uriBuilder.path(USER_URL)
+                        .queryParam("from", FROM_DATE)
+                        .queryParam("to", TO_DATE)
+                        .build())
+                .exchange()
+                .expectStatus().isOk());
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_PAGE_DTO));
+
+        verify(userService, times(TIME_OF_INVOCATION)).findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+    }
+
+    @Test
+    void FindByDateBetween_ThrowsNotValidFields_IfStartDateAfterEndDate() {
+        when(userService.findByDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST))
+                .thenThrow(new NotValidFieldsException());
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(USER_URL)
+                        .queryParam("from", TO_DATE)
+                        .queryParam("to", FROM_DATE)
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, times(TIME_OF_INVOCATION)).findByDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST);
+    }
+
+    @Test
+    void FindByDateBetween_ThrowsBadRequest_IfFromOrToIsNull() {
+
+        LocalDate nullFromDate = null;
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(USER_URL)
+                        .queryParam("from", String.valueOf(nullFromDate))
+                        .queryParam("to", FROM_DATE)
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        LocalDate nullToDate = null;
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(USER_URL)
+                        .queryParam("from", FROM_DATE)
+                        .queryParam("to", String.valueOf(nullToDate))
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(USER_URL)
+                        .queryParam("from", FROM_DATE)
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(userService, never()).findByDateBetween(any(), any(), any());
+    }
+
+    // --- save --
+    @Test
+    void Save_SuccessfullySavesUser() throws Exception {
+        setUpUserRequestDto();
+        setUpUserResponseDto();
+        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+
+        when(userService.save(USER_REQUEST_DTO)).thenReturn(USER_RESPONSE_DTO);
+
+        String actualResponseBody = body(webTestClient.post().uri(USER_URL)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isOk());
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+
+        verify(userService, times(TIME_OF_INVOCATION)).save(USER_REQUEST_DTO);
+    }
+
+    @Test
+    void Save_SuccessfullySavesUser_WithAllowableNullFields() throws Exception {
+        setUpUserRequestDto();
+        setUpUserResponseDto();
+        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+        USER_REQUEST_DTO.setAddress(null);
+        USER_REQUEST_DTO.setPhoneNumber(null);
+
+        when(userService.save(USER_REQUEST_DTO)).thenReturn(USER_RESPONSE_DTO);
+
+        String actualResponseBody = body(webTestClient.post().uri(USER_URL)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isOk());
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+
+        verify(userService, times(TIME_OF_INVOCATION)).save(USER_REQUEST_DTO);
+    }
+
+    @Test
+    void Save_throwsMethodArgumentNotValidException_InvalidFields() throws Exception {
+        USER_REQUEST_DTO.setAddress("");
+        USER_REQUEST_DTO.setPhoneNumber("");
+
+        String actualResponseBody = body(webTestClient.post().uri(USER_URL)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isBadRequest());
+
+        List<String> expectedErrorMessages = getInvalidFieldsErrorMessageExpected();
+        List<String> actualErrorMessages = getInvalidFieldsErrorMessageActual(actualResponseBody);
+
+        assertEquals(actualErrorMessages.size(), expectedErrorMessages.size());
+        assertTrue(actualErrorMessages.containsAll(expectedErrorMessages));
+        verify(userService, never()).save(USER_REQUEST_DTO);
+    }
+
+    @Test
+    void Save_ThrowsAlreadyExists_DuplicateFields() throws Exception {
+        setUpUserRequestDto();
+
+        when(userService.save(USER_REQUEST_DTO)).thenThrow(new AlreadyExistsException());
+
+        webTestClient.post().uri(USER_URL)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        verify(userService, times(TIME_OF_INVOCATION)).save(USER_REQUEST_DTO);
+    }
+
+    @Test
+    void SaveUser_ThrowsBadRequest_NullDto() throws Exception {
+
+        webTestClient.post().uri(USER_URL)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).save(any());
+    }
+
+    // --- updateFullUser --
+    @Test
+    void UpdateFullUser_SuccessfullyUpdateUser() throws Exception {
+        setUpUserRequestDto();
+        setUpUserResponseDto();
+        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+
+        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO, null)).thenReturn(USER_RESPONSE_DTO);
+
+        String actualResponseBody = body(webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isOk());
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+
+        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO, null);
+    }
+
+    @Test
+    void UpdateFullUser_SuccessfullyUpdateUser_WithNullAllowableFields() throws Exception {
+        setUpUserRequestDto();
+        setUpUserResponseDto();
+        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+        USER_REQUEST_DTO.setAddress(null);
+        USER_REQUEST_DTO.setPhoneNumber(null);
+
+        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO, null)).thenReturn(USER_RESPONSE_DTO);
+
+        String actualResponseBody = body(webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isOk());
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+
+        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO, null);
+    }
+
+    @Test
+    void UpdateFullUser_ThrowsMethodArgumentNotValidException_InvalidFields() throws Exception {
+        USER_REQUEST_DTO.setAddress("");
+        USER_REQUEST_DTO.setPhoneNumber("");
+
+        String actualResponseBody = body(webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isBadRequest());
+
+        List<String> expectedErrorMessages = getInvalidFieldsErrorMessageExpected();
+        List<String> actualErrorMessages = getInvalidFieldsErrorMessageActual(actualResponseBody);
+
+        assertEquals(actualErrorMessages.size(), expectedErrorMessages.size());
+        assertTrue(actualErrorMessages.containsAll(expectedErrorMessages));
+        verify(userService, never()).updateFullUser(any(), any(), any());
+    }
+
+    @Test
+    void UpdateFullUser_ThrowsAlreadyExists_DuplicateFields() throws Exception {
+        setUpUserRequestDto();
+
+        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO, null)).thenThrow(new AlreadyExistsException());
+
+        webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO, null);
+    }
+
+    @Test
+    void UpdateFullUser_ThrowsNotFound_UserByIdNotFound() throws Exception {
+        setUpUserRequestDto();
+
+        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO, null)).thenThrow(new NotFoundException());
+
+        webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO, null);
+    }
+
+    @Test
+    void UpdateFullUser_ThrowsBadRequest_NullDto() throws Exception {
+
+        webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).updateFullUser(any(), any(), any());
+    }
+
+    @Test
+    void UpdateFullUser_PassesIfMatch_AndReturnsNewETag() throws Exception {
+        setUpUserRequestDto();
+        setUpUserResponseDto();
+
+        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO, "\"2\"")).thenReturn(USER_RESPONSE_DTO);
+
+        webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, E_TAG);
+    }
+
+    @Test
+    void UpdateFullUser_ReturnsPreconditionFailed_IfMatchIsStale() throws Exception {
+        setUpUserRequestDto();
+
+        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO, "\"2\""))
+                .thenThrow(new PreconditionFailedException(ErrorMessage.USER_VERSION_NOT_MATCHED + USER_ID));
+
+        webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void UpdateFullUser_ReturnsConflict_IfChangedConcurrentlyWithoutIfMatch() throws Exception {
+        setUpUserRequestDto();
+
+        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO, null))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, USER_ID));
+
+        webTestClient.put().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(USER_REQUEST_DTO))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(ErrorMessage.USER_CHANGED_CONCURRENTLY);
+    }
+
+    // --- updatePartUser --
+    @Test
+    void UpdatePartUser_SuccessfullyUpdateUser() throws Exception {
+        setUpUserResponseDto();
+        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+
+        when(userService.updatePartUser(USER_ID, new UserPatch(), null)).thenReturn(USER_RESPONSE_DTO);
+
+        String actualResponseBody = body(webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(new HashMap<>()))
+                .exchange()
+                .expectStatus().isOk());
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+
+        verify(userService, times(1)).updatePartUser(USER_ID, new UserPatch(), null);
+    }
+
+    @Test
+    void UpdatePartUser_ThrowsMethodArgumentNotValidException_InvalidFields() throws Exception {
+        when(userService.updatePartUser(USER_ID, new UserPatch(), null)).thenThrow(new NotValidFieldsException());
+
+        webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(new HashMap<>()))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, times(1)).updatePartUser(USER_ID, new UserPatch(), null);
+    }
+
+    @Test
+    void UpdatePartUser_ThrowsAlreadyExists_DuplicateFields() throws Exception {
+
+        when(userService.updatePartUser(USER_ID, new UserPatch(), null)).thenThrow(new AlreadyExistsException());
+
+        webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(new HashMap<>()))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        verify(userService, times(1)).updatePartUser(USER_ID, new UserPatch(), null);
+    }
+
+    @Test
+    void UpdatePartUser_ThrowsNotFound_UserByIdNotFound() throws Exception {
+
+        when(userService.updatePartUser(USER_ID, new UserPatch(), null)).thenThrow(new NotFoundException());
+
+        webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(new HashMap<>()))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verify(userService, times(1)).updatePartUser(USER_ID, new UserPatch(), null);
+    }
+
+    @Test
+    void UpdatePartUser_ThrowsBadRequest_NullParameters() throws Exception {
+
+        webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).updatePartUser(anyLong(), any(), any());
+    }
+
+    @Test
+    void UpdatePartUser_ReadsMergePatch_WithPresentFieldsOnly() {
+        setUpUserResponseDto();
+        UserPatch patch = new UserPatch().setFirstName("Updated").setPhoneNumber(null);
+        when(userService.updatePartUser(USER_ID, patch, null)).thenReturn(USER_RESPONSE_DTO);
+
+        webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .contentType(MediaType.valueOf(UserPatch.MEDIA_TYPE))
+                .bodyValue("{\"firstName\": \"Updated\", \"phoneNumber\": null}")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(userService, times(1)).updatePartUser(USER_ID, patch, null);
+    }
+
+    @Test
+    void UpdatePartUser_ThrowsBadRequest_UnknownField() {
+        String actualResponseBody = body(webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .contentType(MediaType.valueOf(UserPatch.MEDIA_TYPE))
+                .bodyValue("{\"id\": 5}")
+                .exchange()
+                .expectStatus().isBadRequest());
+
+        assertTrue(actualResponseBody.contains(ErrorMessage.NOT_CORRECT_FIELD_NAME + "id"));
+        verify(userService, never()).updatePartUser(anyLong(), any(), any());
+    }
+
+    @Test
+    void UpdatePartUser_PassesIfMatch_AndReturnsNewETag() throws Exception {
+        setUpUserResponseDto();
+
+        when(userService.updatePartUser(USER_ID, new UserPatch(), E_TAG)).thenReturn(USER_RESPONSE_DTO);
+
+        webTestClient.patch().uri(USER_URL + SLASH + USER_ID)
+                .header(HttpHeaders.IF_MATCH, E_TAG)
+                .contentType(JSON)
+                .bodyValue(objectMapper.writeValueAsString(new HashMap<>()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, E_TAG);
+        verify(userService, times(1)).updatePartUser(USER_ID, new UserPatch(), E_TAG);
+    }
+
+    protected void setUpUserResponseDto() {
+        USER_RESPONSE_DTO.setId(USER_ID);
+        USER_RESPONSE_DTO.setAddress("Address");
+        USER_RESPONSE_DTO.setBirthDate(LocalDate.of(1995, 1, 1));
+        USER_RESPONSE_DTO.setFirstName("FirstName");
+        USER_RESPONSE_DTO.setPhoneNumber("+380");
+        USER_RESPONSE_DTO.setLastName("LastName");
+        USER_RESPONSE_DTO.setEmail("email");
+        USER_RESPONSE_DTO.setVersion(VERSION);
+    }
+
+    protected void setUpUserRequestDto() {
+        USER_REQUEST_DTO.setAddress("Address");
+        USER_REQUEST_DTO.setBirthDate(LocalDate.of(1995, 1, 1));
+        USER_REQUEST_DTO.setFirstName("FirstName");
+        USER_REQUEST_DTO.setPhoneNumber("+380");
+        USER_REQUEST_DTO.setLastName("LastName");
+        USER_REQUEST_DTO.setEmail("email@gmail.com");
+    }
+
+    private String body(WebTestClient.ResponseSpec response) {
+        return response.expectBody(String.class).returnResult().getResponseBody();
+    }
+
+    private List<String> getInvalidFieldsErrorMessageActual(String actualResponseBody) throws JsonProcessingException {
+        JsonNode jsonNode = objectMapper.readTree(actualResponseBody);
+        JsonNode messageNode = jsonNode.get("message");
+        List<String> actualErrorMessages = new ArrayList<>();
+        if (messageNode != null && messageNode.isArray()) {
+            for (JsonNode errorMessage : messageNode) {
+                actualErrorMessages.add(errorMessage.asText());
+            }
+        }
+        return actualErrorMessages;
+    }
+
+    private List<String> getInvalidFieldsErrorMessageExpected() {
+        return Arrays.asList(
+                "Birth Date can not be null.",
+                "Last name can not be null.",
+                "Field can not be blank.",
+                "Email can not be null.",
+                "Last name can not be empty.",
+                "First name can not be empty.",
+                "First name can not be null.",
+                "Age must be over 18.",
+                "Email can not be empty.",
+                "Invalid email format.",
+                "Field can not be blank."
+        );
+    }
+}
@@ -1,470 +1,447 @@
 package com.dev.solution.controller;
 
-import com.dev.solution.exception.AlreadyExistsException;
-import com.dev.solution.exception.NotFoundException;
+import com.dev.solution.exception.ErrorMessage;
 import com.dev.solution.exception.NotValidFieldsException;
-import com.dev.solution.exception.handler.ExceptionResponse;
+import com.dev.solution.exception.ServiceUnavailableException;
+import com.dev.solution.config.ConcurrencyLimitConfig;
 import com.dev.solution.model.dto.DataResponse;
-import com.dev.solution.model.dto.DataResponsePage;
-import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.DataResponseCursor;
+import com.dev.solution.model.dto.DataResponseSlice;
+import com.dev.solution.model.dto.UserBatchItemDto;
+import com.dev.solution.model.dto.UserImportResultDto;
 import com.dev.solution.model.dto.UserResponseDto;
-import com.dev.solution.service.UserService;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.dev.solution.utils.export.ExportFormat;
+import com.dev.solution.utils.http.UserProtobufHttpMessageConverter;
+import com.dev.solution.utils.validation.UserRequestDtoValidator;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.google.protobuf.CodedOutputStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Page;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
-import java.time.LocalDate;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.*;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+/**
+ * Runs the cases of {@link UserControllerContractTest} against the servlet variant, plus the cases of the endpoints,
+ * media types and limits that only the servlet variant has.
+ */
 @ExtendWith(SpringExtension.class)
-@WebMvcTest(controllers = UserController.class)
-public class UserControllerTest {
-    private final String JSON = "application/json";
-    private final UserResponseDto USER_RESPONSE_DTO = new UserResponseDto();
-    private final UserRequestDto USER_REQUEST_DTO = new UserRequestDto();
-    private final DataResponse<UserResponseDto> RESPONSE_DTO = new DataResponse<>();
-    private final DataResponsePage<UserResponseDto> RESPONSE_PAGE_DTO = new DataResponsePage<>();
-    private final Long USER_ID = 1L;
-    private final String USER_URL = "/users";
-    private final List<UserResponseDto> USER_DTO_LIST = new ArrayList<>();
-    private final LocalDate FROM_DATE = LocalDate.of(2024, 1, 1);
-    private final LocalDate TO_DATE = LocalDate.of(2024, 12, 31);
-    private final PageRequest PAGE_REQUEST = PageRequest.of(0, 10);
-    private final int TIME_OF_INVOCATION = 1;
-    private final String SLASH = "/";
-    private final ExceptionResponse exceptionResponse = new ExceptionResponse();
+@WebMvcTest(controllers = UserController.class, properties = "users.batch.max-size=2")
+@Import({SimpleMeterRegistry.class, UserRequestDtoValidator.class})
+public class UserControllerTest extends UserControllerContractTest {
+    private final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
 
     @Autowired
     private MockMvc mockMvc;
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
-    @MockBean
-    private UserService userService;
-
     // --- findById --
     @Test
-    void FindById_ShouldReturnUser() throws Exception {
-        setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+    void FindById_ReturnsServiceUnavailable_WithRetryAfter_IfShed() throws Exception {
+        when(userService.findById(USER_ID)).thenThrow(new ServiceUnavailableException(Duration.ofSeconds(2)));
 
-        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
-
-        MvcResult mvcResult = mockMvc.perform(get(USER_URL + SLASH + USER_ID)
-                .contentType(JSON)).andReturn();
-        String actualResponseBody = mvcResult.getResponse().getContentAsString();
-        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(
-                objectMapper.writeValueAsString(RESPONSE_DTO));
-
-        verify(userService, times(TIME_OF_INVOCATION)).findById(USER_ID);
+        mockMvc.perform(get(USER_URL + SLASH + USER_ID)
+                        .contentType(JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
     }
 
     @Test
-    void FindById_ThrowsNotFound_IfUserNotFound() throws Exception {
-        when(userService.findById(USER_ID)).thenThrow(new NotFoundException());
+    void FindById_IsAdmittedByConcurrencyLimit() throws Exception {
+        setUpUserResponseDto();
+
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
 
         mockMvc.perform(get(USER_URL + SLASH + USER_ID)
                         .contentType(JSON))
-                .andExpect(status().isNotFound());
-        verify(userService, times(TIME_OF_INVOCATION)).findById(USER_ID);
+                .andExpect(status().isOk());
+        assertEquals(0, meterRegistry.get(ConcurrencyLimitConfig.IN_FLIGHT).tag("group", "reads").gauge().value());
+        assertEquals(0, meterRegistry.get(ConcurrencyLimitConfig.REJECTED).tag("group", "reads").functionCounter().count());
     }
 
-    // --- deleteById --
     @Test
-    void DeleteById_ShouldReturnOk() throws Exception {
+    void FindById_ReturnsCbor_IfAccepted() throws Exception {
+        setUpUserResponseDto();
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
 
-        doNothing().when(userService).deleteById(USER_ID);
+        MvcResult mvcResult = mockMvc.perform(get(USER_URL + SLASH + USER_ID)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
 
-        mockMvc.perform(delete(USER_URL + SLASH + USER_ID)
-                .contentType(JSON)).andExpect(status().isOk());
-        verify(userService, times(TIME_OF_INVOCATION)).deleteById(USER_ID);
+        JsonNode user = new CBORMapper().readTree(mvcResult.getResponse().getContentAsByteArray()).get("data");
+        assertEquals(USER_RESPONSE_DTO.getEmail(), user.get("email").asText());
+        assertEquals(USER_RESPONSE_DTO.getBirthDate().toString(), user.get("birthDate").asText());
     }
 
-    // --- findByDateBetween --
     @Test
-    void FindByDateBetween_ShouldReturnResponsePageDto() throws Exception {
+    void FindById_ReturnsSmile_IfAccepted() throws Exception {
         setUpUserResponseDto();
-        USER_DTO_LIST.add(USER_RESPONSE_DTO);
-        RESPONSE_PAGE_DTO.setData(USER_DTO_LIST);
-        RESPONSE_PAGE_DTO.setTotalPages(1);
-        RESPONSE_PAGE_DTO.setTotalElements(1);
-
-        Page<UserResponseDto> usersPage = new PageImpl<>(USER_DTO_LIST);
-
-        when(userService.findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(usersPage);
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
 
-        MvcResult mvcResult = mockMvc.perform(get(USER_URL)
-                        .param("from", FROM_DATE.toString())
-                        .param("to", TO_DATE.toString())
-                        .contentType(JSON))
+        MvcResult mvcResult = mockMvc.perform(get(USER_URL + SLASH + USER_ID)
+                        .accept(SMILE))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
                 .andReturn();
 
-        String actualResponseBody = mvcResult.getResponse().getContentAsString();
-        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_PAGE_DTO));
-
-        verify(userService, times(TIME_OF_INVOCATION)).findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+        JsonNode user = new SmileMapper().readTree(mvcResult.getResponse().getContentAsByteArray()).get("data");
+        assertEquals(USER_RESPONSE_DTO.getEmail(), user.get("email").asText());
     }
 
     @Test
-    void FindByDateBetween_ThrowsNotValidFields_IfStartDateAfterEndDate() throws Exception {
-        when(userService.findByDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST))
-                .thenThrow(new NotValidFieldsException());
+    void FindById_ReturnsProtobuf_IfAccepted() throws Exception {
+        setUpUserResponseDto();
+        when(userService.findById(USER_ID)).thenReturn(USER_RESPONSE_DTO);
 
-        mockMvc.perform(get(USER_URL)
-                        .param("from", TO_DATE.toString())
-                        .param("to", FROM_DATE.toString())
-                        .contentType(JSON))
-                .andExpect(status().isBadRequest());
+        MvcResult mvcResult = mockMvc.perform(get(USER_URL + SLASH + USER_ID)
+                        .accept(UserProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(UserProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn();
 
-        verify(userService, times(TIME_OF_INVOCATION)).findByDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST);
+        MockHttpOutputMessage expected = new MockHttpOutputMessage();
+        new UserProtobufHttpMessageConverter().write(new DataResponse<>(USER_RESPONSE_DTO),
+                new ParameterizedTypeReference<DataResponse<UserResponseDto>>() {
+                }.getType(), UserProtobufHttpMessageConverter.PROTOBUF, expected);
+        assertArrayEquals(expected.getBodyAsBytes(), mvcResult.getResponse().getContentAsByteArray());
     }
 
     @Test
-    void FindByDateBetween_ThrowsBadRequest_IfFromOrToIsNull() throws Exception {
+    void FindByDateBetween_ReturnsNotAcceptable_ForProtobufOfOtherPayloads() throws Exception {
+        when(userService.findByDateBetween(FROM_DATE, TO_DATE, "", 10)).thenReturn(new DataResponseCursor<>(List.of(), null));
 
-        LocalDate nullFromDate = null;
-        mockMvc.perform(get(USER_URL)
-                        .param("from", String.valueOf(nullFromDate))
-                        .param("to", FROM_DATE.toString())
-                        .contentType(JSON))
-                .andExpect(status().isBadRequest());
-
-        LocalDate nullToDate = null;
         mockMvc.perform(get(USER_URL)
                         .param("from", FROM_DATE.toString())
-                        .param("to", String.valueOf(nullToDate))
-                        .contentType(JSON))
-                .andExpect(status().isBadRequest());
-
-        verify(userService, never()).findByDateBetween(any(), any(), any());
+                        .param("to", TO_DATE.toString())
+                        .param("cursor", "")
+                        .accept(UserProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isNotAcceptable());
     }
 
-    // --- save --
+    // --- importUsers --
     @Test
-    void Save_SuccessfullySavesUser() throws Exception {
-        setUpUserRequestDto();
-        setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
-
-        when(userService.save(USER_REQUEST_DTO)).thenReturn(USER_RESPONSE_DTO);
-
-        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                .contentType(JSON)
-                .content(objectMapper.writeValueAsString(USER_REQUEST_DTO))).andReturn();
-
-        String actualResponseBody = mvcResult.getResponse().getContentAsString();
-        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+    void ImportUsers_ShouldReturnImportResult() throws Exception {
+        String csv = "firstName,lastName,email,birthDate\nJohn,Doe,john@gmail.com,1990-02-03\n";
+        UserImportResultDto result = new UserImportResultDto(1, 0, List.of());
+        when(userService.importUsers(any())).thenReturn(result);
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(USER_URL + "/import")
+                        .content(csv)
+                        .contentType("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn();
 
-        verify(userService, times(TIME_OF_INVOCATION)).save(USER_REQUEST_DTO);
+        assertThat(mvcResult.getResponse().getContentAsString())
+                .isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(new DataResponse<>(result)));
+        verify(userService, times(TIME_OF_INVOCATION)).importUsers(any());
     }
 
     @Test
-    void Save_SuccessfullySavesUser_WithAllowableNullFields() throws Exception {
-        setUpUserRequestDto();
-        setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
-        USER_REQUEST_DTO.setAddress(null);
-        USER_REQUEST_DTO.setPhoneNumber(null);
-
-        when(userService.save(USER_REQUEST_DTO)).thenReturn(USER_RESPONSE_DTO);
-
-        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                .contentType(JSON)
-                .content(objectMapper.writeValueAsString(USER_REQUEST_DTO))).andReturn();
+    void ImportUsers_ThrowsBadRequest_IfHeaderNotValid() throws Exception {
+        when(userService.importUsers(any())).thenThrow(new NotValidFieldsException(ErrorMessage.MISSING_CSV_COLUMN + "email"));
 
-        String actualResponseBody = mvcResult.getResponse().getContentAsString();
-        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
-
-        verify(userService, times(TIME_OF_INVOCATION)).save(USER_REQUEST_DTO);
+        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL + "/import")
+                        .content("firstName\n")
+                        .contentType("text/csv"))
+                .andExpect(status().isBadRequest());
     }
 
+    // --- deleteAllById --
     @Test
-    void Save_throwsMethodArgumentNotValidException_InvalidFields() throws Exception {
-        setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
-        USER_REQUEST_DTO.setAddress("");
-        USER_REQUEST_DTO.setPhoneNumber("");
+    void DeleteAllById_ShouldReturnDeletedCount() throws Exception {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        when(userService.deleteAllById(ids)).thenReturn(2L);
 
-        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(USER_REQUEST_DTO)))
+        MvcResult mvcResult = mockMvc.perform(delete(USER_URL + "/batch")
+                        .content(objectMapper.writeValueAsString(ids))
+                        .contentType(JSON))
+                .andExpect(status().isOk())
                 .andReturn();
 
-        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(USER_REQUEST_DTO)))
-                .andExpect(status().isBadRequest());
-
-        List<String> expectedErrorMessages = getInvalidFieldsErrorMessageExpected();
-        List<String> actualErrorMessages = getInvalidFieldsErrorMessageActual(mvcResult.getResponse().getContentAsString());
-
-        assertEquals(actualErrorMessages.size(), expectedErrorMessages.size());
-        assertTrue(actualErrorMessages.containsAll(expectedErrorMessages));
-        verify(userService, never()).save(USER_REQUEST_DTO);
+        assertThat(mvcResult.getResponse().getContentAsString())
+                .isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(new DataResponse<>(2L)));
+        verify(userService, times(TIME_OF_INVOCATION)).deleteAllById(ids);
     }
 
+    // --- deleteByDateBetween --
     @Test
-    void Save_ThrowsAlreadyExists_DuplicateFields() throws Exception {
-        setUpUserRequestDto();
-
-        when(userService.save(USER_REQUEST_DTO)).thenThrow(new AlreadyExistsException());
+    void DeleteByDateBetween_ShouldReturnDeletedCount() throws Exception {
+        when(userService.deleteByDateBetween(FROM_DATE, TO_DATE)).thenReturn(5L);
 
-        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(USER_REQUEST_DTO)))
-                .andExpect(status().isConflict());
+        MvcResult mvcResult = mockMvc.perform(delete(USER_URL)
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .contentType(JSON))
+                .andExpect(status().isOk())
+                .andReturn();
 
-        verify(userService, times(TIME_OF_INVOCATION)).save(USER_REQUEST_DTO);
+        assertThat(mvcResult.getResponse().getContentAsString())
+                .isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(new DataResponse<>(5L)));
+        verify(userService, times(TIME_OF_INVOCATION)).deleteByDateBetween(FROM_DATE, TO_DATE);
     }
 
     @Test
-    void SaveUser_ThrowsBadRequest_NullDto() throws Exception {
+    void DeleteByDateBetween_ThrowsNotValidFields_IfStartDateAfterEndDate() throws Exception {
+        when(userService.deleteByDateBetween(TO_DATE, FROM_DATE)).thenThrow(new NotValidFieldsException());
 
-        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(null)))
+        mockMvc.perform(delete(USER_URL)
+                        .param("from", TO_DATE.toString())
+                        .param("to", FROM_DATE.toString())
+                        .contentType(JSON))
                 .andExpect(status().isBadRequest());
+    }
 
-        verify(userService, never()).save(any());
+    @Test
+    void DeleteByDateBetween_ThrowsBadRequest_IfFromOrToIsNull() throws Exception {
+        mockMvc.perform(delete(USER_URL)
+                        .param("from", FROM_DATE.toString())
+                        .contentType(JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userService);
     }
 
-    // --- updateFullUser --
+    // --- findByDateBetween --
     @Test
-    void UpdateFullUser_SuccessfullyUpdateUser() throws Exception {
-        setUpUserRequestDto();
+    void FindByDateBetween_WithEstimatedTotal_ShouldReturnResponsePageDto() throws Exception {
         setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+        USER_DTO_LIST.add(USER_RESPONSE_DTO);
+        RESPONSE_PAGE_DTO.setData(USER_DTO_LIST);
+        RESPONSE_PAGE_DTO.setTotalPages(1);
+        RESPONSE_PAGE_DTO.setTotalElements(1);
 
-        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO)).thenReturn(USER_RESPONSE_DTO);
+        when(userService.findByDateBetweenWithEstimatedTotal(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(new PageImpl<>(USER_DTO_LIST));
 
-        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.put(USER_URL + SLASH + USER_ID)
-                .contentType(JSON)
-                .content(objectMapper.writeValueAsString(USER_REQUEST_DTO))).andReturn();
+        MvcResult mvcResult = mockMvc.perform(get(USER_URL)
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .param("total", "estimated")
+                        .contentType(JSON))
+                .andExpect(status().isOk())
+                .andReturn();
 
         String actualResponseBody = mvcResult.getResponse().getContentAsString();
-        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_PAGE_DTO));
 
-        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO);
+        verify(userService, times(TIME_OF_INVOCATION)).findByDateBetweenWithEstimatedTotal(FROM_DATE, TO_DATE, PAGE_REQUEST);
+        verify(userService, never()).findByDateBetween(any(), any(), any(PageRequest.class));
     }
 
     @Test
-    void UpdateFullUser_SuccessfullyUpdateUser_WithNullAllowableFields() throws Exception {
-        setUpUserRequestDto();
+    void FindByDateBetween_WithoutTotal_ShouldReturnResponseSliceDto() throws Exception {
         setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
-        USER_REQUEST_DTO.setAddress(null);
-        USER_REQUEST_DTO.setPhoneNumber(null);
+        USER_DTO_LIST.add(USER_RESPONSE_DTO);
+        DataResponseSlice<UserResponseDto> responseSliceDto = new DataResponseSlice<>(USER_DTO_LIST, true);
 
-        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO)).thenReturn(USER_RESPONSE_DTO);
+        when(userService.findSliceByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST))
+                .thenReturn(new SliceImpl<>(USER_DTO_LIST, PAGE_REQUEST, true));
 
-        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.put(USER_URL + SLASH + USER_ID)
-                .contentType(JSON)
-                .content(objectMapper.writeValueAsString(USER_REQUEST_DTO))).andReturn();
+        MvcResult mvcResult = mockMvc.perform(get(USER_URL)
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .param("total", "none")
+                        .contentType(JSON))
+                .andExpect(status().isOk())
+                .andReturn();
 
         String actualResponseBody = mvcResult.getResponse().getContentAsString();
-        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(responseSliceDto));
 
-        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO);
+        verify(userService, times(TIME_OF_INVOCATION)).findSliceByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+        verify(userService, never()).findByDateBetween(any(), any(), any(PageRequest.class));
     }
 
     @Test
-    void UpdateFullUser_ThrowsMethodArgumentNotValidException_InvalidFields() throws Exception {
-        setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
-        USER_REQUEST_DTO.setAddress("");
-        USER_REQUEST_DTO.setPhoneNumber("");
-
-        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.put(USER_URL + SLASH + USER_ID)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(USER_REQUEST_DTO)))
-                .andReturn();
+    void FindByDateBetween_WithExactTotal_ShouldReturnResponsePageDto() throws Exception {
+        when(userService.findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(new PageImpl<>(USER_DTO_LIST));
 
-        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(USER_REQUEST_DTO)))
-                .andExpect(status().isBadRequest());
-
-        List<String> expectedErrorMessages = getInvalidFieldsErrorMessageExpected();
-        List<String> actualErrorMessages = getInvalidFieldsErrorMessageActual(mvcResult.getResponse().getContentAsString());
+        mockMvc.perform(get(USER_URL)
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .param("total", "exact")
+                        .contentType(JSON))
+                .andExpect(status().isOk());
 
-        assertTrue(actualErrorMessages.containsAll(expectedErrorMessages));
-        verify(userService, never()).updateFullUser(USER_ID, USER_REQUEST_DTO);
+        verify(userService, times(TIME_OF_INVOCATION)).findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
     }
 
     @Test
-    void UpdateFullUser_ThrowsAlreadyExists_DuplicateFields() throws Exception {
-        setUpUserRequestDto();
-
-        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO)).thenThrow(new AlreadyExistsException());
-
-        mockMvc.perform(MockMvcRequestBuilders.put(USER_URL + SLASH + USER_ID)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(USER_REQUEST_DTO)))
-                .andExpect(status().isConflict());
-
-        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO);
+    void FindByDateBetween_ThrowsBadRequest_IfTotalNotValid() throws Exception {
+        mockMvc.perform(get(USER_URL)
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .param("total", "extimated")
+                        .contentType(JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userService);
     }
 
     @Test
-    void UpdateFullUser_ThrowsNotFound_UserByIdNotFound() throws Exception {
-        setUpUserRequestDto();
+    void FindByDateBetweenAfterCursor_ShouldReturnResponseCursorDto() throws Exception {
+        setUpUserResponseDto();
+        USER_DTO_LIST.add(USER_RESPONSE_DTO);
+        DataResponseCursor<UserResponseDto> responseCursorDto = new DataResponseCursor<>(USER_DTO_LIST, "next");
 
-        when(userService.updateFullUser(USER_ID, USER_REQUEST_DTO)).thenThrow(new NotFoundException());
+        when(userService.findByDateBetween(FROM_DATE, TO_DATE, "", 10)).thenReturn(responseCursorDto);
 
-        mockMvc.perform(MockMvcRequestBuilders.put(USER_URL + SLASH + USER_ID)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(USER_REQUEST_DTO)))
-                .andExpect(status().isNotFound());
+        MvcResult mvcResult = mockMvc.perform(get(USER_URL)
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .param("cursor", "")
+                        .contentType(JSON))
+                .andExpect(status().isOk())
+                .andReturn();
 
-        verify(userService, times(TIME_OF_INVOCATION)).updateFullUser(USER_ID, USER_REQUEST_DTO);
+        String actualResponseBody = mvcResult.getResponse().getContentAsString();
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(responseCursorDto));
+
+        verify(userService, times(TIME_OF_INVOCATION)).findByDateBetween(FROM_DATE, TO_DATE, "", 10);
+        verify(userService, never()).findByDateBetween(any(), any(), any(PageRequest.class));
     }
 
+    // --- exportByDateBetween --
     @Test
-    void UpdateFullUser_ThrowsBadRequest_NullDto() throws Exception {
+    void ExportByDateBetween_ShouldStreamUsers() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write("id\n1\n".getBytes());
+            return null;
+        }).when(userService).exportByDateBetween(eq(FROM_DATE), eq(TO_DATE), eq(ExportFormat.CSV), any());
 
-        mockMvc.perform(MockMvcRequestBuilders.put(USER_URL + SLASH + USER_ID)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(null)))
-                .andExpect(status().isBadRequest());
+        MvcResult mvcResult = mockMvc.perform(get(USER_URL + "/export")
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        verify(userService, never()).updateFullUser(USER_ID, null);
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("id\n1\n"));
+        verify(userService, times(TIME_OF_INVOCATION)).exportByDateBetween(eq(FROM_DATE), eq(TO_DATE), eq(ExportFormat.CSV), any());
     }
 
-    // --- updatePartUser --
     @Test
-    void UpdatePartUser_SuccessfullyUpdateUser() throws Exception {
-        setUpUserResponseDto();
-        RESPONSE_DTO.setData(USER_RESPONSE_DTO);
+    void ExportByDateBetween_ThrowsBadRequest_IfStartDateAfterEndDate() throws Exception {
 
-        when(userService.updatePartUser(USER_ID, new HashMap<>())).thenReturn(USER_RESPONSE_DTO);
-
-        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.patch(USER_URL + SLASH + USER_ID)
-                .contentType(JSON)
-                .content(objectMapper.writeValueAsString(new HashMap<>()))).andReturn();
-
-        String actualResponseBody = mvcResult.getResponse().getContentAsString();
-        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(RESPONSE_DTO));
+        mockMvc.perform(get(USER_URL + "/export")
+                        .param("from", TO_DATE.toString())
+                        .param("to", FROM_DATE.toString()))
+                .andExpect(status().isBadRequest());
 
-        verify(userService, times(1)).updatePartUser(USER_ID, new HashMap<>());
+        verify(userService, never()).exportByDateBetween(any(), any(), any(), any());
     }
 
     @Test
-    void UpdatePartUser_ThrowsMethodArgumentNotValidException_InvalidFields() throws Exception {
-        when(userService.updatePartUser(USER_ID, new HashMap<>())).thenThrow(new NotValidFieldsException());
+    void ExportByDateBetween_ThrowsBadRequest_IfFormatNotValid() throws Exception {
 
-        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(new HashMap<>())))
+        mockMvc.perform(get(USER_URL + "/export")
+                        .param("from", FROM_DATE.toString())
+                        .param("to", TO_DATE.toString())
+                        .param("format", "xml"))
                 .andExpect(status().isBadRequest());
 
+        verify(userService, never()).exportByDateBetween(any(), any(), any(), any());
     }
 
+    // --- save --
     @Test
-    void UpdatePartUser_ThrowsAlreadyExists_DuplicateFields() throws Exception {
+    void Save_ReadsProtobufRequest_AndValidatesIt() throws Exception {
         setUpUserRequestDto();
+        setUpUserResponseDto();
+        USER_REQUEST_DTO.setAddress(null);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(body);
+        output.writeString(1, USER_REQUEST_DTO.getFirstName());
+        output.writeString(2, USER_REQUEST_DTO.getLastName());
+        output.writeString(3, USER_REQUEST_DTO.getEmail());
+        output.writeSInt64(4, USER_REQUEST_DTO.getBirthDate().toEpochDay());
+        output.writeString(6, USER_REQUEST_DTO.getPhoneNumber());
+        output.flush();
 
-        when(userService.updatePartUser(USER_ID, new HashMap<>())).thenThrow(new AlreadyExistsException());
+        when(userService.save(USER_REQUEST_DTO)).thenReturn(USER_RESPONSE_DTO);
 
-        mockMvc.perform(MockMvcRequestBuilders.patch(USER_URL + SLASH + USER_ID)
-                        .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(new HashMap<>())))
-                .andExpect(status().isConflict());
+        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
+                        .contentType(UserProtobufHttpMessageConverter.PROTOBUF)
+                        .accept(UserProtobufHttpMessageConverter.PROTOBUF)
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(UserProtobufHttpMessageConverter.PROTOBUF));
+        verify(userService, times(TIME_OF_INVOCATION)).save(USER_REQUEST_DTO);
 
-        verify(userService, times(1)).updatePartUser(USER_ID, new HashMap<>());
+        mockMvc.perform(MockMvcRequestBuilders.post(USER_URL)
+                        .contentType(UserProtobufHttpMessageConverter.PROTOBUF)
+                        .content(new byte[0]))
+                .andExpect(status().isBadRequest());
     }
 
+    // --- saveAll --
     @Test
-    void UpdatePartUser_ThrowsNotFound_UserByIdNotFound() throws Exception {
+    void SaveAll_ReturnsResultForEveryUser() throws Exception {
+        setUpUserRequestDto();
+        setUpUserResponseDto();
+        List<UserBatchItemDto> results = List.of(
+                new UserBatchItemDto(0, 200, USER_RESPONSE_DTO, null),
+                new UserBatchItemDto(1, 409, null, "User with such email already exists: email@gmail.com"));
+        DataResponse<List<UserBatchItemDto>> expected = new DataResponse<>(results);
 
-        when(userService.updatePartUser(USER_ID, new HashMap<>())).thenThrow(new NotFoundException());
+        when(userService.saveAll(List.of(USER_REQUEST_DTO, USER_REQUEST_DTO))).thenReturn(results);
 
-        mockMvc.perform(MockMvcRequestBuilders.patch(USER_URL + SLASH + USER_ID)
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(USER_URL + "/batch")
                         .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(new HashMap<>())))
-                .andExpect(status().isNotFound());
+                        .content(objectMapper.writeValueAsString(List.of(USER_REQUEST_DTO, USER_REQUEST_DTO))))
+                .andExpect(status().isOk())
+                .andReturn();
 
-        verify(userService, times(1)).updatePartUser(USER_ID, new HashMap<>());
+        String actualResponseBody = mvcResult.getResponse().getContentAsString();
+        assertThat(actualResponseBody).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expected));
+
+        verify(userService, times(TIME_OF_INVOCATION)).saveAll(List.of(USER_REQUEST_DTO, USER_REQUEST_DTO));
     }
 
     @Test
-    void UpdatePartUser_ThrowsBadRequest_NullParameters() throws Exception {
+    void SaveAll_ThrowsBadRequest_IfBatchTooLarge() throws Exception {
+        setUpUserRequestDto();
 
-        mockMvc.perform(MockMvcRequestBuilders.patch(USER_URL + SLASH + USER_ID)
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post(USER_URL + "/batch")
                         .contentType(JSON)
-                        .content(objectMapper.writeValueAsString(null)))
-                .andExpect(status().isBadRequest());
-
-        verify(userService, never()).updatePartUser(anyLong(), anyMap());
-    }
-
-    private List<String> getInvalidFieldsErrorMessageActual(String actualResponseBody) throws JsonProcessingException {
-        JsonNode jsonNode = objectMapper.readTree(actualResponseBody);
-        JsonNode messageNode = jsonNode.get("message");
-        List<String> actualErrorMessages = new ArrayList<>();
-        if (messageNode != null && messageNode.isArray()) {
-            for (JsonNode errorMessage : messageNode) {
-                actualErrorMessages.add(errorMessage.asText());
-            }
-        }
-        return actualErrorMessages;
-    }
-
-    private List<String> getInvalidFieldsErrorMessageExpected() {
-        return Arrays.asList(
-                "Birth Date can not be null.",
-                "Last name can not be null.",
-                "Field can not be blank.",
-                "Email can not be null.",
-                "Last name can not be empty.",
-                "First name can not be empty.",
-                "First name can not be null.",
-                "Age must be over 18.",
-                "Email can not be empty.",
-                "Invalid email format.",
-                "Field can not be blank."
-        );
-    }
-
-
-    private void setUpUserResponseDto() {
-        USER_RESPONSE_DTO.setId(USER_ID);
-        USER_RESPONSE_DTO.setAddress("Address");
-        USER_RESPONSE_DTO.setBirthDate(LocalDate.of(1995, 1, 1));
-        USER_RESPONSE_DTO.setFirstName("FirstName");
-        USER_RESPONSE_DTO.setPhoneNumber("+380");
-        USER_RESPONSE_DTO.setLastName("LastName");
-        USER_RESPONSE_DTO.setEmail("email");
-    }
+                        .content(objectMapper.writeValueAsString(List.of(USER_REQUEST_DTO, USER_REQUEST_DTO, USER_REQUEST_DTO))))
+                .andExpect(status().isBadRequest())
+                .andReturn();
 
-    private void setUpUserRequestDto() {
-        USER_REQUEST_DTO.setAddress("Address");
-        USER_REQUEST_DTO.setBirthDate(LocalDate.of(1995, 1, 1));
-        USER_REQUEST_DTO.setFirstName("FirstName");
-        USER_REQUEST_DTO.setPhoneNumber("+380");
-        USER_REQUEST_DTO.setLastName("LastName");
-        USER_REQUEST_DTO.setEmail("email@gmail.com");
+        assertTrue(mvcResult.getResponse().getContentAsString().contains(ErrorMessage.BATCH_TOO_LARGE + 2));
+        verifyNoInteractions(userService);
     }
-
 }
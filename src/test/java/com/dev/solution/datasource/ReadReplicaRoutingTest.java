@@ -0,0 +1,106 @@
+package com.dev.solution.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application against a primary and a read replica. The replica is a separate database with the same
+ * schema and nothing is replicated to it, so the result of every read shows which database served it.
+ * Needs Docker, the test is skipped without it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+public class ReadReplicaRoutingTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("users.read-replicas.urls", replica::getJdbcUrl);
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void FindByDateBetween_ReadsFromReplica_WithoutRecentWrite() {
+        new JdbcTemplate(new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()))
+                .update("insert into users (id, first_name, last_name, email, birth_date) " +
+                        "values (-1, 'First', 'Last', 'replica@gmail.com', date '1980-01-01')");
+
+        String body = restTemplate.getForObject("/users?from=1980-01-01&to=1980-12-31", String.class);
+
+        assertTrue(body.contains("replica@gmail.com"));
+    }
+
+    @Test
+    void FindByDateBetween_ReadsFromPrimary_AfterOwnWrite() {
+        ResponseEntity<String> saved = restTemplate.exchange("/users", HttpMethod.POST, json("""
+                {"firstName": "First", "lastName": "Last", "email": "primary@gmail.com", "birthDate": "1990-01-01"}
+                """), String.class);
+        assertEquals(HttpStatus.OK, saved.getStatusCode());
+        String cookie = saved.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.LAST_WRITE_COOKIE + "="));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, cookie.substring(0, cookie.indexOf(';')));
+        String ownRead = restTemplate.exchange("/users?from=1990-01-01&to=1990-12-31", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class).getBody();
+        String otherRead = restTemplate.getForObject("/users?from=1990-01-01&to=1990-12-31", String.class);
+
+        assertTrue(ownRead.contains("primary@gmail.com"));
+        assertFalse(otherRead.contains("primary@gmail.com"));
+    }
+
+    @Test
+    void FindById_LoadsFromPrimary() {
+        String saved = restTemplate.exchange("/users", HttpMethod.POST, json("""
+                {"firstName": "First", "lastName": "Last", "email": "cached@gmail.com", "birthDate": "1991-01-01"}
+                """), String.class).getBody();
+        String id = saved.replaceAll(".*\"id\":(\\d+).*", "$1");
+
+        ResponseEntity<String> found = restTemplate.getForEntity("/users/" + id, String.class);
+
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertTrue(found.getBody().contains("cached@gmail.com"));
+    }
+
+    private HttpEntity<String> json(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+}
@@ -0,0 +1,87 @@
+package com.dev.solution.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+    private static final Duration MAX_LAG = Duration.ofMillis(5500);
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(MAX_LAG, Clock.fixed(NOW, ZoneOffset.UTC));
+    private final AtomicBoolean pinned = new AtomicBoolean();
+    private final FilterChain chain = (request, response) -> pinned.set(ReplicaRouting.isPrimaryRequired());
+
+    @Test
+    void Write_SetsCookie_AndReadsFromPrimary() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("PATCH", "/users/1"), response, chain);
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.toEpochMilli()), cookie.getValue());
+        assertEquals(6, cookie.getMaxAge());
+        assertTrue(pinned.get());
+        assertFalse(ReplicaRouting.isPrimaryRequired());
+    }
+
+    @Test
+    void Read_UsesPrimary_WithinMaxLagOfWrite() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(read(NOW.minusSeconds(5)), response, chain);
+
+        assertTrue(pinned.get());
+        assertNull(response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE));
+        assertFalse(ReplicaRouting.isPrimaryRequired());
+    }
+
+    @Test
+    void Read_UsesReplicas_AfterMaxLag() throws Exception {
+        filter.doFilter(read(NOW.minus(MAX_LAG)), new MockHttpServletResponse(), chain);
+
+        assertFalse(pinned.get());
+    }
+
+    @Test
+    void Read_UsesReplicas_WithoutOrWithMalformedCookie() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(), chain);
+        assertFalse(pinned.get());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, "yesterday"));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertFalse(pinned.get());
+    }
+
+    @Test
+    void TaskDecorator_CarriesPinToTask() {
+        AtomicBoolean taskPinned = new AtomicBoolean();
+        Runnable task = () -> taskPinned.set(ReplicaRouting.isPrimaryRequired());
+
+        Runnable decorated = ReplicaRouting.onPrimary(() -> ReplicaRouting.TASK_DECORATOR.decorate(task));
+        decorated.run();
+        assertTrue(taskPinned.get());
+        assertFalse(ReplicaRouting.isPrimaryRequired());
+
+        ReplicaRouting.TASK_DECORATOR.decorate(task).run();
+        assertFalse(taskPinned.get());
+    }
+
+    private MockHttpServletRequest read(Instant lastWrite) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE, Long.toString(lastWrite.toEpochMilli())));
+        return request;
+    }
+}
@@ -0,0 +1,108 @@
+package com.dev.solution.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+    private final DataSource primary = dataSource();
+    private final DataSource replica0 = dataSource();
+    private final DataSource replica1 = dataSource();
+
+    private DataSource dataSource;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, List.of(replica0, replica1)));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // The proxy reads the connection defaults from the primary once.
+        clearInvocations(primary);
+    }
+
+    @Test
+    void ReadOnlyTransactions_UseReplicasInTurn() throws SQLException {
+        readOnly.executeWithoutResult(status -> execute());
+        readOnly.executeWithoutResult(status -> execute());
+        readOnly.executeWithoutResult(status -> execute());
+
+        verify(replica0, times(2)).getConnection();
+        verify(replica1, times(1)).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void ReadWriteTransaction_UsesPrimary() throws SQLException {
+        readWrite.executeWithoutResult(status -> execute());
+
+        verifyPrimaryOnly();
+    }
+
+    @Test
+    void ReadOnlyTransaction_UsesPrimary_IfPinned() throws SQLException {
+        ReplicaRouting.onPrimary(() -> readOnly.executeWithoutResult(status -> execute()));
+
+        verifyPrimaryOnly();
+    }
+
+    @Test
+    void StatementOutsideTransaction_UsesPrimary() throws SQLException {
+        execute();
+
+        verifyPrimaryOnly();
+    }
+
+    @Test
+    void ReadOnlyTransaction_UsesPrimary_WithoutReplicas() throws SQLException {
+        DataSource withoutReplicas = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, List.of()));
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(withoutReplicas));
+        transaction.setReadOnly(true);
+        clearInvocations(primary);
+
+        transaction.executeWithoutResult(status -> execute(withoutReplicas));
+
+        verify(primary).getConnection();
+    }
+
+    private void verifyPrimaryOnly() throws SQLException {
+        verify(primary).getConnection();
+        verifyNoInteractions(replica0, replica1);
+    }
+
+    private void execute() {
+        execute(dataSource);
+    }
+
+    // The first statement makes the lazy proxy take the connection of the routed data source.
+    private void execute(DataSource dataSource) {
+        try {
+            DataSourceUtils.getConnection(dataSource).createStatement();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DataSource dataSource() {
+        try {
+            DataSource dataSource = mock(DataSource.class);
+            when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+            return dataSource;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
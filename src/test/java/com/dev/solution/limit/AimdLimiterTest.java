@@ -0,0 +1,77 @@
+package com.dev.solution.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AimdLimiterTest {
+    private static final Duration LATENCY_THRESHOLD = Duration.ofMillis(100);
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(200).toNanos();
+
+    private final AimdLimiter limiter = new AimdLimiter(10, 2, 12, 0.5, LATENCY_THRESHOLD);
+
+    @Test
+    void TryAcquire_RejectsAndCounts_WhenLimitIsInFlight() {
+        IntStream.range(0, 10).forEach(i -> assertTrue(limiter.tryAcquire()));
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void Release_IncreasesLimitByOne_WhenFastAndLimitIsInUse() {
+        IntStream.range(0, 5).forEach(i -> limiter.tryAcquire());
+
+        limiter.release(FAST, false);
+
+        assertEquals(11, limiter.getLimit());
+        assertEquals(4, limiter.getInFlight());
+    }
+
+    @Test
+    void Release_KeepsLimit_WhenFastAndLimitIsMostlyUnused() {
+        limiter.tryAcquire();
+
+        limiter.release(FAST, false);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void Release_KeepsLimitAtMax() {
+        IntStream.range(0, 10).forEach(i -> limiter.tryAcquire());
+
+        IntStream.range(0, 3).forEach(i -> {
+            limiter.release(FAST, false);
+            limiter.tryAcquire();
+        });
+
+        assertEquals(12, limiter.getLimit());
+    }
+
+    @Test
+    void Release_DecreasesLimitByRatio_WhenSlowOrOverloaded() {
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertEquals(5, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void Constructor_Throws_WithInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimiter(1, 2, 12, 0.5, LATENCY_THRESHOLD));
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimiter(10, 2, 12, 1, LATENCY_THRESHOLD));
+    }
+}
@@ -0,0 +1,81 @@
+package com.dev.solution.limit;
+
+import com.dev.solution.exception.ServiceUnavailableException;
+import com.dev.solution.utils.annotation.NotConcurrencyLimited;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitInterceptorTest {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private final AimdLimiter reads = new AimdLimiter(1, 1, 10, 0.5, Duration.ofSeconds(10));
+    private final AimdLimiter writes = new AimdLimiter(4, 1, 10, 0.5, Duration.ofSeconds(10));
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(reads, writes, RETRY_AFTER);
+
+    @Test
+    void PreHandle_Throws_WhenReadLimitIsReached() {
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(), null));
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/users/2"), new MockHttpServletResponse(), null));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getCode());
+        assertEquals(RETRY_AFTER, exception.getRetryAfter());
+        assertEquals(1, reads.getRejected());
+    }
+
+    @Test
+    void PreHandle_AdmitsWrites_WhenReadLimitIsReached() {
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(), null);
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("PUT", "/users/1"), new MockHttpServletResponse(), null));
+        assertEquals(1, writes.getInFlight());
+    }
+
+    @Test
+    void PreHandle_SkipsNotLimitedHandlers() throws NoSuchMethodException {
+        HandlerMethod bulk = new HandlerMethod(new Handlers(), Handlers.class.getMethod("bulk"));
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/batch");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            assertTrue(interceptor.preHandle(request, response, bulk));
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            interceptor.afterCompletion(request, response, bulk, null);
+        }
+
+        HandlerMethod single = new HandlerMethod(new Handlers(), Handlers.class.getMethod("single"));
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", "/users"), new MockHttpServletResponse(), single));
+        assertEquals(1, writes.getInFlight());
+        assertEquals(4, writes.getLimit());
+        assertEquals(0, writes.getRejected());
+    }
+
+    @Test
+    void AfterCompletion_ReleasesOnce_AndBacksOffOnServiceUnavailable() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, writes.getInFlight());
+        assertEquals(2, writes.getLimit());
+    }
+
+    public static class Handlers {
+        @NotConcurrencyLimited
+        public void bulk() {
+        }
+
+        public void single() {
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.dev.solution.repository;
+
+import com.dev.solution.config.JpaConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with EXPLAIN against PostgreSQL that every query of UserRepository can be served by an index of the
+ * migrated schema. The SQL generated by Hibernate is recorded and explained with the same parameters.
+ * Sequential scans are disabled for the EXPLAIN, so the planner picks an index whenever one fits, regardless of
+ * the size of the test table; a query without a usable index still shows a Seq Scan.
+ * Needs Docker, the test is skipped without it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.dev.solution.repository.UserRepositoryExplainTest$SqlRecorder")
+public class UserRepositoryExplainTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LocalDate FROM_DATE = LocalDate.of(1990, 1, 1);
+    private final LocalDate TO_DATE = LocalDate.of(1990, 12, 31);
+    private final String EMAIL = "user1@gmail.com";
+    private final String EMAIL_2 = "user2@gmail.com";
+    private final String PHONE = "+3801";
+    private final int SIZE = 10;
+    // Hibernate binds the offset even for the first page of a Pageable.
+    private final int OFFSET = 0;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.createNativeQuery("insert into users (id, first_name, last_name, email, birth_date, address, phone_number) " +
+                "select i, 'First', 'Last', 'user' || i || '@gmail.com', date '1960-01-01' + i % 15000, 'Address', '+380' || i " +
+                "from generate_series(1, 20000) i").executeUpdate();
+        entityManager.createNativeQuery("analyze users").executeUpdate();
+    }
+
+    @Test
+    void FindById_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.findById(1L), 1));
+    }
+
+    @Test
+    void FindResponseById_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.findResponseById(1L), 1));
+    }
+
+    @Test
+    void FindResponsesByBirthDateBetween_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, PageRequest.of(0, SIZE)),
+                FROM_DATE, TO_DATE, OFFSET, SIZE));
+    }
+
+    @Test
+    void CountByBirthDateBetween_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE), FROM_DATE, TO_DATE));
+    }
+
+    @Test
+    void FindResponseSliceByBirthDateBetween_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.findResponseSliceByBirthDateBetween(FROM_DATE, TO_DATE, PageRequest.of(0, SIZE)),
+                FROM_DATE, TO_DATE, OFFSET, SIZE + 1));
+    }
+
+    @Test
+    void FindFirstResponsesByBirthDateBetween_UsesIndex_WithoutSort() {
+        List<String> plan = explain(() -> userRepository.findFirstResponsesByBirthDateBetween(FROM_DATE, TO_DATE, SIZE + 1),
+                FROM_DATE, TO_DATE, SIZE + 1);
+        assertUsesIndex(plan);
+        assertFalse(plan.contains("Sort"), plan::toString);
+    }
+
+    @Test
+    void FindResponsesByBirthDateBetweenAfter_UsesIndex_WithoutSort() {
+        List<String> plan = explain(() -> userRepository.findResponsesByBirthDateBetweenAfter(FROM_DATE, TO_DATE, FROM_DATE, 5L, SIZE + 1),
+                FROM_DATE, TO_DATE, FROM_DATE, 5, SIZE + 1);
+        assertUsesIndex(plan);
+        assertFalse(plan.contains("Sort"), plan::toString);
+    }
+
+    @Test
+    void StreamByBirthDateBetween_UsesIndex() {
+        // Without a limit the planner may read a wide range with a bitmap scan and sort it, which is fine for an export.
+        assertUsesIndex(explain(() -> {
+            try (Stream<?> users = userRepository.streamByBirthDateBetween(FROM_DATE, TO_DATE)) {
+                users.findFirst();
+            }
+        }, FROM_DATE, TO_DATE));
+    }
+
+    @Test
+    void FindByEmail_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.findByEmail(EMAIL), EMAIL));
+    }
+
+    @Test
+    void FindByPhoneNumber_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.findByPhoneNumber(PHONE), PHONE));
+    }
+
+    @Test
+    void FindByEmailInOrPhoneNumberIn_UsesIndex() {
+        assertUsesIndex(explain(() -> userRepository.findByEmailInOrPhoneNumberIn(List.of(EMAIL, EMAIL_2), List.of(PHONE)),
+                EMAIL, EMAIL_2, PHONE));
+    }
+
+    // streamAllEmails and streamAllPhoneNumbers read every row by design and are not checked.
+
+    private void assertUsesIndex(List<String> plan) {
+        assertFalse(plan.contains("Seq Scan"), plan::toString);
+        assertTrue(plan.stream().anyMatch(node -> node.contains("Index")), plan::toString);
+    }
+
+    /**
+     * Runs the query, then explains the SQL Hibernate generated for it with the given parameters in bind order.
+     *
+     * @return The node types of the plan.
+     */
+    private List<String> explain(Runnable query, Object... parameters) {
+        SqlRecorder.STATEMENTS.clear();
+        query.run();
+        assertEquals(1, SqlRecorder.STATEMENTS.size(), SqlRecorder.STATEMENTS::toString);
+        String sql = SqlRecorder.STATEMENTS.get(0);
+
+        StringBuilder prepared = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameter);
+            } else {
+                prepared.append(c);
+            }
+        }
+        assertEquals(parameters.length, parameter, sql);
+        String arguments = Stream.of(parameters)
+                .map(value -> value instanceof Number ? value.toString() : "'" + value + "'")
+                .collect(Collectors.joining(", "));
+
+        List<String> plan = new ArrayList<>();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set local enable_seqscan = off");
+                statement.execute("prepare explained as " + prepared);
+                try (ResultSet resultSet = statement.executeQuery("explain (format json) execute explained(" + arguments + ")")) {
+                    resultSet.next();
+                    collectNodeTypes(OBJECT_MAPPER.readTree(resultSet.getString(1)).get(0).get("Plan"), plan);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    statement.execute("deallocate explained");
+                }
+            }
+        });
+        return plan;
+    }
+
+    private void collectNodeTypes(JsonNode node, List<String> plan) {
+        plan.add(node.get("Node Type").asText());
+        if (node.has("Plans")) {
+            for (JsonNode child : node.get("Plans")) {
+                collectNodeTypes(child, plan);
+            }
+        }
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.dev.solution.repository;
+
+import com.dev.solution.config.JpaConfig;
+import com.dev.solution.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks against PostgreSQL that the ids the bulk create takes from users_seq in SQL never collide with the ids
+ * Hibernate takes from the same sequence for single saves, and that a collision would fail instead of being
+ * reported as a taken email. Needs Docker, the test is skipped without it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserRepositoryIdAllocationTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // Crosses the block boundaries of the sequence: less than, exactly and more than one block.
+    private final List<Integer> CHUNK_SIZES = List.of(1, 49, 50, 51, 120);
+    private final LocalDate BIRTH_DATE = LocalDate.of(1990, 1, 1);
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void SaveAndInsertSkippingConflicts_Interleaved_TakeDistinctIds() {
+        Set<Long> ids = new HashSet<>();
+        int users = 0;
+        for (int round = 0; round < 3; round++) {
+            for (int size : CHUNK_SIZES) {
+                ids.add(userRepository.save(nextUser()).getId());
+                List<User> inserted = insert(size);
+                assertEquals(size, inserted.size());
+                inserted.forEach(user -> ids.add(user.getId()));
+                ids.add(userRepository.save(nextUser()).getId());
+                users += size + 2;
+            }
+        }
+
+        assertEquals(users, ids.size());
+        assertEquals(users, userRepository.count());
+    }
+
+    @Test
+    void SaveAndInsertSkippingConflicts_Concurrent_TakeDistinctIds() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            boolean hibernate = thread % 2 == 0;
+            futures.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (int size : CHUNK_SIZES) {
+                    if (hibernate) {
+                        for (int i = 0; i < size; i++) {
+                            ids.add(userRepository.save(nextUser()).getId());
+                        }
+                    } else {
+                        insert(size).forEach(user -> ids.add(user.getId()));
+                    }
+                }
+                return ids;
+            }));
+        }
+        Set<Long> ids = new HashSet<>();
+        int users = 0;
+        for (Future<List<Long>> future : futures) {
+            List<Long> threadIds = future.get();
+            users += threadIds.size();
+            ids.addAll(threadIds);
+        }
+        executor.shutdown();
+
+        assertEquals(4 * CHUNK_SIZES.stream().mapToInt(Integer::intValue).sum(), users);
+        assertEquals(users, ids.size());
+        assertEquals(users, userRepository.count());
+    }
+
+    @Test
+    void InsertSkippingConflicts_SkipsTakenEmailAndPhone() {
+        userRepository.save(new User(null, "First", "Last", "taken@gmail.com", BIRTH_DATE, null, "+380000", null));
+        User takenEmail = new User(null, "First", "Last", "taken@gmail.com", BIRTH_DATE, null, null, null);
+        User takenPhone = new User(null, "First", "Last", "other@gmail.com", BIRTH_DATE, null, "+380000", null);
+        User free = nextUser();
+
+        List<User> inserted = transactionTemplate.execute(status ->
+                userRepository.insertSkippingConflicts(List.of(takenEmail, takenPhone, free)));
+
+        assertEquals(List.of(free), inserted);
+        assertNotNull(free.getId());
+        assertNull(takenEmail.getId());
+        assertNull(takenPhone.getId());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void InsertSkippingConflicts_SkipsPhone_WrittenConcurrently() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("insert into users (id, first_name, last_name, email, birth_date, phone_number) " +
+                        "values (-1, 'First', 'Last', 'concurrent@gmail.com', date '1990-01-01', '+380999')");
+            }
+            // The insert waits for the uncommitted phone number and violates its constraint once it is committed.
+            User user = new User(null, "First", "Last", "other@gmail.com", BIRTH_DATE, null, "+380999", null);
+            Future<List<User>> inserted = executor.submit(() ->
+                    transactionTemplate.execute(status -> userRepository.insertSkippingConflicts(List.of(user))));
+            Thread.sleep(500);
+            connection.commit();
+
+            assertEquals(List.of(), inserted.get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void InsertSkippingConflicts_Throws_IfIdIsTaken() {
+        // The next value of the sequence claims the ids after this one, the first of them is taken by another writer.
+        transactionTemplate.executeWithoutResult(status -> {
+            long last = ((Number) entityManager.createNativeQuery("select nextval('users_seq')").getSingleResult()).longValue();
+            entityManager.createNativeQuery("insert into users (id, first_name, last_name, email, birth_date) " +
+                            "values (:id, 'First', 'Last', 'taken-id@gmail.com', :birthDate)")
+                    .setParameter("id", last + 1)
+                    .setParameter("birthDate", BIRTH_DATE)
+                    .executeUpdate();
+        });
+
+        assertThrows(DataIntegrityViolationException.class, () -> insert(1));
+        assertEquals(1, userRepository.count());
+    }
+
+    private List<User> insert(int size) {
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(nextUser());
+        }
+        return transactionTemplate.execute(status -> userRepository.insertSkippingConflicts(users));
+    }
+
+    private User nextUser() {
+        int i = sequence.incrementAndGet();
+        return new User(null, "First", "Last", "user" + i + "@gmail.com", BIRTH_DATE, null, "+380" + i, null);
+    }
+}
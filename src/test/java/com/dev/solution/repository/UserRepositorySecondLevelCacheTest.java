@@ -0,0 +1,177 @@
+package com.dev.solution.repository;
+
+import com.dev.solution.config.JpaConfig;
+import com.dev.solution.config.SecondLevelCacheConfig;
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.utils.imports.UserCsvRow;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks against PostgreSQL that repeated reads are served by the second-level cache and that every write path
+ * of UserServiceImpl invalidates them. Each repository call runs in a transaction of its own, as in the service.
+ * Needs Docker, the test is skipped without it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, SecondLevelCacheConfig.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "users.second-level-cache.enabled=true",
+        "users.second-level-cache.max-size=1000",
+        "users.second-level-cache.ttl=10m"
+})
+public class UserRepositorySecondLevelCacheTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final LocalDate FROM_DATE = LocalDate.of(1990, 1, 1);
+    private final LocalDate TO_DATE = LocalDate.of(1990, 12, 31);
+    private final PageRequest PAGE_REQUEST = PageRequest.of(0, 10);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void FindById_IsServedFromCache() {
+        User user = userRepository.save(user("user1@gmail.com", FROM_DATE));
+
+        assertEquals(0, statements(() -> userRepository.findById(user.getId())));
+        assertEquals(0, statements(() -> userRepository.findById(user.getId())));
+    }
+
+    @Test
+    void FindResponsesByBirthDateBetween_IsServedFromCache_UntilSave() {
+        userRepository.save(user("user1@gmail.com", FROM_DATE));
+        assertEquals(1, statements(this::findPage));
+        assertEquals(0, statements(this::findPage));
+        assertEquals(1, statements(() -> userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE)));
+        assertEquals(0, statements(() -> userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE)));
+
+        userRepository.save(user("user2@gmail.com", FROM_DATE));
+
+        assertEquals(2, findPage().size());
+        assertEquals(2, userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE));
+    }
+
+    @Test
+    void FindResponsesByBirthDateBetween_IsInvalidated_ByUpdate() {
+        User user = userRepository.save(user("user1@gmail.com", FROM_DATE));
+        findPage();
+
+        user.setFirstName("Changed");
+        userRepository.save(user);
+
+        assertEquals("Changed", findPage().get(0).getFirstName());
+    }
+
+    @Test
+    void FindResponsesByBirthDateBetween_IsInvalidated_ByDeletes() {
+        User user1 = userRepository.save(user("user1@gmail.com", FROM_DATE));
+        User user2 = userRepository.save(user("user2@gmail.com", FROM_DATE));
+        userRepository.save(user("user3@gmail.com", FROM_DATE));
+        findPage();
+
+        userRepository.deleteUserById(user1.getId(), (email, phone) -> {
+        });
+        assertEquals(2, findPage().size());
+
+        userRepository.deleteByIdIn(List.of(user2.getId()), (email, phone) -> {
+        });
+        assertEquals(1, findPage().size());
+
+        userRepository.deleteByBirthDateBetween(FROM_DATE, TO_DATE, 10, (email, phone) -> {
+        });
+        assertEquals(0, findPage().size());
+        assertEquals(0, userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE));
+    }
+
+    @Test
+    void FindResponsesByBirthDateBetween_IsInvalidated_ByImport() {
+        userRepository.save(user("user1@gmail.com", FROM_DATE));
+        findPage();
+
+        Iterator<UserCsvRow> rows = List.of(new UserCsvRow(1, request("user2@gmail.com", FROM_DATE), null)).iterator();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.importUsers(rows, 10, (email, phone) -> {
+                }));
+
+        assertEquals(2, findPage().size());
+    }
+
+    @Test
+    void FindByEmail_IsServedFromCache_UntilSave() {
+        assertEquals(1, statements(() -> userRepository.findByEmail("user1@gmail.com")));
+        assertEquals(0, statements(() -> userRepository.findByEmail("user1@gmail.com")));
+
+        userRepository.save(user("user1@gmail.com", FROM_DATE));
+
+        assertTrue(userRepository.findByEmail("user1@gmail.com").isPresent());
+    }
+
+    private List<UserResponseDto> findPage() {
+        return userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+    }
+
+    private long statements(Supplier<?> read) {
+        long before = statistics.getPrepareStatementCount();
+        read.get();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private static User user(String email, LocalDate birthDate) {
+        return new User(null, "First", "Last", email, birthDate, null, null, null);
+    }
+
+    private static UserRequestDto request(String email, LocalDate birthDate) {
+        UserRequestDto user = new UserRequestDto();
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setEmail(email);
+        user.setBirthDate(birthDate);
+        return user;
+    }
+}
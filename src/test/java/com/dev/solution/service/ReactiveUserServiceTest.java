@@ -0,0 +1,243 @@
+package com.dev.solution.service;
+
+import com.dev.solution.exception.AlreadyExistsException;
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotFoundException;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.exception.PreconditionFailedException;
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.ReactiveUserRepository;
+import com.dev.solution.service.impl.ReactiveUserServiceImpl;
+import com.dev.solution.utils.mapper.UserMapper;
+import com.dev.solution.utils.validation.FieldsValidation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveUserServiceTest {
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private FieldsValidation fieldsValidation;
+
+    private ReactiveUserServiceImpl userService;
+
+    private final UserResponseDto RESPONSE_DTO = new UserResponseDto();
+    private final Long USER_ID = 1L;
+    private final User USER = new User();
+    private final UserRequestDto REQUEST_DTO = new UserRequestDto();
+    private final String EMAIL = "test email";
+    private final String PHONE = "test phone";
+    private final LocalDate FROM_DATE = LocalDate.of(2024, 1, 1);
+    private final LocalDate TO_DATE = LocalDate.of(2024, 12, 31);
+    private final PageRequest PAGE_REQUEST = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        userService = new ReactiveUserServiceImpl(userRepository, userMapper, fieldsValidation, false);
+    }
+
+    // --- findById
+    @Test
+    public void FindById_ShouldReturnUser() {
+        when(userRepository.findById(USER_ID)).thenReturn(Mono.just(USER));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        StepVerifier.create(userService.findById(USER_ID))
+                .expectNext(RESPONSE_DTO)
+                .verifyComplete();
+    }
+
+    @Test
+    public void FindById_ThrowsNotFound_IfUserByIdNotFound() {
+        when(userRepository.findById(USER_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.findById(USER_ID))
+                .verifyError(NotFoundException.class);
+    }
+
+    @Test
+    public void FindVersionById_ThrowsNotFound_IfUserNotFound() {
+        when(userRepository.findVersionById(USER_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.findVersionById(USER_ID))
+                .verifyError(NotFoundException.class);
+    }
+
+    // -- save
+    @Test
+    public void Save_ShouldSaveUser() {
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.empty());
+        when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Mono.empty());
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
+        when(userRepository.save(USER)).thenReturn(Mono.just(USER));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        StepVerifier.create(userService.save(REQUEST_DTO))
+                .expectNext(RESPONSE_DTO)
+                .verifyComplete();
+    }
+
+    @Test
+    public void Save_ThrowsAlreadyExists_IfUserByEmailExists() {
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Mono.just(USER));
+        when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.save(REQUEST_DTO))
+                .verifyError(AlreadyExistsException.class);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    public void Save_Optimistic_ThrowsAlreadyExists_IfPhoneConstraintViolated() {
+        userService = new ReactiveUserServiceImpl(userRepository, userMapper, fieldsValidation, true);
+        USER.setPhoneNumber(PHONE);
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
+        when(userRepository.save(USER)).thenReturn(Mono.error(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_users_phone_number\"")));
+
+        StepVerifier.create(userService.save(REQUEST_DTO))
+                .verifyErrorSatisfies(e -> assertEquals(ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + PHONE,
+                        ((AlreadyExistsException) e).getMessages()));
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findByPhoneNumber(any());
+    }
+
+    // -- deleteById
+    @Test
+    public void DeleteById_Completes_IfUserDeleted() {
+        when(userRepository.deleteUserById(USER_ID)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(userService.deleteById(USER_ID))
+                .verifyComplete();
+    }
+
+    @Test
+    public void DeleteById_ThrowsNotFound_IfNoRowDeleted() {
+        when(userRepository.deleteUserById(USER_ID)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(userService.deleteById(USER_ID))
+                .verifyError(NotFoundException.class);
+    }
+
+    // -- findByDateBetween
+    @Test
+    public void FindByDateBetween_ShouldReturnPageWithTotal() {
+        when(userRepository.findByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(Flux.just(USER));
+        when(userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(Mono.just(25L));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        StepVerifier.create(userService.findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST))
+                .assertNext(page -> {
+                    assertEquals(List.of(RESPONSE_DTO), page.getContent());
+                    assertEquals(25L, page.getTotalElements());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void FindByDateBetween_ThrowsNotValidFields_IfStartDateAfterEndDate() {
+        StepVerifier.create(userService.findByDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST))
+                .verifyError(NotValidFieldsException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    // -- updateFullUser
+    @Test
+    public void UpdateFullUser_ThrowsNotFound_IfUserByIdNotFound() {
+        when(userRepository.findById(USER_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.updateFullUser(USER_ID, REQUEST_DTO, null))
+                .verifyError(NotFoundException.class);
+        verify(userRepository, never()).updateUser(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void UpdateFullUser_ReturnsPreconditionFailed_IfMatchIsStale() {
+        USER.setVersion(3L);
+        when(userRepository.findById(USER_ID)).thenReturn(Mono.just(USER));
+
+        StepVerifier.create(userService.updateFullUser(USER_ID, REQUEST_DTO, "\"2\""))
+                .verifyError(PreconditionFailedException.class);
+        verify(userRepository, never()).updateUser(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void UpdateFullUser_ReturnsPreconditionFailed_IfChangedConcurrentlyWithIfMatch() {
+        USER.setId(USER_ID);
+        USER.setVersion(3L);
+        USER.setEmail(EMAIL);
+        USER.setPhoneNumber(PHONE);
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
+        when(userRepository.findById(USER_ID)).thenReturn(Mono.just(USER));
+        when(userRepository.updateUser(USER_ID, 3L, USER.getFirstName(), USER.getLastName(), EMAIL,
+                USER.getBirthDate(), USER.getAddress(), PHONE)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(userService.updateFullUser(USER_ID, REQUEST_DTO, "\"3\""))
+                .verifyError(PreconditionFailedException.class);
+    }
+
+    // -- updatePartUser
+    @Test
+    public void UpdatePartUser_ShouldUpdateUser_WithoutUniquenessQueries_IfEmailAndPhoneNotPatched() {
+        USER.setId(USER_ID);
+        USER.setVersion(3L);
+        USER.setEmail(EMAIL);
+        USER.setPhoneNumber(PHONE);
+        UserPatch patch = new UserPatch().setFirstName("New");
+        when(userRepository.findById(USER_ID)).thenReturn(Mono.just(USER));
+        when(userRepository.updateUser(USER_ID, 3L, USER.getFirstName(), USER.getLastName(), EMAIL,
+                USER.getBirthDate(), USER.getAddress(), PHONE)).thenReturn(Mono.just(1));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        StepVerifier.create(userService.updatePartUser(USER_ID, patch, null))
+                .expectNext(RESPONSE_DTO)
+                .verifyComplete();
+        assertEquals(4L, USER.getVersion());
+        verify(fieldsValidation).validatePatch(patch);
+        verify(userMapper).applyPatch(patch, USER);
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findByPhoneNumber(any());
+    }
+
+    @Test
+    public void UpdatePartUser_ReturnsAlreadyExists_IfPatchedEmailTaken() {
+        USER.setEmail(EMAIL);
+        UserPatch patch = new UserPatch().setEmail("new email");
+        when(userRepository.findById(USER_ID)).thenReturn(Mono.just(USER));
+        when(userRepository.findByEmail("new email")).thenReturn(Mono.just(new User()));
+
+        StepVerifier.create(userService.updatePartUser(USER_ID, patch, null))
+                .expectError(AlreadyExistsException.class)
+                .verify();
+        verify(userMapper, never()).applyPatch(any(), any());
+        verify(userRepository, never()).updateUser(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,138 @@
+package com.dev.solution.service;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserImportRejectionDto;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.repository.UserRepository;
+import com.dev.solution.service.impl.UserCsvImporter;
+import com.dev.solution.service.impl.UserUniquenessFilter;
+import com.dev.solution.utils.imports.UserCsvRow;
+import com.dev.solution.utils.validation.FieldsValidation;
+import com.dev.solution.utils.validation.UserRequestDtoValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCsvImporterTest {
+    private static final String HEADER = "firstName,lastName,email,birthDate,address,phoneNumber\n";
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_REPORTED_REJECTIONS = 3;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserUniquenessFilter uniquenessFilter;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void ImportUsers_CopiesValidRowsInFileOrder() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 10; i++) {
+            csv.append("John,Doe,john").append(i).append("@gmail.com,1990-02-03,,\n");
+        }
+        List<Long> copied = new ArrayList<>();
+        when(userRepository.importUsers(any(), anyInt(), any())).thenAnswer(invocation -> {
+            Iterator<UserCsvRow> rows = invocation.getArgument(0);
+            rows.forEachRemaining(row -> copied.add(row.row()));
+            return new UserImportResultDto(copied.size(), 0, List.of());
+        });
+
+        UserImportResultDto result = importer().importUsers(stream(csv.toString()));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), copied);
+        assertEquals(new UserImportResultDto(10, 0, List.of()), result);
+    }
+
+    @Test
+    void ImportUsers_ReportsFirstRejectedRows_OfValidationAndDatabase() throws IOException {
+        String csv = HEADER +
+                "John,Doe,john1@gmail.com,1990-02-03,,\n" +
+                "John,Doe,not valid email,1990-02-03,,\n" +
+                "John,Doe,john3@gmail.com,1990-02-03,,\n" +
+                "John,Doe,john4@gmail.com\n" +
+                "John,Doe,john5@gmail.com,1990-02-03,,\n" +
+                "John,,john6@gmail.com,1990-02-03,,\n";
+        when(userRepository.importUsers(any(), anyInt(), any())).thenAnswer(invocation -> {
+            Iterator<UserCsvRow> rows = invocation.getArgument(0);
+            List<UserCsvRow> copied = new ArrayList<>();
+            rows.forEachRemaining(copied::add);
+            assertEquals(3, copied.size());
+            return new UserImportResultDto(1, 2, List.of(
+                    new UserImportRejectionDto(3, 409, ErrorMessage.USER_BY_EMAIL_EXIST + "john3@gmail.com"),
+                    new UserImportRejectionDto(5, 409, ErrorMessage.USER_BY_EMAIL_EXIST + "john5@gmail.com")));
+        });
+
+        UserImportResultDto result = importer().importUsers(stream(csv));
+
+        assertEquals(1, result.getImported());
+        assertEquals(5, result.getRejected());
+        assertEquals(List.of(2L, 3L, 4L), result.getRejectedRows().stream().map(UserImportRejectionDto::getRow).toList());
+        assertEquals(List.of(400, 409, 400), result.getRejectedRows().stream().map(UserImportRejectionDto::getStatus).toList());
+        assertEquals(ErrorMessage.NOT_VALID_CSV_ROW + 6, result.getRejectedRows().get(2).getMessage());
+    }
+
+    @Test
+    void ImportUsers_RejectsRow_IfValueIsLongerThanColumn() throws IOException {
+        String csv = HEADER +
+                "John,Doe,john1@gmail.com,1990-02-03,,\n" +
+                "John,Doe,john2@gmail.com,1990-02-03," + "a".repeat(256) + ",\n";
+        List<Long> copied = new ArrayList<>();
+        when(userRepository.importUsers(any(), anyInt(), any())).thenAnswer(invocation -> {
+            Iterator<UserCsvRow> rows = invocation.getArgument(0);
+            rows.forEachRemaining(row -> copied.add(row.row()));
+            return new UserImportResultDto(copied.size(), 0, List.of());
+        });
+
+        UserImportResultDto result = importer().importUsers(stream(csv));
+
+        assertEquals(List.of(1L), copied);
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(new UserImportRejectionDto(2, 400,
+                        List.of("address: Address can not be longer than 255 characters."))),
+                result.getRejectedRows());
+    }
+
+    @Test
+    void ImportUsers_ThrowsNotValidFields_IfHeaderIsNotValid() {
+        assertThatThrownBy(() -> importer().importUsers(stream("name,email\n")))
+                .isInstanceOf(NotValidFieldsException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    private UserCsvImporter importer() {
+        return new UserCsvImporter(userRepository, new FieldsValidation(new UserRequestDtoValidator(18)),
+                executor, uniquenessFilter, BATCH_SIZE, 2, MAX_REPORTED_REJECTIONS);
+    }
+
+    private InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
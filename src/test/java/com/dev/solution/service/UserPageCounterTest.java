@@ -0,0 +1,126 @@
+package com.dev.solution.service;
+
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.UserRepository;
+import com.dev.solution.service.impl.UserPageCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPageCounterTest {
+    private static final LocalDate FROM_DATE = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO_DATE = LocalDate.of(2024, 12, 31);
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, 2);
+    private static final List<UserResponseDto> FULL_PAGE = Collections.nCopies(2, new UserResponseDto());
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void GetPage_CountsConcurrentlyWithContent() {
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch contentRead = new CountDownLatch(1);
+        when(userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE)).thenAnswer(invocation -> {
+            countStarted.countDown();
+            contentRead.await();
+            return 5L;
+        });
+        UserPageCounter pageCounter = pageCounter(new TaskExecutorAdapter(executor), Duration.ofSeconds(5));
+
+        Page<UserResponseDto> page = pageCounter.getPage(FROM_DATE, TO_DATE, PAGE_REQUEST, () -> {
+            // The content is read while the count is still running.
+            assertTrue(await(countStarted));
+            contentRead.countDown();
+            return FULL_PAGE;
+        });
+
+        assertEquals(5L, page.getTotalElements());
+        verify(userRepository, never()).estimateCountByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    void GetPage_FallsBackToEstimate_IfCountIsRejected() {
+        when(userRepository.estimateCountByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(7L);
+        UserPageCounter pageCounter = pageCounter(new TaskExecutorAdapter(task -> {
+            throw new RejectedExecutionException();
+        }), Duration.ofSeconds(5));
+
+        Page<UserResponseDto> page = pageCounter.getPage(FROM_DATE, TO_DATE, PAGE_REQUEST, () -> FULL_PAGE);
+
+        assertEquals(7L, page.getTotalElements());
+        verify(userRepository, never()).countByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    void GetPage_FallsBackToEstimate_IfCountTimesOut() {
+        CountDownLatch released = new CountDownLatch(1);
+        // The count may not even have started when the page stops waiting for it.
+        lenient().when(userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE)).thenAnswer(invocation -> {
+            released.await();
+            return 5L;
+        });
+        // Lower than the users already seen, the total is not.
+        when(userRepository.estimateCountByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(1L);
+        UserPageCounter pageCounter = pageCounter(new TaskExecutorAdapter(executor), Duration.ofMillis(50));
+
+        Page<UserResponseDto> page = pageCounter.getPage(FROM_DATE, TO_DATE, PAGE_REQUEST, () -> FULL_PAGE);
+        released.countDown();
+
+        assertEquals(2L, page.getTotalElements());
+    }
+
+    @Test
+    void GetPage_DoesNotWaitForCount_IfPageTellsTotal() {
+        UserPageCounter pageCounter = pageCounter(new TaskExecutorAdapter(executor), Duration.ofSeconds(5));
+
+        Page<UserResponseDto> page = pageCounter.getPage(FROM_DATE, TO_DATE, PAGE_REQUEST,
+                () -> List.of(new UserResponseDto()));
+
+        assertEquals(1L, page.getTotalElements());
+        verify(userRepository, never()).estimateCountByBirthDateBetween(any(), any());
+    }
+
+    private UserPageCounter pageCounter(TaskExecutorAdapter executor, Duration timeout) {
+        return new UserPageCounter(userRepository, executor, timeout);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
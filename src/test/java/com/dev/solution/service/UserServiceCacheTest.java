@@ -0,0 +1,103 @@
+package com.dev.solution.service;
+
+import com.dev.solution.config.CacheConfig;
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.dev.solution.repository.UserRepository;
+import com.dev.solution.service.impl.UserCsvImporter;
+import com.dev.solution.service.impl.UserPageCounter;
+import com.dev.solution.service.impl.UserServiceImpl;
+import com.dev.solution.service.impl.UserUniquenessFilter;
+import com.dev.solution.utils.export.UserExportWriter;
+import com.dev.solution.utils.mapper.UserMapper;
+import com.dev.solution.utils.validation.FieldsValidation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, UserServiceImpl.class}, properties = {
+        "users.cache.max-size=100",
+        "users.cache.ttl=1m",
+        "users.cache.off-heap.enabled=false",
+        "users.cache.off-heap.max-size=1MB"
+})
+public class UserServiceCacheTest {
+    private final Long USER_ID = 1L;
+    private final User USER = new User();
+    private final UserResponseDto RESPONSE_DTO = new UserResponseDto();
+    private final UserRequestDto REQUEST_DTO = new UserRequestDto();
+
+    @Autowired
+    private UserService userService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UserMapper userMapper;
+
+    @MockBean
+    private FieldsValidation fieldsValidation;
+
+    @MockBean
+    private UserExportWriter userExportWriter;
+
+    @MockBean
+    private UserUniquenessFilter uniquenessFilter;
+
+    @MockBean
+    private UserCsvImporter userCsvImporter;
+
+    @MockBean
+    private UserPageCounter pageCounter;
+
+    @Test
+    void FindById_ReadsUserFromCache_UntilItIsChanged() {
+        USER.setEmail("email");
+        USER.setPhoneNumber("phone");
+        REQUEST_DTO.setEmail("email");
+        REQUEST_DTO.setPhoneNumber("phone");
+        when(userRepository.findResponseById(USER_ID)).thenReturn(Optional.of(RESPONSE_DTO));
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        when(userRepository.saveAndFlush(USER)).thenReturn(USER);
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        assertEquals(RESPONSE_DTO, userService.findById(USER_ID));
+        assertEquals(RESPONSE_DTO, userService.findById(USER_ID));
+        verify(userRepository, times(1)).findResponseById(USER_ID);
+
+        userService.updateFullUser(USER_ID, REQUEST_DTO, null);
+        userService.findById(USER_ID);
+        verify(userRepository, times(2)).findResponseById(USER_ID);
+
+        when(userRepository.deleteUserById(eq(USER_ID), any())).thenReturn(1);
+        userService.deleteById(USER_ID);
+        userService.findById(USER_ID);
+        verify(userRepository, times(3)).findResponseById(USER_ID);
+    }
+
+    @Test
+    void FindVersionById_ReadsVersionOfCachedUser() {
+        // Not cached by the other test.
+        Long id = 2L;
+        UserResponseDto cached = new UserResponseDto();
+        cached.setVersion(7L);
+        when(userRepository.findResponseById(id)).thenReturn(Optional.of(cached));
+        when(userRepository.findVersionById(id)).thenReturn(Optional.of(3L));
+
+        // Not cached yet, the version is read without loading the user into the cache.
+        assertEquals(3L, userService.findVersionById(id));
+        verify(userRepository, never()).findResponseById(id);
+
+        userService.findById(id);
+        assertEquals(7L, userService.findVersionById(id));
+        verify(userRepository, times(1)).findVersionById(id);
+    }
+}
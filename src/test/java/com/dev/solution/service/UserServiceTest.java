@@ -1,28 +1,60 @@
 package com.dev.solution.service;
 
+import com.dev.solution.config.CacheConfig;
+import com.dev.solution.datasource.ReplicaRouting;
 import com.dev.solution.exception.AlreadyExistsException;
+import com.dev.solution.exception.ErrorMessage;
 import com.dev.solution.exception.NotFoundException;
 import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.exception.PreconditionFailedException;
 import com.dev.solution.model.User;
+import com.dev.solution.model.dto.DataResponseCursor;
+import com.dev.solution.model.dto.UserBatchItemDto;
+import com.dev.solution.model.dto.UserImportResultDto;
+import com.dev.solution.model.dto.UserPatch;
 import com.dev.solution.model.dto.UserRequestDto;
 import com.dev.solution.model.dto.UserResponseDto;
 import com.dev.solution.repository.UserRepository;
+import com.dev.solution.service.impl.UserCsvImporter;
+import com.dev.solution.service.impl.UserPageCounter;
 import com.dev.solution.service.impl.UserServiceImpl;
+import com.dev.solution.service.impl.UserUniquenessFilter;
+import com.dev.solution.utils.export.ExportFormat;
+import com.dev.solution.utils.export.UserExportWriter;
+import com.dev.solution.utils.mapper.UserMapper;
+import com.dev.solution.utils.pagination.UserCursor;
 import com.dev.solution.utils.validation.FieldsValidation;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -40,9 +72,17 @@ public class UserServiceTest {
     private FieldsValidation fieldsValidation;
 
     @Mock
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Mock
+    private UserExportWriter userExportWriter;
+
+    @Mock
+    private UserUniquenessFilter uniquenessFilter;
+
+    @Mock
+    private UserCsvImporter userCsvImporter;
 
-    @InjectMocks
     private UserServiceImpl userService;
 
     private final UserResponseDto RESPONSE_DTO = new UserResponseDto();
@@ -58,23 +98,224 @@ public class UserServiceTest {
     private final LocalDate TO_DATE = LocalDate.of(2024, 12, 31);
     private final PageRequest PAGE_REQUEST = PageRequest.of(0, 10);
 
+    @BeforeEach
+    void setUp() {
+        userService = userService(false);
+    }
+
     // --- findById
     @Test
     public void FindById_ShouldReturnUser() {
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
-        when(modelMapper.map(USER, UserResponseDto.class)).thenReturn(RESPONSE_DTO);
+        when(userRepository.findResponseById(USER_ID)).thenReturn(Optional.of(RESPONSE_DTO));
 
         assertEquals(userService.findById(USER_ID), RESPONSE_DTO);
-        verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
+        verify(userRepository, times(TIME_OF_INVOCATION)).findResponseById(USER_ID);
+        verify(userRepository, never()).findById(anyLong());
+        verifyNoInteractions(userMapper);
     }
 
     @Test
     public void FindById_ThrowsNotFound_IfUserByIdNotFound() {
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+        when(userRepository.findResponseById(USER_ID)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userService.findById(USER_ID))
                 .isInstanceOf(NotFoundException.class);
-        verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
+        verify(userRepository, times(TIME_OF_INVOCATION)).findResponseById(USER_ID);
+    }
+
+    // -- findVersionById
+    @Test
+    public void FindVersionById_ReturnsVersion() {
+        when(userRepository.findVersionById(USER_ID)).thenReturn(Optional.of(3L));
+
+        assertEquals(3L, userService.findVersionById(USER_ID));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void FindVersionById_ReadsVersionFromPrimary() {
+        when(userRepository.findVersionById(USER_ID)).thenAnswer(invocation ->
+                Optional.of(ReplicaRouting.isPrimaryRequired() ? 3L : 2L));
+
+        assertEquals(3L, userService.findVersionById(USER_ID));
+    }
+
+    @Test
+    public void FindVersionById_ThrowsNotFound_IfUserNotFound() {
+        when(userRepository.findVersionById(USER_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userService.findVersionById(USER_ID))
+                .isInstanceOf(NotFoundException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.USER_BY_ID_NOT_FOUND + USER_ID);
+    }
+
+    // -- findByDateBetween
+    @Test
+    public void FindByDateBetween_ReturnsProjectedUsers_WithTotal() {
+        // A full page, otherwise the total is known without the count.
+        List<UserResponseDto> users = Collections.nCopies(PAGE_REQUEST.getPageSize(), RESPONSE_DTO);
+        when(userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(users);
+        when(userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(11L);
+
+        Page<UserResponseDto> page = userService.findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+
+        assertEquals(users, page.getContent());
+        assertEquals(11L, page.getTotalElements());
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    public void FindByDateBetweenWithEstimatedTotal_ReturnsProjectedUsers() {
+        when(userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(List.of(RESPONSE_DTO));
+
+        Page<UserResponseDto> page = userService.findByDateBetweenWithEstimatedTotal(FROM_DATE, TO_DATE, PAGE_REQUEST);
+
+        assertEquals(List.of(RESPONSE_DTO), page.getContent());
+        assertEquals(1L, page.getTotalElements());
+        verify(userRepository, never()).estimateCountByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    public void FindByDateBetween_ShouldReturnListOfUsers() {
+        when(userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(List.of(RESPONSE_DTO, RESPONSE_DTO));
+
+        Page<UserResponseDto> byDateBetween = userService.findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+
+        assertEquals(byDateBetween.getContent().size(), 2);
+        assertEquals(byDateBetween.getTotalPages(), 1);
+        assertEquals(byDateBetween.getTotalElements(), 2);
+
+        verify(userRepository, times(TIME_OF_INVOCATION)).findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+        // The count is started with the content, the total of the last page is taken from the content.
+        verify(userRepository, never()).estimateCountByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    public void FindByDateBetween_ShouldCount_IfPageIsFull() {
+        PageRequest firstPage = PageRequest.of(0, 2);
+        when(userRepository.countByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(5L);
+        when(userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, firstPage)).thenReturn(List.of(RESPONSE_DTO, RESPONSE_DTO));
+
+        Page<UserResponseDto> byDateBetween = userService.findByDateBetween(FROM_DATE, TO_DATE, firstPage);
+
+        assertEquals(byDateBetween.getTotalPages(), 3);
+        assertEquals(byDateBetween.getTotalElements(), 5);
+        verify(userRepository, times(TIME_OF_INVOCATION)).countByBirthDateBetween(FROM_DATE, TO_DATE);
+    }
+
+    @Test
+    public void FindByDateBetweenWithEstimatedTotal_ShouldReturnEstimatedTotal() {
+        PageRequest firstPage = PageRequest.of(0, 2);
+        when(userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, firstPage)).thenReturn(List.of(RESPONSE_DTO, RESPONSE_DTO));
+        when(userRepository.estimateCountByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(100L);
+
+        Page<UserResponseDto> byDateBetween = userService.findByDateBetweenWithEstimatedTotal(FROM_DATE, TO_DATE, firstPage);
+
+        assertEquals(byDateBetween.getTotalElements(), 100);
+        verify(userRepository, never()).countByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    public void FindByDateBetweenWithEstimatedTotal_ShouldNotReturnTotalLowerThanSeenUsers() {
+        PageRequest secondPage = PageRequest.of(1, 2);
+        when(userRepository.findResponsesByBirthDateBetween(FROM_DATE, TO_DATE, secondPage)).thenReturn(List.of(RESPONSE_DTO, RESPONSE_DTO));
+        when(userRepository.estimateCountByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(1L);
+
+        Page<UserResponseDto> byDateBetween = userService.findByDateBetweenWithEstimatedTotal(FROM_DATE, TO_DATE, secondPage);
+
+        assertEquals(byDateBetween.getTotalElements(), 4);
+    }
+
+    @Test
+    public void FindSliceByDateBetween_ShouldReturnSliceWithoutCount() {
+        Slice<UserResponseDto> usersSlice = new SliceImpl<>(List.of(RESPONSE_DTO), PAGE_REQUEST, true);
+        when(userRepository.findResponseSliceByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(usersSlice);
+
+        Slice<UserResponseDto> bySlice = userService.findSliceByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+
+        assertEquals(bySlice.getContent(), List.of(RESPONSE_DTO));
+        assertEquals(bySlice.hasNext(), true);
+        verify(userRepository, never()).countByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    public void FindByDateBetween_ThrowsNotValidFieldsException_IfStartDateAfterEndDate() {
+
+        assertThatThrownBy(() -> userService.findByDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST))
+                .isInstanceOf(NotValidFieldsException.class);
+
+        verify(userRepository, never()).findResponsesByBirthDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST);
+    }
+
+    // -- findByDateBetween with cursor
+    @Test
+    public void FindByDateBetweenCursor_ShouldReturnFirstPage_WithNextCursor() {
+        UserResponseDto first = responseDto(1L, FROM_DATE);
+        UserResponseDto second = responseDto(2L, FROM_DATE.plusDays(1));
+        when(userRepository.findFirstResponsesByBirthDateBetween(FROM_DATE, TO_DATE, 2))
+                .thenReturn(List.of(first, second));
+
+        DataResponseCursor<UserResponseDto> page = userService.findByDateBetween(FROM_DATE, TO_DATE, "", 1);
+
+        assertEquals(page.getData(), List.of(first));
+        assertEquals(UserCursor.decode(page.getNext()), new UserCursor(FROM_DATE, 1L));
+    }
+
+    @Test
+    public void FindByDateBetweenCursor_ShouldSeekAfterCursor_AndReturnLastPage() {
+        String cursor = new UserCursor(FROM_DATE, 1L).encode();
+        UserResponseDto second = responseDto(2L, FROM_DATE.plusDays(1));
+        when(userRepository.findResponsesByBirthDateBetweenAfter(FROM_DATE, TO_DATE, FROM_DATE, 1L, 11))
+                .thenReturn(List.of(second));
+
+        DataResponseCursor<UserResponseDto> page = userService.findByDateBetween(FROM_DATE, TO_DATE, cursor, 10);
+
+        assertEquals(page.getData(), List.of(second));
+        assertEquals(page.getNext(), null);
+        verify(userRepository, never()).findFirstResponsesByBirthDateBetween(any(), any(), anyInt());
+    }
+
+    @Test
+    public void FindByDateBetweenCursor_ThrowsNotValidFieldsException_IfCursorNotValid() {
+
+        assertThatThrownBy(() -> userService.findByDateBetween(FROM_DATE, TO_DATE, "not a cursor", 10))
+                .isInstanceOf(NotValidFieldsException.class);
+
+        verify(userRepository, never()).findResponsesByBirthDateBetweenAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void FindByDateBetweenCursor_ThrowsNotValidFieldsException_IfSizeOutOfRange() {
+
+        assertThatThrownBy(() -> userService.findByDateBetween(FROM_DATE, TO_DATE, "", 0))
+                .isInstanceOf(NotValidFieldsException.class);
+        assertThatThrownBy(() -> userService.findByDateBetween(FROM_DATE, TO_DATE, "", Integer.MAX_VALUE))
+                .isInstanceOf(NotValidFieldsException.class);
+
+        verify(userRepository, never()).findFirstResponsesByBirthDateBetween(any(), any(), anyInt());
+    }
+
+    // -- exportByDateBetween
+    @Test
+    public void ExportByDateBetween_ShouldWriteStreamedUsers_AndCloseStream() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        boolean[] closed = {false};
+        Stream<UserResponseDto> users = Stream.of(RESPONSE_DTO).onClose(() -> closed[0] = true);
+        when(userRepository.streamByBirthDateBetween(FROM_DATE, TO_DATE)).thenReturn(users);
+
+        userService.exportByDateBetween(FROM_DATE, TO_DATE, ExportFormat.CSV, outputStream);
+
+        verify(userExportWriter, times(TIME_OF_INVOCATION)).write(any(Iterator.class), eq(ExportFormat.CSV), eq(outputStream));
+        assertEquals(closed[0], true);
+    }
+
+    @Test
+    public void ExportByDateBetween_ThrowsNotValidFieldsException_IfStartDateAfterEndDate() {
+
+        assertThatThrownBy(() -> userService.exportByDateBetween(TO_DATE, FROM_DATE, ExportFormat.CSV, new ByteArrayOutputStream()))
+                .isInstanceOf(NotValidFieldsException.class);
+
+        verify(userRepository, never()).streamByBirthDateBetween(any(), any());
     }
 
     // -- save
@@ -83,11 +324,11 @@ public class UserServiceTest {
         REQUEST_DTO.setEmail(EMAIL);
         REQUEST_DTO.setPhoneNumber(PHONE);
 
-        when(modelMapper.map(REQUEST_DTO, User.class)).thenReturn(USER);
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
         when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.empty());
         when(userRepository.save(USER)).thenReturn(USER);
-        when(modelMapper.map(USER, UserResponseDto.class)).thenReturn(RESPONSE_DTO);
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
 
         assertEquals(userService.save(REQUEST_DTO), RESPONSE_DTO);
         verify(userRepository, times(TIME_OF_INVOCATION)).save(USER);
@@ -96,12 +337,44 @@ public class UserServiceTest {
 
     }
 
+    @Test
+    public void Save_SkipsPhoneCheck_IfPhoneIsNull() {
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(null);
+
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        when(userRepository.save(USER)).thenReturn(USER);
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        assertEquals(userService.save(REQUEST_DTO), RESPONSE_DTO);
+        verify(uniquenessFilter, never()).isPhoneDefinitelyAbsent(any());
+        verify(userRepository, never()).findByPhoneNumber(any());
+    }
+
+    @Test
+    public void Save_SkipsUniquenessQueries_IfFilterSaysAbsent() {
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
+
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
+        when(uniquenessFilter.isEmailDefinitelyAbsent(EMAIL)).thenReturn(true);
+        when(uniquenessFilter.isPhoneDefinitelyAbsent(PHONE)).thenReturn(true);
+        when(userRepository.save(USER)).thenReturn(USER);
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        assertEquals(userService.save(REQUEST_DTO), RESPONSE_DTO);
+        verify(userRepository, never()).findByEmail(EMAIL);
+        verify(userRepository, never()).findByPhoneNumber(PHONE);
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).add(USER.getEmail(), USER.getPhoneNumber());
+    }
+
     @Test
     public void Save_ThrowsAlreadyExists_IfUserByEmailExist() {
         REQUEST_DTO.setEmail(EMAIL);
         REQUEST_DTO.setPhoneNumber(PHONE);
 
-        when(modelMapper.map(REQUEST_DTO, User.class)).thenReturn(USER);
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(USER));
 
         assertThatThrownBy(() -> userService.save(REQUEST_DTO))
@@ -116,7 +389,7 @@ public class UserServiceTest {
         REQUEST_DTO.setEmail(EMAIL);
         REQUEST_DTO.setPhoneNumber(PHONE);
 
-        when(modelMapper.map(REQUEST_DTO, User.class)).thenReturn(USER);
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
         when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.of(USER));
 
@@ -127,6 +400,207 @@ public class UserServiceTest {
         verify(userRepository, times(TIME_OF_INVOCATION)).findByPhoneNumber(PHONE);
     }
 
+    // -- saveAll
+    @Test
+    public void SaveAll_ShouldSaveValidUsers_AndReportRejectedOnes() {
+        UserRequestDto valid = requestDto(EMAIL, PHONE);
+        UserRequestDto takenInDb = requestDto(EMAIL_2, null);
+        UserRequestDto duplicateInBatch = requestDto("test email 3", PHONE);
+        UserRequestDto notValid = requestDto("test email 4", null);
+        User takenUser = new User();
+        takenUser.setEmail(EMAIL_2);
+
+        lenient().doThrow(new NotValidFieldsException(List.of("email: Invalid email format.")))
+                .when(fieldsValidation).validateFields(notValid);
+        when(userRepository.findByEmailInOrPhoneNumberIn(anyCollection(), anyCollection())).thenReturn(List.of(takenUser));
+        when(userMapper.toEntity(valid)).thenReturn(USER);
+        when(userRepository.insertSkippingConflicts(List.of(USER))).thenReturn(List.of(USER));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        List<UserBatchItemDto> results = userService.saveAll(Arrays.asList(valid, takenInDb, duplicateInBatch, notValid, null));
+
+        assertEquals(results.size(), 5);
+        assertEquals(results.get(0).getStatus(), 200);
+        assertEquals(results.get(0).getData(), RESPONSE_DTO);
+        assertEquals(results.get(1).getStatus(), 409);
+        assertEquals(results.get(2).getStatus(), 409);
+        assertEquals(results.get(3).getStatus(), 400);
+        assertEquals(results.get(4).getStatus(), 400);
+        verify(userRepository, times(TIME_OF_INVOCATION)).findByEmailInOrPhoneNumberIn(anyCollection(), anyCollection());
+        verify(userRepository, times(TIME_OF_INVOCATION)).insertSkippingConflicts(List.of(USER));
+    }
+
+    @Test
+    public void SaveAll_ShouldCheckUniquenessAndInsertInChunks() {
+        List<UserRequestDto> users = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            users.add(requestDto("email" + i, null));
+        }
+        when(userRepository.findByEmailInOrPhoneNumberIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(userMapper.toEntity(any(UserRequestDto.class))).thenReturn(USER);
+        when(userRepository.insertSkippingConflicts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        userService.saveAll(users);
+
+        verify(userRepository, times(3)).findByEmailInOrPhoneNumberIn(anyCollection(), anyCollection());
+        verify(userRepository, times(3)).insertSkippingConflicts(anyList());
+    }
+
+    @Test
+    public void SaveAll_SkipsUniquenessQuery_IfFilterSaysAllAbsent() {
+        UserRequestDto valid = requestDto(EMAIL, PHONE);
+        when(uniquenessFilter.isEmailDefinitelyAbsent(EMAIL)).thenReturn(true);
+        when(uniquenessFilter.isPhoneDefinitelyAbsent(PHONE)).thenReturn(true);
+        when(userMapper.toEntity(valid)).thenReturn(USER);
+        when(userRepository.insertSkippingConflicts(List.of(USER))).thenReturn(List.of(USER));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        List<UserBatchItemDto> results = userService.saveAll(List.of(valid));
+
+        assertEquals(results.get(0).getStatus(), 200);
+        verify(userRepository, never()).findByEmailInOrPhoneNumberIn(anyCollection(), anyCollection());
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).add(USER.getEmail(), USER.getPhoneNumber());
+    }
+
+    @Test
+    public void SaveAll_ReportsConflict_IfUserWasWrittenConcurrently() {
+        UserRequestDto valid = requestDto(EMAIL, PHONE);
+        UserRequestDto concurrentEmail = requestDto(EMAIL_2, null);
+        UserRequestDto concurrentPhone = requestDto("test email 3", PHONE_2);
+        User user = new User();
+        User userWithEmail = new User();
+        userWithEmail.setEmail(EMAIL_2);
+        User userWithPhone = new User();
+        userWithPhone.setEmail("test email 3");
+        userWithPhone.setPhoneNumber(PHONE_2);
+        User concurrentUser = new User();
+        concurrentUser.setEmail("other email");
+        concurrentUser.setPhoneNumber(PHONE_2);
+
+        when(uniquenessFilter.isEmailDefinitelyAbsent(anyString())).thenReturn(true);
+        when(uniquenessFilter.isPhoneDefinitelyAbsent(anyString())).thenReturn(true);
+        when(userMapper.toEntity(valid)).thenReturn(user);
+        when(userMapper.toEntity(concurrentEmail)).thenReturn(userWithEmail);
+        when(userMapper.toEntity(concurrentPhone)).thenReturn(userWithPhone);
+        when(userRepository.insertSkippingConflicts(List.of(user, userWithEmail, userWithPhone))).thenReturn(List.of(user));
+        when(userRepository.findByEmailInOrPhoneNumberIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(userWithEmail, concurrentUser));
+        when(userMapper.toResponseDto(user)).thenReturn(RESPONSE_DTO);
+
+        List<UserBatchItemDto> results = userService.saveAll(List.of(valid, concurrentEmail, concurrentPhone));
+
+        assertEquals(results.get(0).getStatus(), 200);
+        assertEquals(results.get(1).getStatus(), 409);
+        assertEquals(results.get(1).getMessage(), ErrorMessage.USER_BY_EMAIL_EXIST + EMAIL_2);
+        assertEquals(results.get(2).getStatus(), 409);
+        assertEquals(results.get(2).getMessage(), ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + PHONE_2);
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).add(user.getEmail(), user.getPhoneNumber());
+        verify(uniquenessFilter, never()).add(EMAIL_2, null);
+    }
+
+    // -- importUsers
+    @Test
+    public void ImportUsers_DelegatesToImporter() throws IOException {
+        InputStream csv = new ByteArrayInputStream(new byte[0]);
+        UserImportResultDto result = new UserImportResultDto(1, 0, List.of());
+        when(userCsvImporter.importUsers(csv)).thenReturn(result);
+
+        assertEquals(result, userService.importUsers(csv));
+    }
+
+    // -- deleteById
+    @Test
+    public void DeleteById_DeletesWithSingleStatement() {
+        when(userRepository.deleteUserById(eq(USER_ID), any())).thenReturn(1);
+
+        userService.deleteById(USER_ID);
+
+        verify(userRepository, times(TIME_OF_INVOCATION)).deleteUserById(eq(USER_ID), any());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void DeleteById_RemovesDeletedValuesFromUniquenessFilter() {
+        when(userRepository.deleteUserById(eq(USER_ID), any())).thenAnswer(invocation -> {
+            invocation.<BiConsumer<String, String>>getArgument(1).accept(EMAIL, PHONE);
+            return 1;
+        });
+
+        userService.deleteById(USER_ID);
+
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).removeAfterCommit(EMAIL, PHONE);
+    }
+
+    @Test
+    public void DeleteById_ThrowsNotFound_IfNoRowDeleted() {
+        when(userRepository.deleteUserById(eq(USER_ID), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> userService.deleteById(USER_ID))
+                .isInstanceOf(NotFoundException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.USER_BY_ID_NOT_FOUND + USER_ID);
+    }
+
+    // -- deleteAllById
+    @Test
+    public void DeleteAllById_DeletesInChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+        when(userRepository.deleteByIdIn(anyCollection(), any())).thenReturn(1000, 1000, 400);
+
+        assertEquals(2400, userService.deleteAllById(ids));
+        verify(userRepository).deleteByIdIn(eq(ids.subList(0, 1000)), any());
+        verify(userRepository).deleteByIdIn(eq(ids.subList(1000, 2000)), any());
+        verify(userRepository).deleteByIdIn(eq(ids.subList(2000, 2500)), any());
+    }
+
+    @Test
+    public void DeleteAllById_RemovesDeletedValuesFromUniquenessFilter() {
+        when(userRepository.deleteByIdIn(anyCollection(), any())).thenAnswer(invocation -> {
+            invocation.<BiConsumer<String, String>>getArgument(1).accept(EMAIL, PHONE);
+            invocation.<BiConsumer<String, String>>getArgument(1).accept(USER.getEmail(), null);
+            return 2;
+        });
+
+        assertEquals(2, userService.deleteAllById(List.of(1L, 2L)));
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).removeAfterCommit(EMAIL, PHONE);
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).removeAfterCommit(USER.getEmail(), null);
+    }
+
+    @Test
+    public void DeleteAllById_DoesNotQuery_IfIdsAreEmpty() {
+        assertEquals(0, userService.deleteAllById(List.of()));
+        verifyNoInteractions(userRepository);
+    }
+
+    // -- deleteByDateBetween
+    @Test
+    public void DeleteByDateBetween_DeletesChunks_UntilChunkIsShort() {
+        when(userRepository.deleteByBirthDateBetween(eq(FROM_DATE), eq(TO_DATE), eq(1000), any())).thenReturn(1000, 1000, 7);
+
+        assertEquals(2007, userService.deleteByDateBetween(FROM_DATE, TO_DATE));
+        verify(userRepository, times(3)).deleteByBirthDateBetween(eq(FROM_DATE), eq(TO_DATE), eq(1000), any());
+    }
+
+    @Test
+    public void DeleteByDateBetween_RemovesDeletedValuesFromUniquenessFilter() {
+        when(userRepository.deleteByBirthDateBetween(eq(FROM_DATE), eq(TO_DATE), eq(1000), any())).thenAnswer(invocation -> {
+            invocation.<BiConsumer<String, String>>getArgument(3).accept(EMAIL, PHONE);
+            return 1;
+        });
+
+        assertEquals(1, userService.deleteByDateBetween(FROM_DATE, TO_DATE));
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).removeAfterCommit(EMAIL, PHONE);
+    }
+
+    @Test
+    public void DeleteByDateBetween_ThrowsNotValidFields_IfStartDateAfterEndDate() {
+        assertThatThrownBy(() -> userService.deleteByDateBetween(TO_DATE, FROM_DATE))
+                .isInstanceOf(NotValidFieldsException.class);
+        verifyNoInteractions(userRepository);
+    }
+
     // -- updateFullUser
     @Test
     public void UpdateFullUser_ShouldUpdateUser_WithNewEmailAndPhone() {
@@ -138,11 +612,11 @@ public class UserServiceTest {
         setupCommonMocksForUpdateFullUser(USER, REQUEST_DTO);
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
         when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.empty());
-        when(userRepository.save(USER)).thenReturn(USER);
+        when(userRepository.saveAndFlush(USER)).thenReturn(USER);
 
-        assertEquals(userService.updateFullUser(USER_ID, REQUEST_DTO), RESPONSE_DTO);
+        assertEquals(userService.updateFullUser(USER_ID, REQUEST_DTO, null), RESPONSE_DTO);
 
-        verify(userRepository, times(TIME_OF_INVOCATION)).save(USER);
+        verify(userRepository, times(TIME_OF_INVOCATION)).saveAndFlush(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByEmail(EMAIL);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByPhoneNumber(PHONE);
@@ -156,11 +630,11 @@ public class UserServiceTest {
         USER.setPhoneNumber(PHONE);
 
         setupCommonMocksForUpdateFullUser(USER, REQUEST_DTO);
-        when(userRepository.save(USER)).thenReturn(USER);
+        when(userRepository.saveAndFlush(USER)).thenReturn(USER);
 
-        assertEquals(userService.updateFullUser(USER_ID, REQUEST_DTO), RESPONSE_DTO);
+        assertEquals(userService.updateFullUser(USER_ID, REQUEST_DTO, null), RESPONSE_DTO);
 
-        verify(userRepository, times(TIME_OF_INVOCATION)).save(USER);
+        verify(userRepository, times(TIME_OF_INVOCATION)).saveAndFlush(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, never()).findByEmail(EMAIL);
         verify(userRepository, never()).findByPhoneNumber(PHONE);
@@ -171,10 +645,10 @@ public class UserServiceTest {
 
         when(userRepository.findById(USER_ID)).thenThrow(new NotFoundException());
 
-        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO))
+        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO, null))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(userRepository, never()).save(USER);
+        verify(userRepository, never()).saveAndFlush(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, never()).findByEmail(EMAIL);
         verify(userRepository, never()).findByPhoneNumber(PHONE);
@@ -190,10 +664,10 @@ public class UserServiceTest {
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(USER));
         when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
 
-        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO))
+        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO, null))
                 .isInstanceOf(AlreadyExistsException.class);
 
-        verify(userRepository, never()).save(USER);
+        verify(userRepository, never()).saveAndFlush(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByEmail(EMAIL);
         verify(userRepository, never()).findByPhoneNumber(PHONE);
@@ -210,10 +684,10 @@ public class UserServiceTest {
         when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.of(USER));
         when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
 
-        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO))
+        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO, null))
                 .isInstanceOf(AlreadyExistsException.class);
 
-        verify(userRepository, never()).save(USER);
+        verify(userRepository, never()).saveAndFlush(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByEmail(EMAIL);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByPhoneNumber(PHONE);
@@ -224,158 +698,324 @@ public class UserServiceTest {
     public void UpdatePartUser_ShouldUpdateUser_WithNewEmailAndPhone() {
         USER.setEmail(EMAIL_2);
         USER.setPhoneNumber(PHONE_2);
-        REQUEST_DTO.setEmail(EMAIL);
-        REQUEST_DTO.setPhoneNumber(PHONE);
+        UserPatch patch = new UserPatch().setEmail(EMAIL).setPhoneNumber(PHONE);
 
-        setupCommonMocksPartlyUpdate(USER, REQUEST_DTO);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
         when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.empty());
-        when(userRepository.save(USER)).thenReturn(USER);
-        when(modelMapper.map(USER, UserResponseDto.class)).thenReturn(RESPONSE_DTO);
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
 
-        assertEquals(userService.updatePartUser(USER_ID, new HashMap<>()), RESPONSE_DTO);
+        assertEquals(userService.updatePartUser(USER_ID, patch, null), RESPONSE_DTO);
 
-        verify(userRepository, times(TIME_OF_INVOCATION)).save(USER);
+        verify(userRepository, never()).save(any());
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByEmail(EMAIL);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByPhoneNumber(PHONE);
-        verify(fieldsValidation, times(TIME_OF_INVOCATION)).validateFields(REQUEST_DTO);
+        verify(fieldsValidation, times(TIME_OF_INVOCATION)).validatePatch(patch);
+        verify(userMapper, times(TIME_OF_INVOCATION)).applyPatch(patch, USER);
     }
 
     @Test
     public void UpdatePartUser_ShouldUpdateUser() {
         USER.setEmail(EMAIL);
         USER.setPhoneNumber(PHONE);
-        REQUEST_DTO.setEmail(EMAIL);
-        REQUEST_DTO.setPhoneNumber(PHONE);
+        UserPatch patch = new UserPatch().setEmail(EMAIL).setPhoneNumber(PHONE);
 
-        setupCommonMocksPartlyUpdate(USER, REQUEST_DTO);
-        when(modelMapper.map(USER, UserResponseDto.class)).thenReturn(RESPONSE_DTO);
-        when(userRepository.save(USER)).thenReturn(USER);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
 
-        assertEquals(userService.updatePartUser(USER_ID, new HashMap<>()), RESPONSE_DTO);
+        assertEquals(userService.updatePartUser(USER_ID, patch, null), RESPONSE_DTO);
 
-        verify(userRepository, times(TIME_OF_INVOCATION)).save(USER);
+        verify(userRepository, never()).save(any());
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, never()).findByEmail(EMAIL);
         verify(userRepository, never()).findByPhoneNumber(PHONE);
-        verify(fieldsValidation, times(TIME_OF_INVOCATION)).validateFields(REQUEST_DTO);
+        verify(fieldsValidation, times(TIME_OF_INVOCATION)).validatePatch(patch);
+        verify(userMapper, times(TIME_OF_INVOCATION)).applyPatch(patch, USER);
+    }
+
+    @Test
+    public void UpdatePartUser_SkipsUniquenessChecks_IfEmailAndPhoneNotPatched() {
+        USER.setEmail(EMAIL);
+        USER.setPhoneNumber(PHONE);
+        UserPatch patch = new UserPatch().setFirstName("First");
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        assertEquals(userService.updatePartUser(USER_ID, patch, null), RESPONSE_DTO);
+
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findByPhoneNumber(any());
+        verify(userMapper, times(TIME_OF_INVOCATION)).applyPatch(patch, USER);
+    }
+
+    @Test
+    public void UpdatePartUser_SkipsPhoneCheck_IfPhoneRemoved() {
+        USER.setEmail(EMAIL);
+        USER.setPhoneNumber(PHONE);
+        UserPatch patch = new UserPatch().setPhoneNumber(null);
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
+
+        assertEquals(userService.updatePartUser(USER_ID, patch, null), RESPONSE_DTO);
+
+        verify(userRepository, never()).findByPhoneNumber(any());
+        verify(uniquenessFilter, times(TIME_OF_INVOCATION)).removeAfterCommit(EMAIL, PHONE);
     }
 
     @Test
     public void UpdatePartUser_ThrowsNotFound_IfUserByIdNotFound() {
+        UserPatch patch = new UserPatch().setEmail(EMAIL);
 
         when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, new HashMap<>()))
+        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, patch, null))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(userRepository, never()).save(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, never()).findByEmail(EMAIL);
-        verify(userRepository, never()).findByPhoneNumber(PHONE);
-        verify(fieldsValidation, never()).validateFields(REQUEST_DTO);
+        verify(userMapper, never()).applyPatch(any(), any());
     }
 
     @Test
     public void UpdatePartUser_ThrowsAlreadyExist_IfUserWithEmailExist() {
         USER.setEmail(EMAIL_2);
         USER.setPhoneNumber(PHONE_2);
-        REQUEST_DTO.setEmail(EMAIL);
-        REQUEST_DTO.setPhoneNumber(PHONE);
+        UserPatch patch = new UserPatch().setEmail(EMAIL).setPhoneNumber(PHONE);
 
-        setupCommonMocksPartlyUpdate(USER, REQUEST_DTO);
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(USER));
         when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
 
-        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, new HashMap<>()))
+        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, patch, null))
                 .isInstanceOf(AlreadyExistsException.class);
 
-        verify(userRepository, never()).save(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByEmail(EMAIL);
         verify(userRepository, never()).findByPhoneNumber(PHONE);
-        verify(fieldsValidation, times(TIME_OF_INVOCATION)).validateFields(REQUEST_DTO);
+        verify(userMapper, never()).applyPatch(any(), any());
     }
 
     @Test
     public void UpdatePartUser_ThrowsAlreadyExist_IfUserWithPhoneExist() {
         USER.setEmail(EMAIL_2);
         USER.setPhoneNumber(PHONE_2);
-        REQUEST_DTO.setEmail(EMAIL);
-        REQUEST_DTO.setPhoneNumber(PHONE);
+        UserPatch patch = new UserPatch().setEmail(EMAIL).setPhoneNumber(PHONE);
 
-        setupCommonMocksPartlyUpdate(USER, REQUEST_DTO);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
         when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
         when(userRepository.findByPhoneNumber(PHONE)).thenReturn(Optional.of(USER));
 
-        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, new HashMap<>()))
+        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, patch, null))
                 .isInstanceOf(AlreadyExistsException.class);
 
-        verify(userRepository, never()).save(USER);
         verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByEmail(EMAIL);
         verify(userRepository, times(TIME_OF_INVOCATION)).findByPhoneNumber(PHONE);
-        verify(fieldsValidation, times(TIME_OF_INVOCATION)).validateFields(REQUEST_DTO);
+        verify(userMapper, never()).applyPatch(any(), any());
     }
 
     @Test
-    public void UpdatePartUser_ThrowsNotValidFieldsException_IfMapParametersNotValid() {
+    public void UpdatePartUser_ThrowsNotValidFieldsException_IfPatchNotValid() {
+        UserPatch patch = new UserPatch().setEmail(null);
 
-        when(modelMapper.map(USER, UserRequestDto.class)).thenReturn(REQUEST_DTO);
-        doNothing().when(modelMapper).map(new HashMap<>(), REQUEST_DTO);
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
-        doThrow(new NotValidFieldsException()).when(fieldsValidation).validateFields(any(UserRequestDto.class));
+        doThrow(new NotValidFieldsException()).when(fieldsValidation).validatePatch(patch);
 
-        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, new HashMap<>()))
+        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, patch, null))
                 .isInstanceOf(NotValidFieldsException.class);
 
-        verify(userRepository, never()).save(USER);
-        verify(userRepository, times(TIME_OF_INVOCATION)).findById(USER_ID);
-        verify(userRepository, never()).findByEmail(EMAIL);
-        verify(userRepository, never()).findByPhoneNumber(PHONE);
-        verify(fieldsValidation, times(TIME_OF_INVOCATION)).validateFields(REQUEST_DTO);
+        verify(userRepository, never()).findById(USER_ID);
+        verify(userMapper, never()).applyPatch(any(), any());
     }
 
-    // -- findByDateBetween
+    // -- optimistic writes
     @Test
-    public void FindByDateBetween_ShouldReturnListOfUsers() {
-        Page<User> usersPage = new PageImpl<>(List.of(USER, USER));
+    public void Save_Optimistic_SkipsUniquenessQueries() {
+        userService = userService(true);
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
 
-        when(userRepository.findByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST)).thenReturn(usersPage);
-        when(modelMapper.map(USER, UserResponseDto.class)).thenReturn(RESPONSE_DTO);
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
+        when(userRepository.save(USER)).thenReturn(USER);
+        when(userMapper.toResponseDto(USER)).thenReturn(RESPONSE_DTO);
 
-        Page<UserResponseDto> byDateBetween = userService.findByDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+        assertEquals(userService.save(REQUEST_DTO), RESPONSE_DTO);
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findByPhoneNumber(any());
+        verify(uniquenessFilter, never()).isEmailDefinitelyAbsent(any());
+    }
 
-        assertEquals(byDateBetween.getContent().size(), 2);
-        assertEquals(byDateBetween.getTotalPages(), 1);
-        assertEquals(byDateBetween.getTotalElements(), 2);
+    @Test
+    public void Save_Optimistic_ThrowsAlreadyExists_IfEmailConstraintViolated() {
+        userService = userService(true);
+        USER.setEmail(EMAIL);
+
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
+        when(userRepository.save(USER)).thenThrow(uniqueViolation(User.EMAIL_UNIQUE_CONSTRAINT));
 
-        verify(userRepository, times(TIME_OF_INVOCATION)).findByBirthDateBetween(FROM_DATE, TO_DATE, PAGE_REQUEST);
+        assertThatThrownBy(() -> userService.save(REQUEST_DTO))
+                .isInstanceOf(AlreadyExistsException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.USER_BY_EMAIL_EXIST + EMAIL);
+        verify(uniquenessFilter, never()).add(any(), any());
     }
 
     @Test
-    public void FindByDateBetween_ThrowsNotValidFieldsException_IfStartDateAfterEndDate() {
+    public void Save_RethrowsIntegrityViolation_IfNotUniqueConstraint() {
+        userService = userService(true);
+        DataIntegrityViolationException violation = uniqueViolation("users_first_name_not_null");
 
-        assertThatThrownBy(() -> userService.findByDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST))
-                .isInstanceOf(NotValidFieldsException.class);
+        when(userMapper.toEntity(REQUEST_DTO)).thenReturn(USER);
+        when(userRepository.save(USER)).thenThrow(violation);
+
+        assertThatThrownBy(() -> userService.save(REQUEST_DTO)).isSameAs(violation);
+    }
+
+    @Test
+    public void UpdateFullUser_Optimistic_ThrowsAlreadyExists_IfPhoneConstraintViolated() {
+        userService = userService(true);
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
+        USER.setEmail(EMAIL_2);
+        USER.setPhoneNumber(PHONE_2);
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        doAnswer(invocation -> {
+            USER.setPhoneNumber(PHONE);
+            return null;
+        }).when(userMapper).updateEntity(REQUEST_DTO, USER);
+        // Without a Hibernate exception in the chain, the constraint is found in the driver message.
+        when(userRepository.saveAndFlush(USER)).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLException("duplicate key value violates unique constraint \"uk_users_phone_number\"")));
+
+        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO, null))
+                .isInstanceOf(AlreadyExistsException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.USER_BY_PHONE_NUMBER_EXIST + PHONE);
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).findByPhoneNumber(any());
+    }
+
+    @Test
+    public void UpdatePartUser_Optimistic_ThrowsAlreadyExists_IfEmailConstraintViolated() {
+        userService = userService(true);
+        USER.setEmail(EMAIL_2);
+        UserPatch patch = new UserPatch().setEmail(EMAIL);
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        doAnswer(invocation -> {
+            USER.setEmail(EMAIL);
+            return null;
+        }).when(userMapper).applyPatch(patch, USER);
+        doThrow(uniqueViolation(User.EMAIL_UNIQUE_CONSTRAINT)).when(userRepository).flush();
+
+        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, patch, null))
+                .isInstanceOf(AlreadyExistsException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.USER_BY_EMAIL_EXIST + EMAIL);
+        verify(userRepository, never()).findByEmail(any());
+        verify(uniquenessFilter, never()).add(any(), any());
+    }
+
+    // -- conditional updates
+    @Test
+    public void UpdateFullUser_UpdatesUser_IfMatchIsCurrent() {
+        USER.setVersion(3L);
+        USER.setEmail(EMAIL);
+        USER.setPhoneNumber(PHONE);
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
+
+        setupCommonMocksForUpdateFullUser(USER, REQUEST_DTO);
+        when(userRepository.saveAndFlush(USER)).thenReturn(USER);
+
+        assertEquals(RESPONSE_DTO, userService.updateFullUser(USER_ID, REQUEST_DTO, "\"3\""));
+        verify(userRepository, times(TIME_OF_INVOCATION)).saveAndFlush(USER);
+    }
+
+    @Test
+    public void UpdateFullUser_ThrowsPreconditionFailed_IfMatchIsStale() {
+        USER.setVersion(3L);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+
+        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO, "\"2\""))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.USER_VERSION_NOT_MATCHED + USER_ID);
+        verify(userMapper, never()).updateEntity(any(), any());
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void UpdateFullUser_ThrowsPreconditionFailed_IfChangedConcurrentlyWithIfMatch() {
+        USER.setVersion(3L);
+        USER.setEmail(EMAIL);
+        USER.setPhoneNumber(PHONE);
+        REQUEST_DTO.setEmail(EMAIL);
+        REQUEST_DTO.setPhoneNumber(PHONE);
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        when(userRepository.saveAndFlush(USER)).thenThrow(new ObjectOptimisticLockingFailureException(User.class, USER_ID));
 
-        verify(userRepository, never()).findByBirthDateBetween(TO_DATE, FROM_DATE, PAGE_REQUEST);
+        assertThatThrownBy(() -> userService.updateFullUser(USER_ID, REQUEST_DTO, "*"))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(uniquenessFilter, never()).add(any(), any());
+    }
+
+    @Test
+    public void UpdatePartUser_ThrowsOptimisticLockingFailure_IfChangedConcurrentlyWithoutIfMatch() {
+        USER.setVersion(3L);
+        UserPatch patch = new UserPatch().setFirstName("Updated");
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, USER_ID)).when(userRepository).flush();
+
+        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, patch, null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    public void UpdatePartUser_ThrowsPreconditionFailed_IfMatchIsStale() {
+        USER.setVersion(3L);
+        UserPatch patch = new UserPatch().setFirstName("Updated");
+
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(USER));
+
+        assertThatThrownBy(() -> userService.updatePartUser(USER_ID, patch, "W/\"3\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(userMapper, never()).applyPatch(any(), any());
+        verify(userRepository, never()).flush();
     }
 
     // -- private methods
 
-    private void setupCommonMocksPartlyUpdate(User user, UserRequestDto requestDto) {
-        when(modelMapper.map(user, UserRequestDto.class)).thenReturn(requestDto);
-        when(modelMapper.map(requestDto, User.class)).thenReturn(user);
-        doNothing().when(modelMapper).map(anyMap(), eq(requestDto));
-        doNothing().when(fieldsValidation).validateFields(requestDto);
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+    private UserServiceImpl userService(boolean optimisticWrites) {
+        // Counts on the calling thread, the concurrency of the count is covered by UserPageCounterTest.
+        UserPageCounter pageCounter = new UserPageCounter(userRepository, new TaskExecutorAdapter(Runnable::run), Duration.ofSeconds(1));
+        return new UserServiceImpl(userRepository, userMapper, fieldsValidation, userExportWriter,
+                uniquenessFilter, userCsvImporter, pageCounter, new ConcurrentMapCacheManager(CacheConfig.USERS_CACHE),
+                optimisticWrites);
+    }
+
+    private DataIntegrityViolationException uniqueViolation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraint));
+    }
+
+    private UserResponseDto responseDto(Long id, LocalDate birthDate) {
+        UserResponseDto responseDto = new UserResponseDto();
+        responseDto.setId(id);
+        responseDto.setBirthDate(birthDate);
+        return responseDto;
+    }
+
+    private UserRequestDto requestDto(String email, String phone) {
+        UserRequestDto requestDto = new UserRequestDto();
+        requestDto.setEmail(email);
+        requestDto.setPhoneNumber(phone);
+        return requestDto;
     }
 
     private void setupCommonMocksForUpdateFullUser(User user, UserRequestDto requestDto) {
-        doNothing().when(modelMapper).map(requestDto, user);
-        when(modelMapper.map(user, UserResponseDto.class)).thenReturn(RESPONSE_DTO);
+        doNothing().when(userMapper).updateEntity(requestDto, user);
+        when(userMapper.toResponseDto(user)).thenReturn(RESPONSE_DTO);
         when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
 
     }
@@ -0,0 +1,51 @@
+package com.dev.solution.utils.export;
+
+import com.dev.solution.model.dto.UserResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UserExportWriterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final UserExportWriter userExportWriter = new UserExportWriter(objectMapper);
+
+    private final UserResponseDto USER = new UserResponseDto(1L, "First", "Last", "email@gmail.com",
+            LocalDate.of(1995, 1, 1), "Street 1, \"City\"", null, 0L);
+
+    @Test
+    void Write_Ndjson_OneObjectPerLine() throws IOException {
+        String expected = objectMapper.writeValueAsString(USER) + "\n" + objectMapper.writeValueAsString(USER) + "\n";
+
+        assertEquals(expected, write(List.of(USER, USER), ExportFormat.NDJSON));
+    }
+
+    @Test
+    void Write_Csv_HeaderAndQuotedFields() throws IOException {
+        String expected = "id,firstName,lastName,email,birthDate,address,phoneNumber\n" +
+                "1,First,Last,email@gmail.com,1995-01-01,\"Street 1, \"\"City\"\"\",\n";
+
+        assertEquals(expected, write(List.of(USER), ExportFormat.CSV));
+    }
+
+    @Test
+    void Write_Csv_OnlyHeader_IfNoUsers() throws IOException {
+        assertEquals("id,firstName,lastName,email,birthDate,address,phoneNumber\n", write(List.of(), ExportFormat.CSV));
+    }
+
+    private String write(List<UserResponseDto> users, ExportFormat format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        userExportWriter.write(users.iterator(), format, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
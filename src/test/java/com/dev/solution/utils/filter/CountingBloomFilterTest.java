@@ -0,0 +1,61 @@
+package com.dev.solution.utils.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CountingBloomFilterTest {
+    private static final int SIZE = 10_000;
+
+    @Test
+    void MightContain_AddedValues_AlwaysTrue() {
+        CountingBloomFilter filter = new CountingBloomFilter(SIZE, 0.01);
+        for (int i = 0; i < SIZE; i++) {
+            filter.add("user" + i + "@gmail.com");
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertTrue(filter.mightContain("user" + i + "@gmail.com"));
+        }
+    }
+
+    @Test
+    void MightContain_NotAddedValues_FalsePositivesNearConfiguredRate() {
+        CountingBloomFilter filter = new CountingBloomFilter(SIZE, 0.01);
+        for (int i = 0; i < SIZE; i++) {
+            filter.add("user" + i + "@gmail.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = SIZE; i < SIZE * 2; i++) {
+            if (filter.mightContain("user" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < SIZE * 0.02, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void Remove_ValueIsAbsent_OtherValuesStay() {
+        CountingBloomFilter filter = new CountingBloomFilter(SIZE, 0.01);
+        filter.add("first@gmail.com");
+        filter.add("second@gmail.com");
+
+        filter.remove("first@gmail.com");
+
+        assertFalse(filter.mightContain("first@gmail.com"));
+        assertTrue(filter.mightContain("second@gmail.com"));
+    }
+
+    @Test
+    void Remove_ValueAddedTwice_StaysAfterOneRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(SIZE, 0.01);
+        filter.add("first@gmail.com");
+        filter.add("first@gmail.com");
+
+        filter.remove("first@gmail.com");
+
+        assertTrue(filter.mightContain("first@gmail.com"));
+    }
+}
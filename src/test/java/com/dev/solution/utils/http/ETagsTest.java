@@ -0,0 +1,34 @@
+package com.dev.solution.utils.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ETagsTest {
+    private static final String E_TAG = ETags.of(3);
+
+    @Test
+    void Of_QuotesVersion() {
+        assertEquals("\"3\"", E_TAG);
+    }
+
+    @Test
+    void MatchesWeakly_AcceptsWeakAndStrongTags() {
+        assertTrue(ETags.matchesWeakly("\"3\"", E_TAG));
+        assertTrue(ETags.matchesWeakly("W/\"3\"", E_TAG));
+        assertTrue(ETags.matchesWeakly("\"1\", W/\"3\"", E_TAG));
+        assertTrue(ETags.matchesWeakly(" * ", E_TAG));
+        assertFalse(ETags.matchesWeakly("\"2\", W/\"4\"", E_TAG));
+    }
+
+    @Test
+    void MatchesStrongly_RejectsWeakTags() {
+        assertTrue(ETags.matchesStrongly("\"3\"", E_TAG));
+        assertTrue(ETags.matchesStrongly("\"1\",\"3\"", E_TAG));
+        assertTrue(ETags.matchesStrongly("*", E_TAG));
+        assertFalse(ETags.matchesStrongly("W/\"3\"", E_TAG));
+        assertFalse(ETags.matchesStrongly("3", E_TAG));
+    }
+}
@@ -0,0 +1,200 @@
+package com.dev.solution.utils.http;
+
+import com.dev.solution.model.dto.DataResponse;
+import com.dev.solution.model.dto.DataResponsePage;
+import com.dev.solution.model.dto.UserRequestDto;
+import com.dev.solution.model.dto.UserResponseDto;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserProtobufHttpMessageConverterTest {
+    private static final MediaType PROTOBUF = UserProtobufHttpMessageConverter.PROTOBUF;
+    private static final Type USER_RESPONSE = new ParameterizedTypeReference<DataResponse<UserResponseDto>>() {
+    }.getType();
+    private static final Type USER_PAGE = new ParameterizedTypeReference<DataResponsePage<UserResponseDto>>() {
+    }.getType();
+    private static final LocalDate BIRTH_DATE = LocalDate.of(1965, 3, 4);
+
+    private final UserProtobufHttpMessageConverter converter = new UserProtobufHttpMessageConverter();
+    // The messages of proto/users.proto, described independently of the converter to check its wire format.
+    private final Descriptors.FileDescriptor schema = schema();
+
+    @Test
+    void CanWrite_OnlyUserPayloads() {
+        assertTrue(converter.canWrite(USER_RESPONSE, DataResponse.class, PROTOBUF));
+        assertTrue(converter.canWrite(USER_PAGE, DataResponsePage.class, PROTOBUF));
+        assertFalse(converter.canWrite(USER_RESPONSE, DataResponse.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(new ParameterizedTypeReference<DataResponse<Long>>() {
+        }.getType(), DataResponse.class, PROTOBUF));
+        assertFalse(converter.canWrite(DataResponse.class, PROTOBUF));
+        assertTrue(converter.canRead(UserRequestDto.class, null, PROTOBUF));
+        assertFalse(converter.canRead(UserResponseDto.class, null, PROTOBUF));
+    }
+
+    @Test
+    void Write_DataResponse_IsUserResponseMessage() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new DataResponse<>(user(1L, null, "")), USER_RESPONSE, PROTOBUF, output);
+
+        DynamicMessage message = DynamicMessage.parseFrom(message("UserResponse"), output.getBodyAsBytes());
+        DynamicMessage user = (DynamicMessage) message.getField(field("UserResponse", "data"));
+        assertEquals(1L, user.getField(field("User", "id")));
+        assertEquals("First1", user.getField(field("User", "first_name")));
+        assertEquals("user1@gmail.com", user.getField(field("User", "email")));
+        assertEquals(BIRTH_DATE.toEpochDay(), user.getField(field("User", "birth_date")));
+        assertFalse(user.hasField(field("User", "address")));
+        assertTrue(user.hasField(field("User", "phone_number")));
+        assertEquals("", user.getField(field("User", "phone_number")));
+        assertEquals(PROTOBUF, output.getHeaders().getContentType());
+    }
+
+    @Test
+    void Write_User_CarriesVersion() throws Exception {
+        UserResponseDto updated = user(1L, null, null);
+        updated.setVersion(7L);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(new DataResponsePage<>(List.of(updated, user(2L, null, null)), 1, 2), USER_PAGE, PROTOBUF, output);
+
+        DynamicMessage page = DynamicMessage.parseFrom(message("UserPage"), output.getBodyAsBytes());
+        DynamicMessage first = (DynamicMessage) page.getRepeatedField(field("UserPage", "data"), 0);
+        DynamicMessage second = (DynamicMessage) page.getRepeatedField(field("UserPage", "data"), 1);
+        assertEquals(7L, first.getField(field("User", "version")));
+        assertEquals("user1@gmail.com", first.getField(field("User", "email")));
+        // Version 0 is the proto3 default and is not written, it is read as 0.
+        assertFalse(second.hasField(field("User", "version")));
+        assertEquals(0L, second.getField(field("User", "version")));
+        assertEquals(2L, page.getField(field("UserPage", "total_elements")));
+    }
+
+    @Test
+    void Write_DataResponsePage_IsUserPageMessage() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        List<UserResponseDto> users = List.of(user(1L, "Street 1", "+380"), user(2L, null, null));
+        converter.write(new DataResponsePage<>(users, 3, 25), USER_PAGE, PROTOBUF, output);
+
+        DynamicMessage page = DynamicMessage.parseFrom(message("UserPage"), output.getBodyAsBytes());
+        assertEquals(2, page.getRepeatedFieldCount(field("UserPage", "data")));
+        DynamicMessage second = (DynamicMessage) page.getRepeatedField(field("UserPage", "data"), 1);
+        assertEquals(2L, second.getField(field("User", "id")));
+        assertEquals(3L, page.getField(field("UserPage", "total_pages")));
+        assertEquals(25L, page.getField(field("UserPage", "total_elements")));
+    }
+
+    @Test
+    void Read_UserRequestMessage_AbsentFieldsAreNull() throws Exception {
+        byte[] body = DynamicMessage.newBuilder(message("UserRequest"))
+                .setField(field("UserRequest", "first_name"), "First")
+                .setField(field("UserRequest", "email"), "user@gmail.com")
+                .setField(field("UserRequest", "birth_date"), BIRTH_DATE.toEpochDay())
+                .setField(field("UserRequest", "phone_number"), "+380")
+                .build()
+                .toByteArray();
+
+        UserRequestDto user = (UserRequestDto) converter.read(UserRequestDto.class, null, input(body));
+
+        assertEquals("First", user.getFirstName());
+        assertNull(user.getLastName());
+        assertEquals("user@gmail.com", user.getEmail());
+        assertEquals(BIRTH_DATE, user.getBirthDate());
+        assertNull(user.getAddress());
+        assertEquals("+380", user.getPhoneNumber());
+    }
+
+    @Test
+    void Read_ThrowsNotReadable_IfMessageTruncated() {
+        byte[] body = {0x0A, 0x05, 'F', 'i'};
+
+        assertThatThrownBy(() -> converter.read(UserRequestDto.class, null, input(body)))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    private UserResponseDto user(long id, String address, String phoneNumber) {
+        return new UserResponseDto(id, "First" + id, "Last" + id, "user" + id + "@gmail.com", BIRTH_DATE,
+                address, phoneNumber, 0L);
+    }
+
+    private MockHttpInputMessage input(byte[] body) {
+        MockHttpInputMessage input = new MockHttpInputMessage(body);
+        input.getHeaders().setContentType(PROTOBUF);
+        return input;
+    }
+
+    private Descriptors.Descriptor message(String name) {
+        return schema.findMessageTypeByName(name);
+    }
+
+    private Descriptors.FieldDescriptor field(String message, String name) {
+        return message(message).findFieldByName(name);
+    }
+
+    // Declared as proto2 with optional fields, which has the same wire format and tracks the presence of every field.
+    private static Descriptors.FileDescriptor schema() {
+        DescriptorProto user = DescriptorProto.newBuilder().setName("User")
+                .addField(field("id", 1, FieldDescriptorProto.Type.TYPE_INT64))
+                .addField(field("first_name", 2, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("last_name", 3, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("email", 4, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("birth_date", 5, FieldDescriptorProto.Type.TYPE_SINT64))
+                .addField(field("address", 6, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("phone_number", 7, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("version", 8, FieldDescriptorProto.Type.TYPE_INT64))
+                .build();
+        DescriptorProto userResponse = DescriptorProto.newBuilder().setName("UserResponse")
+                .addField(field("data", 1, FieldDescriptorProto.Type.TYPE_MESSAGE).toBuilder().setTypeName("User"))
+                .build();
+        DescriptorProto userPage = DescriptorProto.newBuilder().setName("UserPage")
+                .addField(field("data", 1, FieldDescriptorProto.Type.TYPE_MESSAGE).toBuilder().setTypeName("User")
+                        .setLabel(FieldDescriptorProto.Label.LABEL_REPEATED))
+                .addField(field("total_pages", 2, FieldDescriptorProto.Type.TYPE_INT64))
+                .addField(field("total_elements", 3, FieldDescriptorProto.Type.TYPE_INT64))
+                .build();
+        DescriptorProto userRequest = DescriptorProto.newBuilder().setName("UserRequest")
+                .addField(field("first_name", 1, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("last_name", 2, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("email", 3, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("birth_date", 4, FieldDescriptorProto.Type.TYPE_SINT64))
+                .addField(field("address", 5, FieldDescriptorProto.Type.TYPE_STRING))
+                .addField(field("phone_number", 6, FieldDescriptorProto.Type.TYPE_STRING))
+                .build();
+        FileDescriptorProto file = FileDescriptorProto.newBuilder()
+                .setName("users.proto")
+                .addMessageType(user)
+                .addMessageType(userResponse)
+                .addMessageType(userPage)
+                .addMessageType(userRequest)
+                .build();
+        try {
+            return Descriptors.FileDescriptor.buildFrom(file, new Descriptors.FileDescriptor[0]);
+        } catch (Descriptors.DescriptorValidationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FieldDescriptorProto field(String name, int number, FieldDescriptorProto.Type type) {
+        return FieldDescriptorProto.newBuilder()
+                .setName(name)
+                .setNumber(number)
+                .setType(type)
+                .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.dev.solution.utils.imports;
+
+import com.dev.solution.exception.ErrorMessage;
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class UserCsvReaderTest {
+    private static final String HEADER = "firstName,lastName,email,birthDate,address,phoneNumber\n";
+
+    @Test
+    void Read_MapsColumnsByHeader_AndIgnoresId() throws IOException {
+        List<UserCsvRow> rows = read("email,id,birthDate,lastName,firstName\n" +
+                "john@gmail.com,7,1990-02-03,Doe,John\n");
+
+        UserRequestDto user = new UserRequestDto();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setEmail("john@gmail.com");
+        user.setBirthDate(LocalDate.of(1990, 2, 3));
+        assertEquals(List.of(new UserCsvRow(1, user, null)), rows);
+    }
+
+    @Test
+    void Read_UnquotesFields_WithSeparatorsQuotesAndLineBreaks() throws IOException {
+        List<UserCsvRow> rows = read(HEADER +
+                "John,\"Doe, Jr.\",john@gmail.com,1990-02-03,\"Main st. \"\"5\"\"\r\nKyiv\",\"\"\r\n");
+
+        UserRequestDto user = rows.get(0).user();
+        assertEquals("Doe, Jr.", user.getLastName());
+        assertEquals("Main st. \"5\"\r\nKyiv", user.getAddress());
+        assertEquals("", user.getPhoneNumber());
+    }
+
+    @Test
+    void Read_ReadsEmptyUnquotedFieldAsNull_AndSkipsBlankLines() throws IOException {
+        List<UserCsvRow> rows = read("\uFEFF" + HEADER + "John,Doe,john@gmail.com,1990-02-03,,\n\n" +
+                "Jane,Doe,jane@gmail.com,1991-02-03,,+380501234567");
+
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).user().getAddress());
+        assertNull(rows.get(0).user().getPhoneNumber());
+        assertEquals(2, rows.get(1).row());
+        assertEquals("+380501234567", rows.get(1).user().getPhoneNumber());
+    }
+
+    @Test
+    void Read_ReturnsError_IfRowIsNotValid() throws IOException {
+        List<UserCsvRow> rows = read(HEADER +
+                "John,Doe,john@gmail.com\n" +
+                "John,Doe,john@gmail.com,03.02.1990,,\n" +
+                "John,Doe,\"john@gmail.com,1990-02-03,,\n");
+
+        assertEquals(List.of(
+                new UserCsvRow(1, null, ErrorMessage.NOT_VALID_CSV_ROW + 6),
+                rows.get(1).withError("birthDate" + ErrorMessage.NOT_VALID_DATE),
+                new UserCsvRow(3, null, ErrorMessage.UNTERMINATED_CSV_QUOTE)), rows);
+    }
+
+    @Test
+    void Read_RejectsRow_IfFieldIsTooLong_AndReadsNextRow() throws IOException {
+        String longField = "a".repeat(UserCsvReader.MAX_FIELD_LENGTH + 1);
+        List<UserCsvRow> rows = read(HEADER +
+                "John,Doe,john@gmail.com,1990-02-03,\"" + longField + "\",\n" +
+                "Jane,Doe,jane@gmail.com,1991-02-03," + longField + "\"quote,\n" +
+                "Jane,Doe,jane@gmail.com,1991-02-03,,\n");
+
+        assertEquals(3, rows.size());
+        assertEquals(new UserCsvRow(1, null, ErrorMessage.CSV_FIELD_TOO_LONG + UserCsvReader.MAX_FIELD_LENGTH), rows.get(0));
+        assertEquals(new UserCsvRow(2, null, ErrorMessage.CSV_FIELD_TOO_LONG + UserCsvReader.MAX_FIELD_LENGTH), rows.get(1));
+        assertEquals("jane@gmail.com", rows.get(2).user().getEmail());
+    }
+
+    @Test
+    void Read_RejectsRow_IfRecordIsTooLong() throws IOException {
+        String manyFields = ",".repeat(UserCsvReader.MAX_RECORD_LENGTH + 1);
+        List<UserCsvRow> rows = read(HEADER + manyFields + "\nJohn,Doe,john@gmail.com,1990-02-03,,\n");
+
+        assertEquals(new UserCsvRow(1, null, ErrorMessage.CSV_ROW_TOO_LONG + UserCsvReader.MAX_RECORD_LENGTH), rows.get(0));
+        assertEquals("john@gmail.com", rows.get(1).user().getEmail());
+    }
+
+    @Test
+    void Read_KeepsNoMoreThanMaxRecordLength_IfQuoteIsNotClosed() throws IOException {
+        // The rest of the file is inside the quotes and is skipped, not collected into one field.
+        List<UserCsvRow> rows = read(HEADER + "John,\"Doe" + "\nJohn,Doe,john@gmail.com,1990-02-03,,".repeat(10_000));
+
+        assertEquals(List.of(new UserCsvRow(1, null, ErrorMessage.UNTERMINATED_CSV_QUOTE)), rows);
+    }
+
+    @Test
+    void Read_ThrowsNotValidFields_IfHeaderIsTooLong() {
+        assertThatThrownBy(() -> read("firstName," + " ".repeat(UserCsvReader.MAX_RECORD_LENGTH) + "\n"))
+                .isInstanceOf(NotValidFieldsException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.CSV_HEADER_TOO_LONG + UserCsvReader.MAX_RECORD_LENGTH);
+    }
+
+    @Test
+    void Read_ThrowsNotValidFields_IfColumnIsUnknownOrRepeated() {
+        assertThatThrownBy(() -> read("firstName,lastName,email,birthDate,age\n"))
+                .isInstanceOf(NotValidFieldsException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.NOT_VALID_CSV_HEADER + "age");
+        assertThatThrownBy(() -> read("firstName,lastName,email,birthDate,email\n"))
+                .isInstanceOf(NotValidFieldsException.class);
+    }
+
+    @Test
+    void Read_ThrowsNotValidFields_IfRequiredColumnIsMissing() {
+        assertThatThrownBy(() -> read("firstName,lastName,email\n"))
+                .isInstanceOf(NotValidFieldsException.class)
+                .hasFieldOrPropertyWithValue("messages", ErrorMessage.MISSING_CSV_COLUMN + "birthDate");
+        assertThatThrownBy(() -> read(""))
+                .isInstanceOf(NotValidFieldsException.class);
+    }
+
+    private List<UserCsvRow> read(String csv) throws IOException {
+        List<UserCsvRow> rows = new ArrayList<>();
+        new UserCsvReader(new StringReader(csv)).forEachRemaining(rows::add);
+        return rows;
+    }
+}
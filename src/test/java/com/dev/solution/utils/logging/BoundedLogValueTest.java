@@ -0,0 +1,38 @@
+package com.dev.solution.utils.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BoundedLogValueTest {
+
+    @Test
+    void ToString_ShortValue_RenderedInFull() {
+        assertEquals("[1, text, null]", new BoundedLogValue(new Object[]{1, "text", null}, 100).toString());
+    }
+
+    @Test
+    void ToString_LongString_Cut() {
+        assertEquals("abcde...", new BoundedLogValue("abcdefghij", 5).toString());
+    }
+
+    @Test
+    void ToString_LargeCollection_RendersFirstElementsAndSize() {
+        List<Integer> numbers = IntStream.range(0, 1000).boxed().toList();
+
+        assertEquals("[0, 1, 2, ... 997 more]", new BoundedLogValue(numbers, 10).toString());
+    }
+
+    @Test
+    void ToString_Page_RendersTotalsAndFirstElements() {
+        List<Integer> numbers = IntStream.range(0, 20).boxed().toList();
+        PageImpl<Integer> page = new PageImpl<>(numbers, PageRequest.of(0, 20), 100);
+
+        assertEquals("Page 0 of 5, total 100 [0, 1, ... 18 more]", new BoundedLogValue(page, 30).toString());
+    }
+}
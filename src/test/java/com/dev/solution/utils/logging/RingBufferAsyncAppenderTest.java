@@ -0,0 +1,130 @@
+package com.dev.solution.utils.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RingBufferAsyncAppenderTest {
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger(RingBufferAsyncAppenderTest.class);
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    void Append_EventsFromManyThreads_WrittenOrCountedAsDropped() throws InterruptedException {
+        ListAppender<ILoggingEvent> target = start(new ListAppender<>());
+        RingBufferAsyncAppender appender = start(64, target);
+
+        List<Thread> threads = IntStream.range(0, 4)
+                .mapToObj(t -> new Thread(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        append(appender, Level.INFO, "message");
+                    }
+                }))
+                .toList();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        appender.stop();
+
+        assertEquals(40_000, target.list.size() + appender.getDroppedCount());
+    }
+
+    @Test
+    void Append_BufferFull_DropsInfoButWritesErrors() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingAppender target = start(new BlockingAppender(release));
+        RingBufferAsyncAppender appender = start(2, target);
+
+        // The worker takes the first event and blocks on it, the next two fill the buffer.
+        append(appender, Level.INFO, "taken");
+        while (target.received.size() < 1) {
+            Thread.onSpinWait();
+        }
+        append(appender, Level.INFO, "buffered 1");
+        append(appender, Level.INFO, "buffered 2");
+        append(appender, Level.INFO, "dropped");
+        release.countDown();
+        append(appender, Level.ERROR, "error");
+        appender.stop();
+
+        assertEquals(1, appender.getDroppedCount());
+        assertEquals(List.of("taken", "buffered 1", "buffered 2", "error"),
+                target.received.stream().map(ILoggingEvent::getMessage).sorted((a, b) -> order(a) - order(b)).toList());
+    }
+
+    @Test
+    void Append_Disabled_WritesSynchronously() {
+        ListAppender<ILoggingEvent> target = start(new ListAppender<>());
+        RingBufferAsyncAppender appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setEnabled(false);
+        appender.addAppender(target);
+        appender.start();
+
+        append(appender, Level.INFO, "message");
+
+        assertEquals(1, target.list.size());
+    }
+
+    private void append(RingBufferAsyncAppender appender, Level level, String message) {
+        appender.doAppend(new LoggingEvent(Logger.class.getName(), logger, level, message, null, null));
+    }
+
+    private RingBufferAsyncAppender start(int capacity, AppenderBase<ILoggingEvent> target) {
+        RingBufferAsyncAppender appender = new RingBufferAsyncAppender();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setCapacity(capacity);
+        appender.addAppender(target);
+        appender.start();
+        return appender;
+    }
+
+    private <T extends AppenderBase<ILoggingEvent>> T start(T target) {
+        target.setContext(context);
+        target.start();
+        return target;
+    }
+
+    private static int order(String message) {
+        return List.of("taken", "buffered 1", "buffered 2", "error").indexOf(message);
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch release;
+        private final List<ILoggingEvent> received = new CopyOnWriteArrayList<>();
+
+        private BlockingAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            received.add(event);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dev.solution.utils.mapper;
+
+import com.dev.solution.model.User;
+import com.dev.solution.model.dto.UserPatch;
+import com.dev.solution.model.dto.UserResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class UserMapperTest {
+    private final UserMapper userMapper = new UserMapper();
+
+    private final LocalDate BIRTH_DATE = LocalDate.of(1995, 1, 1);
+    private final User USER = new User(1L, "First", "Last", "user@gmail.com", BIRTH_DATE, "Street 1", "1111111111", 2L);
+
+    @Test
+    void ToResponseDto_CopiesAllFields() {
+        UserResponseDto expected = new UserResponseDto(1L, "First", "Last", "user@gmail.com", BIRTH_DATE, "Street 1", "1111111111", 2L);
+
+        assertEquals(expected, userMapper.toResponseDto(USER));
+    }
+
+    @Test
+    void ToRequestDto_ToEntity_CopiesAllFieldsButIdAndVersion() {
+        User user = userMapper.toEntity(userMapper.toRequestDto(USER));
+
+        assertNull(user.getId());
+        assertNull(user.getVersion());
+        user.setId(USER.getId());
+        user.setVersion(USER.getVersion());
+        assertEquals(USER, user);
+    }
+
+    @Test
+    void UpdateEntity_KeepsId() {
+        User user = new User();
+        user.setId(2L);
+
+        userMapper.updateEntity(userMapper.toRequestDto(USER), user);
+
+        assertEquals(2L, user.getId());
+        assertEquals(USER.getEmail(), user.getEmail());
+    }
+
+    @Test
+    void ApplyPatch_SetsOnlyPresentFields() {
+        User user = userMapper.toEntity(userMapper.toRequestDto(USER));
+        UserPatch patch = new UserPatch()
+                .setFirstName("Updated")
+                .setBirthDate(LocalDate.of(1990, 2, 3))
+                .setAddress(null);
+
+        userMapper.applyPatch(patch, user);
+
+        assertEquals("Updated", user.getFirstName());
+        assertEquals(LocalDate.of(1990, 2, 3), user.getBirthDate());
+        assertNull(user.getAddress());
+        assertEquals(USER.getLastName(), user.getLastName());
+        assertEquals(USER.getEmail(), user.getEmail());
+        assertEquals(USER.getPhoneNumber(), user.getPhoneNumber());
+    }
+}
@@ -0,0 +1,52 @@
+package com.dev.solution.utils.mapper;
+
+import com.dev.solution.exception.NotValidFieldsException;
+import com.dev.solution.model.dto.UserPatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserPatchDeserializerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void Deserialize_KeepsOnlyPresentFields() throws Exception {
+        UserPatch patch = objectMapper.readValue("{\"firstName\": \"Updated\", \"birthDate\": \"1990-02-03\", \"address\": null}",
+                UserPatch.class);
+
+        assertEquals(new UserPatch().setFirstName("Updated").setBirthDate(LocalDate.of(1990, 2, 3)).setAddress(null), patch);
+        assertTrue(patch.has(UserPatch.Field.ADDRESS));
+        assertFalse(patch.has(UserPatch.Field.EMAIL));
+    }
+
+    @Test
+    void Deserialize_ReadsNumbersAsText() throws Exception {
+        UserPatch patch = objectMapper.readValue("{\"phoneNumber\": 380501234567}", UserPatch.class);
+
+        assertEquals("380501234567", patch.getPhoneNumber());
+    }
+
+    @Test
+    void Deserialize_ThrowsNotValidFields_IfFieldIsUnknown() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"id\": 5}", UserPatch.class))
+                .isInstanceOf(NotValidFieldsException.class);
+    }
+
+    @Test
+    void Deserialize_ThrowsNotValidFields_IfDateIsNotValid() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"birthDate\": \"01.01.1990\"}", UserPatch.class))
+                .isInstanceOf(NotValidFieldsException.class);
+    }
+
+    @Test
+    void Deserialize_ThrowsNotValidFields_IfValueIsNotScalar() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"email\": {\"value\": \"a@b.c\"}}", UserPatch.class))
+                .isInstanceOf(NotValidFieldsException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.dev.solution.utils.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AgeThresholdTest {
+    private final ZoneId ZONE = ZoneOffset.ofHours(2);
+
+    @Test
+    void LatestBirthDate_IsAgeYearsBeforeToday() {
+        AgeThreshold ageThreshold = new AgeThreshold(18, Clock.fixed(instant(2024, 2, 29, 12), ZONE));
+
+        assertEquals(LocalDate.of(2006, 2, 28), ageThreshold.latestBirthDate());
+    }
+
+    @Test
+    void LatestBirthDate_RollsOverAtMidnight() {
+        MutableClock clock = new MutableClock(instant(2024, 5, 10, 23), ZONE);
+        AgeThreshold ageThreshold = new AgeThreshold(18, clock);
+
+        assertEquals(LocalDate.of(2006, 5, 10), ageThreshold.latestBirthDate());
+        clock.instant = instant(2024, 5, 10, 23).plusSeconds(3599);
+        assertEquals(LocalDate.of(2006, 5, 10), ageThreshold.latestBirthDate());
+        clock.instant = instant(2024, 5, 11, 0);
+        assertEquals(LocalDate.of(2006, 5, 11), ageThreshold.latestBirthDate());
+    }
+
+    private Instant instant(int year, int month, int day, int hour) {
+        return LocalDateTime.of(year, month, day, hour, 0).atZone(ZONE).toInstant();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+        private final ZoneId zone;
+
+        MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Random;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,4 +38,19 @@ class EmailValidatorTest {
     void isValid_False_EmptyEmail() {
         assertFalse(emailValidator.isValid("", null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void isValidEmail_AcceptsSameEmailsAsFormerRegex() {
+        Pattern regex = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        char[] alphabet = {'a', 'Z', '0', '+', '_', '.', '-', '@', ' ', '!', '\n', 'é'};
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            char[] email = new char[random.nextInt(12)];
+            for (int j = 0; j < email.length; j++) {
+                email[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String value = new String(email);
+            assertEquals(regex.matcher(value).matches(), EmailValidator.isValidEmail(value), value);
+        }
+    }
+}
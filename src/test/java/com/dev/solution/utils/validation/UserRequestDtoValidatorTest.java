@@ -0,0 +1,135 @@
+package com.dev.solution.utils.validation;
+
+import com.dev.solution.model.dto.UserRequestDto;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.BeanUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the precompiled validator against Hibernate Validator on the same requests.
+ */
+public class UserRequestDtoValidatorTest {
+    private static final int AGE = 18;
+    private static final LocalDate THRESHOLD = LocalDate.now().minusYears(AGE);
+    private static final String LONG_VALUE = "a".repeat(256);
+
+    private static LocalValidatorFactoryBean hibernateValidator;
+
+    private final UserRequestDtoValidator validator = new UserRequestDtoValidator(AGE);
+
+    @BeforeAll
+    static void setUpHibernateValidator() {
+        hibernateValidator = new LocalValidatorFactoryBean();
+        hibernateValidator.setConstraintValidatorFactory(new ConstraintValidatorFactory() {
+            @Override
+            public <T extends ConstraintValidator<?, ?>> T getInstance(Class<T> key) {
+                T instance = BeanUtils.instantiateClass(key);
+                if (instance instanceof DateValidator dateValidator) {
+                    dateValidator.setAge(AGE);
+                }
+                return instance;
+            }
+
+            @Override
+            public void releaseInstance(ConstraintValidator<?, ?> instance) {
+            }
+        });
+        hibernateValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void closeHibernateValidator() {
+        hibernateValidator.close();
+    }
+
+    static Stream<UserRequestDto> requests() {
+        return Stream.of(
+                request("First", "Last", "user@gmail.com", LocalDate.of(1995, 1, 1), "Street 1", "+380"),
+                request("First", "Last", "user@gmail.com", THRESHOLD, null, null),
+                new UserRequestDto(),
+                request("", " ", "", THRESHOLD.plusDays(1), "", " \t"),
+                request(" ", "Last", "user@gmail", LocalDate.now(), "Street 1", "+380"),
+                request("First", null, "not an email", null, " ", "+380"),
+                request(LONG_VALUE, "a".repeat(255), LONG_VALUE + "@gmail.com", THRESHOLD, LONG_VALUE, LONG_VALUE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("requests")
+    void FindViolations_SameAsHibernateValidator(UserRequestDto userDto) {
+        Set<String> expected = hibernateValidator.validate(userDto).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.toSet());
+
+        List<String> actual = validator.findViolations(userDto).stream()
+                .map(violation -> violation.property() + ": " + violation.message())
+                .toList();
+
+        assertEquals(expected.size(), actual.size(), actual::toString);
+        assertEquals(expected, Set.copyOf(actual));
+    }
+
+    @ParameterizedTest
+    @MethodSource("requests")
+    void FindViolations_OfProperty_SameAsHibernateValidator(UserRequestDto userDto) {
+        for (String property : List.of("firstName", "lastName", "email", "birthDate", "address", "phoneNumber")) {
+            Object value = new BeanPropertyBindingResult(userDto, "userRequestDto").getFieldValue(property);
+            Set<String> expected = hibernateValidator.validateValue(UserRequestDto.class, property, value).stream()
+                    .map(violation -> violation.getMessage())
+                    .collect(Collectors.toSet());
+
+            Set<String> actual = validator.findViolations(property, value).stream()
+                    .map(UserRequestDtoValidator.Violation::message)
+                    .collect(Collectors.toSet());
+
+            assertEquals(expected, actual, property);
+        }
+    }
+
+    @Test
+    void Validate_RejectsFieldsWithConstraintMessages() {
+        UserRequestDto userDto = request("First", "Last", "user@gmail", LocalDate.of(1995, 1, 1), null, "");
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(userDto, "userRequestDto");
+
+        validator.validate(userDto, errors);
+
+        assertEquals(List.of("email: Invalid email format.", "phoneNumber: Field can not be blank."),
+                errors.getFieldErrors().stream().map(error -> error.getField() + ": " + error.getDefaultMessage()).toList());
+        assertTrue(errors.getFieldErrors().stream().map(FieldError::getRejectedValue).toList().contains("user@gmail"));
+    }
+
+    @Test
+    void FindViolations_Throws_IfPropertyUnknown() {
+        assertThatThrownBy(() -> validator.findViolations("id", 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static UserRequestDto request(String firstName, String lastName, String email, LocalDate birthDate,
+                                          String address, String phoneNumber) {
+        UserRequestDto userDto = new UserRequestDto();
+        userDto.setFirstName(firstName);
+        userDto.setLastName(lastName);
+        userDto.setEmail(email);
+        userDto.setBirthDate(birthDate);
+        userDto.setAddress(address);
+        userDto.setPhoneNumber(phoneNumber);
+        return userDto;
+    }
+}